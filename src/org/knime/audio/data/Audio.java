@@ -48,6 +48,8 @@
  */
 package org.knime.audio.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.LinkedHashMap;
@@ -61,6 +63,7 @@ import org.knime.audio.data.io.BufferedDataOutputStream;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.core.data.DataCellDataInput;
 import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.util.UniqueNameGenerator;
 
 /**
@@ -69,7 +72,21 @@ import org.knime.core.util.UniqueNameGenerator;
  */
 public class Audio {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(Audio.class);
+
+    /** Marks the serialized format that contains the metadata. It replaces the
+     * length of the path written by {@link DataCellDataOutput#writeUTF(String)},
+     * which can't be that long for any real path. */
+    private static final int SERIALIZATION_MARKER = 0xFFFF;
+
+    /** Marks the saved format that contains the metadata. It replaces the
+     * length of the path, which is never negative. */
+    private static final int SAVE_MARKER = -1;
+
     private File m_file;
+    private volatile AudioMetadata m_metadata;
+    /* Whether the metadata has been given or read from the file, also if that failed */
+    private volatile boolean m_metadataRead;
     private Map<String, RecognitionResult> m_recognitionResults;
 
     /**
@@ -79,6 +96,16 @@ public class Audio {
     Audio(){}
 
     Audio(final File file) throws UnsupportedAudioFileException, IOException{
+        this(file, null);
+    }
+
+    /**
+     * @param file the audio file
+     * @param metadata the metadata of the file, if <code>null</code> it is read
+     * from the header of the file when it is needed first
+     */
+    Audio(final File file, final AudioMetadata metadata)
+            throws UnsupportedAudioFileException, IOException{
         if(file == null){
             throw new IllegalArgumentException("The input file cannot be null.");
         }
@@ -89,11 +116,16 @@ public class Audio {
             throw new IllegalArgumentException("File " + file.getName() + " doesn't exist.");
         }
         m_file = file;
+        m_metadata = metadata;
+        m_metadataRead = metadata != null;
         m_recognitionResults = new LinkedHashMap<String, RecognitionResult>();
     }
 
-    Audio(final File file, final Map<String, RecognitionResult> recognitionResults) {
+    Audio(final File file, final AudioMetadata metadata,
+            final Map<String, RecognitionResult> recognitionResults) {
         m_file = file;
+        m_metadata = metadata;
+        m_metadataRead = metadata != null;
         m_recognitionResults = new LinkedHashMap<String, RecognitionResult>();
         for (Entry<String, RecognitionResult> entry : recognitionResults.entrySet()) {
             m_recognitionResults.put(entry.getKey(), entry.getValue());
@@ -107,6 +139,36 @@ public class Audio {
         return m_file;
     }
 
+    /**
+     * @return the metadata of the audio file, which is read only once from the
+     * header of the file when it is needed first, or <code>null</code> if the
+     * header couldn't be read, in which case the file has to be read instead
+     */
+    public AudioMetadata getMetadata() {
+        if (!m_metadataRead) {
+            synchronized (this) {
+                if (!m_metadataRead) {
+                    try {
+                        m_metadata = AudioMetadata.read(m_file);
+                    } catch (final UnsupportedAudioFileException | IOException ex) {
+                        LOGGER.debug("Could not read the header of " + m_file.getName() + ": "
+                            + ex.getMessage());
+                    }
+                    m_metadataRead = true;
+                }
+            }
+        }
+        return m_metadata;
+    }
+
+    /**
+     * @return the metadata of the audio file if it has already been read,
+     * otherwise <code>null</code> without reading it
+     */
+    AudioMetadata getReadMetadata() {
+        return m_metadata;
+    }
+
     /**
      * @return the name of the audio file
      */
@@ -159,7 +221,16 @@ public class Audio {
      */
     static void serialize( final Audio audio, final DataCellDataOutput output)
             throws IOException{
-        output.writeUTF(audio.getFile().getAbsolutePath());
+        /* Metadata that hasn't been read isn't read for this, the older format without it is
+         * written instead */
+        final AudioMetadata metadata = audio.getReadMetadata();
+        if(metadata != null){
+            output.writeShort(SERIALIZATION_MARKER);
+            output.writeUTF(audio.getFile().getAbsolutePath());
+            AudioMetadata.serialize(metadata, output);
+        }else{
+            output.writeUTF(audio.getFile().getAbsolutePath());
+        }
         if(audio.hasRecognitionResult()){
             output.writeBoolean(true);
             output.writeInt(audio.getRecognitionResults().size());
@@ -181,7 +252,15 @@ public class Audio {
      */
     static Audio deserialize(final DataCellDataInput input) throws
             IOException, UnsupportedAudioFileException {
-        final Audio audio = new Audio(new File(input.readUTF()));
+        final Audio audio;
+        final int length = input.readUnsignedShort();
+        if(length == SERIALIZATION_MARKER){
+            final String path = input.readUTF();
+            audio = new Audio(new File(path), AudioMetadata.deserialize(input));
+        }else{
+            /* Older cells don't contain the metadata, it is read from the file when needed */
+            audio = new Audio(new File(readUTF(input, length)));
+        }
         if(input.readBoolean()){
             final int size = input.readInt();
             for(int i = 0; i < size; i++){
@@ -198,8 +277,16 @@ public class Audio {
             final BufferedDataOutputStream output) throws IOException {
 
         final String path = audio.getFile().getAbsolutePath();
+        /* Metadata that hasn't been read is saved in the older format without it */
+        final AudioMetadata metadata = audio.getReadMetadata();
+        if (metadata != null) {
+            output.writeInt(SAVE_MARKER);
+        }
         output.writeInt(path.length());
         output.writeChars(path);
+        if (metadata != null) {
+            AudioMetadata.saveInternals(metadata, output);
+        }
         if (audio.hasRecognitionResult()) {
             output.writeBoolean(true);
             output.writeInt(audio.getRecognitionResults().size());
@@ -215,9 +302,16 @@ public class Audio {
 
     static Audio loadInternals(final BufferedDataInputStream input)
             throws IOException, UnsupportedAudioFileException{
-        final char[] path = new char[input.readInt()];
+        int length = input.readInt();
+        final boolean hasMetadata = length == SAVE_MARKER;
+        if(hasMetadata){
+            length = input.readInt();
+        }
+        final char[] path = new char[length];
         input.read(path);
-        final Audio audio = new Audio(new File(new String(path)));
+        /* Older data doesn't contain the metadata, it is read from the file when needed */
+        final Audio audio = new Audio(new File(new String(path)),
+            hasMetadata ? AudioMetadata.loadInternals(input) : null);
         if(input.readBoolean()){
             final int size = input.readInt();
             for(int i = 0; i < size; i++){
@@ -230,6 +324,19 @@ public class Audio {
         return audio;
     }
 
+    /**
+     * Reads a string written by {@link DataCellDataOutput#writeUTF(String)}
+     * whose length has already been read.
+     */
+    private static String readUTF(final DataCellDataInput input, final int length)
+            throws IOException {
+        final byte[] bytes = new byte[length + 2];
+        bytes[0] = (byte)(length >>> 8);
+        bytes[1] = (byte)length;
+        input.readFully(bytes, 2, length);
+        return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,7 +94,8 @@ public class AudioBuilder {
     * @return a new audio instance
     */
    public static Audio createAudio(final Audio audio){
-       return new Audio(audio.getFile(), audio.getRecognitionResults());
+       return new Audio(audio.getFile(), audio.getReadMetadata(),
+           audio.getRecognitionResults());
    }
 
     /**
@@ -0,0 +1,426 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.knime.audio.data.io.BufferedDataInputStream;
+import org.knime.audio.data.io.BufferedDataOutputStream;
+import org.knime.audio.data.io.WavHeader;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+
+/**
+ * The immutable format information of an audio file, i.e. its type, sample
+ * format, length and duration. The information is read once from the header of
+ * the file when the {@link Audio} needs it first and is stored together with the
+ * audio, so it can be queried without accessing the file again.
+ *
+ * @author agent
+ */
+public final class AudioMetadata {
+
+    private static final AudioFormat.Encoding[] ENCODINGS = new AudioFormat.Encoding[]{
+        AudioFormat.Encoding.PCM_SIGNED, AudioFormat.Encoding.PCM_UNSIGNED,
+        AudioFormat.Encoding.PCM_FLOAT, AudioFormat.Encoding.ULAW, AudioFormat.Encoding.ALAW};
+
+    private static final AudioFileFormat.Type[] TYPES = new AudioFileFormat.Type[]{
+        AudioFileFormat.Type.WAVE, AudioFileFormat.Type.AU, AudioFileFormat.Type.AIFF,
+        AudioFileFormat.Type.AIFC, AudioFileFormat.Type.SND};
+
+    private final String m_type;
+    private final String m_extension;
+    private final String m_encoding;
+    private final float m_sampleRate;
+    private final int m_sampleSizeInBits;
+    private final int m_channels;
+    private final int m_frameSize;
+    private final float m_frameRate;
+    private final boolean m_bigEndian;
+    private final long m_frameLength;
+    private final long m_byteLength;
+    private final long m_durationInMicroseconds;
+
+    private AudioMetadata(final String type, final String extension, final String encoding,
+            final float sampleRate, final int sampleSizeInBits, final int channels,
+            final int frameSize, final float frameRate, final boolean bigEndian,
+            final long frameLength, final long byteLength, final long durationInMicroseconds) {
+        m_type = type;
+        m_extension = extension;
+        m_encoding = encoding;
+        m_sampleRate = sampleRate;
+        m_sampleSizeInBits = sampleSizeInBits;
+        m_channels = channels;
+        m_frameSize = frameSize;
+        m_frameRate = frameRate;
+        m_bigEndian = bigEndian;
+        m_frameLength = frameLength;
+        m_byteLength = byteLength;
+        m_durationInMicroseconds = durationInMicroseconds;
+    }
+
+    private AudioMetadata(final AudioFileFormat.Type type, final AudioFormat format,
+            final long frameLength, final long byteLength, final long durationInMicroseconds) {
+        this(type.toString(), type.getExtension(), format.getEncoding().toString(),
+            format.getSampleRate(), format.getSampleSizeInBits(), format.getChannels(),
+            format.getFrameSize(), format.getFrameRate(), format.isBigEndian(),
+            frameLength, byteLength, durationInMicroseconds);
+    }
+
+    /**
+     * Reads the metadata of the given file. Only the header of the file is
+     * read, the samples aren't decoded.
+     * @param file the audio file
+     * @return the metadata of the given file
+     * @throws UnsupportedAudioFileException
+     * @throws IOException
+     */
+    public static AudioMetadata read(final File file)
+            throws UnsupportedAudioFileException, IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The input file cannot be null.");
+        }
+        final WavHeader header = WavHeader.read(file);
+        if (header != null && header.getAudioFormat() != null) {
+            final AudioFormat format = header.getAudioFormat();
+            return new AudioMetadata(AudioFileFormat.Type.WAVE, format,
+                header.getFrameLength(), file.length(),
+                getDurationInMicroseconds(header.getFrameLength(), format.getFrameRate()));
+        }
+
+        final AudioFileFormat fileFormat = AudioSystem.getAudioFileFormat(file);
+        final AudioFormat format = fileFormat.getFormat();
+        final long frameLength = fileFormat.getFrameLength();
+        /* Compressed formats often only know their duration, not their frame length */
+        final Object duration = fileFormat.getProperty("duration");
+        final long durationInMicroseconds = (duration instanceof Long) ? (Long)duration
+            : getDurationInMicroseconds(frameLength, format.getFrameRate());
+        return new AudioMetadata(fileFormat.getType(), format, frameLength,
+            fileFormat.getByteLength(), durationInMicroseconds);
+    }
+
+    private static long getDurationInMicroseconds(final long frameLength, final float frameRate) {
+        if (frameLength < 0 || frameRate <= 0) {
+            return AudioSystem.NOT_SPECIFIED;
+        }
+        return Math.round(frameLength * 1000000.0 / frameRate);
+    }
+
+    /**
+     * @return the type of the audio file
+     */
+    public AudioFileFormat.Type getType() {
+        for (final AudioFileFormat.Type type : TYPES) {
+            if (type.toString().equals(m_type)) {
+                return type;
+            }
+        }
+        return new AudioFileFormat.Type(m_type, m_extension);
+    }
+
+    /**
+     * @return the format of the samples as stored in the file
+     */
+    public AudioFormat getAudioFormat() {
+        AudioFormat.Encoding encoding = null;
+        for (final AudioFormat.Encoding e : ENCODINGS) {
+            if (e.toString().equals(m_encoding)) {
+                encoding = e;
+                break;
+            }
+        }
+        if (encoding == null) {
+            encoding = new AudioFormat.Encoding(m_encoding);
+        }
+        return new AudioFormat(encoding, m_sampleRate, m_sampleSizeInBits, m_channels,
+            m_frameSize, m_frameRate, m_bigEndian);
+    }
+
+    /**
+     * @return the sample rate in Hz
+     */
+    public float getSampleRate() {
+        return m_sampleRate;
+    }
+
+    /**
+     * @return the number of bits per sample, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public int getSampleSizeInBits() {
+        return m_sampleSizeInBits;
+    }
+
+    /**
+     * @return the number of channels
+     */
+    public int getNumberOfChannels() {
+        return m_channels;
+    }
+
+    /**
+     * @return the number of bytes of one frame, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public int getFrameSize() {
+        return m_frameSize;
+    }
+
+    /**
+     * @return the number of frames, or {@link AudioSystem#NOT_SPECIFIED} if it
+     * is unknown
+     */
+    public long getFrameLength() {
+        return m_frameLength;
+    }
+
+    /**
+     * @return the length of the file in bytes, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public long getByteLength() {
+        return m_byteLength;
+    }
+
+    /**
+     * @return the duration in microseconds, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public long getDurationInMicroseconds() {
+        return m_durationInMicroseconds;
+    }
+
+    /**
+     * @return the duration in seconds, or {@link AudioSystem#NOT_SPECIFIED} if
+     * it is unknown
+     */
+    public double getDuration() {
+        if (m_durationInMicroseconds < 0) {
+            return AudioSystem.NOT_SPECIFIED;
+        }
+        return m_durationInMicroseconds / 1000000.0;
+    }
+
+    /**
+     * Estimates the number of frames the audio has after being resampled to
+     * the given sample rate.
+     * @param sampleRate the target sample rate, a value smaller or equal to 0
+     * keeps the original sample rate
+     * @return the estimated number of frames, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public long getFrameLength(final float sampleRate) {
+        if (sampleRate <= 0 || sampleRate == m_sampleRate) {
+            if (m_frameLength >= 0) {
+                return m_frameLength;
+            }
+            return (m_durationInMicroseconds < 0 || m_sampleRate <= 0)
+                    ? AudioSystem.NOT_SPECIFIED
+                    : (long)Math.ceil(m_durationInMicroseconds * (double)m_sampleRate / 1000000.0);
+        }
+        final long frameLength = getFrameLength(0);
+        if (frameLength < 0 || m_sampleRate <= 0) {
+            return AudioSystem.NOT_SPECIFIED;
+        }
+        return (long)Math.ceil(frameLength * (double)sampleRate / m_sampleRate);
+    }
+
+    /**
+     * Converts the given time to the position of the frame at that time.
+     * @param seconds the time in seconds, {@link Double#POSITIVE_INFINITY} for
+     * the end of the audio
+     * @return the frame position, {@link Long#MAX_VALUE} for the end of the audio
+     */
+    public long getFramePosition(final double seconds) {
+        return getFramePosition(seconds, m_sampleRate);
+    }
+
+    /**
+     * Converts the given time to the position of the frame at that time.
+     * @param seconds the time in seconds, {@link Double#POSITIVE_INFINITY} for
+     * the end of the audio
+     * @param sampleRate the sample rate of the audio
+     * @return the frame position, {@link Long#MAX_VALUE} for the end of the audio
+     */
+    public static long getFramePosition(final double seconds, final float sampleRate) {
+        if (Double.isInfinite(seconds) && seconds > 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, Math.round(seconds * sampleRate));
+    }
+
+    /**
+     * Estimates the memory the decoded samples take if they are stored in the
+     * smallest {@link AudioSamples.Backing} that doesn't lose precision.
+     * @return the estimated size in bytes, or {@link AudioSystem#NOT_SPECIFIED}
+     * if the length of the audio is unknown
+     */
+    public long getDecodedSizeInBytes() {
+        final long frameLength = getFrameLength(0);
+        if (frameLength < 0) {
+            return AudioSystem.NOT_SPECIFIED;
+        }
+        final boolean floatingPoint = AudioFormat.Encoding.PCM_FLOAT.toString().equals(m_encoding);
+        return frameLength * m_channels * AudioSamples.getLosslessBacking(
+            m_sampleSizeInBits, floatingPoint).getBytesPerSample();
+    }
+
+    static void serialize(final AudioMetadata metadata, final DataCellDataOutput output)
+            throws IOException {
+        output.writeUTF(metadata.m_type);
+        output.writeUTF(metadata.m_extension);
+        output.writeUTF(metadata.m_encoding);
+        output.writeFloat(metadata.m_sampleRate);
+        output.writeInt(metadata.m_sampleSizeInBits);
+        output.writeInt(metadata.m_channels);
+        output.writeInt(metadata.m_frameSize);
+        output.writeFloat(metadata.m_frameRate);
+        output.writeBoolean(metadata.m_bigEndian);
+        output.writeLong(metadata.m_frameLength);
+        output.writeLong(metadata.m_byteLength);
+        output.writeLong(metadata.m_durationInMicroseconds);
+    }
+
+    static AudioMetadata deserialize(final DataCellDataInput input) throws IOException {
+        return new AudioMetadata(input.readUTF(), input.readUTF(), input.readUTF(),
+            input.readFloat(), input.readInt(), input.readInt(), input.readInt(),
+            input.readFloat(), input.readBoolean(), input.readLong(), input.readLong(),
+            input.readLong());
+    }
+
+    static void saveInternals(final AudioMetadata metadata,
+            final BufferedDataOutputStream output) throws IOException {
+        writeString(output, metadata.m_type);
+        writeString(output, metadata.m_extension);
+        writeString(output, metadata.m_encoding);
+        output.writeFloat(metadata.m_sampleRate);
+        output.writeInt(metadata.m_sampleSizeInBits);
+        output.writeInt(metadata.m_channels);
+        output.writeInt(metadata.m_frameSize);
+        output.writeFloat(metadata.m_frameRate);
+        output.writeBoolean(metadata.m_bigEndian);
+        output.writeLong(metadata.m_frameLength);
+        output.writeLong(metadata.m_byteLength);
+        output.writeLong(metadata.m_durationInMicroseconds);
+    }
+
+    static AudioMetadata loadInternals(final BufferedDataInputStream input)
+            throws IOException {
+        return new AudioMetadata(readString(input), readString(input), readString(input),
+            input.readFloat(), input.readInt(), input.readInt(), input.readInt(),
+            input.readFloat(), input.readBoolean(), input.readLong(), input.readLong(),
+            input.readLong());
+    }
+
+    private static void writeString(final BufferedDataOutputStream output, final String str)
+            throws IOException {
+        output.writeInt(str.length());
+        output.writeChars(str);
+    }
+
+    private static String readString(final BufferedDataInputStream input) throws IOException {
+        final char[] str = new char[input.readInt()];
+        input.read(str);
+        return new String(str);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + m_type.hashCode();
+        result = prime * result + m_encoding.hashCode();
+        result = prime * result + Float.floatToIntBits(m_sampleRate);
+        result = prime * result + m_sampleSizeInBits;
+        result = prime * result + m_channels;
+        result = prime * result + (int)(m_frameLength ^ (m_frameLength >>> 32));
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final AudioMetadata other = (AudioMetadata)obj;
+        return m_type.equals(other.m_type) && m_extension.equals(other.m_extension)
+                && m_encoding.equals(other.m_encoding)
+                && Float.floatToIntBits(m_sampleRate) == Float.floatToIntBits(other.m_sampleRate)
+                && m_sampleSizeInBits == other.m_sampleSizeInBits
+                && m_channels == other.m_channels && m_frameSize == other.m_frameSize
+                && Float.floatToIntBits(m_frameRate) == Float.floatToIntBits(other.m_frameRate)
+                && m_bigEndian == other.m_bigEndian && m_frameLength == other.m_frameLength
+                && m_byteLength == other.m_byteLength
+                && m_durationInMicroseconds == other.m_durationInMicroseconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return m_type + ", " + getAudioFormat() + ", " + m_frameLength + " frames";
+    }
+
+}
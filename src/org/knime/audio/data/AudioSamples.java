@@ -53,13 +53,53 @@ import javax.sound.sampled.AudioFormat;
 import jAudioFeatureExtractor.jAudioTools.DSPMethods;
 
 /**
+ * Holds the samples of an audio. The samples can be backed by doubles, floats
+ * or raw 16-bit integers with a scale factor, hence decoded 8-bit and 16-bit
+ * PCM audio only takes a quarter of the memory a double backing would need.
+ * The accessor methods return the samples as doubles in the range of -1 to +1,
+ * independent of the backing, and allow to convert only a window of samples
+ * at a time.
  *
  * @author Budi Yanto, KNIME.com
  */
 public class AudioSamples {
 
+    /**
+     * The type of the array holding the samples.
+     */
+    public enum Backing {
+        /** The samples are stored as doubles */
+        DOUBLE(8),
+        /** The samples are stored as 32-bit floats */
+        FLOAT(4),
+        /** The samples are stored as 16-bit integers that are divided by a scale factor */
+        INT16(2);
+
+        private final int m_bytesPerSample;
+
+        private Backing(final int bytesPerSample) {
+            m_bytesPerSample = bytesPerSample;
+        }
+
+        /**
+         * @return the number of bytes one sample takes in memory
+         */
+        public int getBytesPerSample() {
+            return m_bytesPerSample;
+        }
+    }
+
     private final AudioFormat m_audioFormat;
+    private final Backing m_backing;
+    private final int m_numberOfChannels;
+    private final int m_numberOfSamples;
     private final double[][] m_samples;
+    private final float[][] m_floatSamples;
+    private final short[][] m_shortSamples;
+    private final double m_scale;
+    /* Computed on demand, volatile since the samples are shared between threads */
+    private volatile double[] m_mixedDown;
+    private volatile SizeListener m_sizeListener;
 
     /**
      *
@@ -76,8 +116,69 @@ public class AudioSamples {
      * @param audioFormat
      */
     public AudioSamples(final double[][] samples, final AudioFormat audioFormat){
+        this(Backing.DOUBLE, samples, null, null, 1, audioFormat);
+    }
+
+    /**
+     * @param samples the samples in the range of -1 to +1. The first indices
+     * indicate the channel and the second indices indicate the samples.
+     * @param audioFormat the format of the audio
+     */
+    public AudioSamples(final float[][] samples, final AudioFormat audioFormat){
+        this(Backing.FLOAT, null, samples, null, 1, audioFormat);
+    }
+
+    /**
+     * @param samples the raw integer samples. The first indices indicate the
+     * channel and the second indices indicate the samples.
+     * @param scale the value the raw samples are divided by to get samples in
+     * the range of -1 to +1
+     * @param audioFormat the format of the audio
+     */
+    public AudioSamples(final short[][] samples, final double scale, final AudioFormat audioFormat){
+        this(Backing.INT16, null, null, samples, scale, audioFormat);
+    }
+
+    private AudioSamples(final Backing backing, final double[][] doubleSamples,
+            final float[][] floatSamples, final short[][] shortSamples,
+            final double scale, final AudioFormat audioFormat){
+        if(scale == 0){
+            throw new IllegalArgumentException("The scale cannot be zero.");
+        }
         m_audioFormat = audioFormat;
-        m_samples = samples;
+        m_backing = backing;
+        m_samples = doubleSamples;
+        m_floatSamples = floatSamples;
+        m_shortSamples = shortSamples;
+        m_scale = scale;
+        switch(backing){
+            case FLOAT:
+                m_numberOfChannels = floatSamples.length;
+                m_numberOfSamples = (floatSamples.length == 0) ? 0 : floatSamples[0].length;
+                break;
+            case INT16:
+                m_numberOfChannels = shortSamples.length;
+                m_numberOfSamples = (shortSamples.length == 0) ? 0 : shortSamples[0].length;
+                break;
+            default:
+                m_numberOfChannels = doubleSamples.length;
+                m_numberOfSamples = (doubleSamples.length == 0) ? 0 : doubleSamples[0].length;
+        }
+    }
+
+    /**
+     * Returns the smallest backing that can hold samples of the given bit
+     * depth without losing precision.
+     * @param bitsPerSample the number of bits per sample of the source
+     * @param floatingPoint <code>true</code> if the source samples are
+     * floating point values
+     * @return the smallest lossless backing
+     */
+    public static Backing getLosslessBacking(final int bitsPerSample, final boolean floatingPoint){
+        if(floatingPoint){
+            return (bitsPerSample <= 32) ? Backing.FLOAT : Backing.DOUBLE;
+        }
+        return (bitsPerSample <= 16) ? Backing.INT16 : Backing.DOUBLE;
     }
 
     /**
@@ -88,17 +189,212 @@ public class AudioSamples {
     }
 
     /**
-     * @return the samples
+     * @return the type of the array holding the samples
+     */
+    public Backing getBacking() {
+        return m_backing;
+    }
+
+    /**
+     * @return the number of channels
+     */
+    public int getNumberOfChannels() {
+        return m_numberOfChannels;
+    }
+
+    /**
+     * @return the number of samples per channel
+     */
+    public int getNumberOfSamples() {
+        return m_numberOfSamples;
+    }
+
+    /**
+     * @param channel the channel
+     * @param index the index of the sample
+     * @return the sample at the given index
+     */
+    public double getSample(final int channel, final int index) {
+        switch(m_backing){
+            case FLOAT:
+                return m_floatSamples[channel][index];
+            case INT16:
+                return m_shortSamples[channel][index] / m_scale;
+            default:
+                return m_samples[channel][index];
+        }
+    }
+
+    /**
+     * Converts a range of samples of one channel into the given buffer.
+     * @param channel the channel
+     * @param offset the index of the first sample
+     * @param length the number of samples
+     * @param buffer the buffer to write the samples into
+     * @param bufferOffset the position in the buffer to start writing
+     */
+    public void getSamples(final int channel, final int offset, final int length,
+            final double[] buffer, final int bufferOffset) {
+        switch(m_backing){
+            case FLOAT:
+                final float[] floats = m_floatSamples[channel];
+                for(int i = 0; i < length; i++){
+                    buffer[bufferOffset + i] = floats[offset + i];
+                }
+                break;
+            case INT16:
+                final short[] shorts = m_shortSamples[channel];
+                for(int i = 0; i < length; i++){
+                    buffer[bufferOffset + i] = shorts[offset + i] / m_scale;
+                }
+                break;
+            default:
+                System.arraycopy(m_samples[channel], offset, buffer, bufferOffset, length);
+        }
+    }
+
+    /**
+     * Converts a range of samples into the given buffer and mixes them down
+     * into one channel.
+     * @param offset the index of the first sample
+     * @param length the number of samples
+     * @param buffer the buffer to write the mixed down samples into
+     * @param bufferOffset the position in the buffer to start writing
+     */
+    public void getSamplesMixedDownIntoOneChannel(final int offset, final int length,
+            final double[] buffer, final int bufferOffset) {
+        getSamples(0, offset, length, buffer, bufferOffset);
+        if(m_numberOfChannels == 1){
+            return;
+        }
+        for(int i = 0; i < length; i++){
+            double sum = buffer[bufferOffset + i];
+            for(int ch = 1; ch < m_numberOfChannels; ch++){
+                sum += getSample(ch, offset + i);
+            }
+            buffer[bufferOffset + i] = sum / m_numberOfChannels;
+        }
+    }
+
+    /**
+     * Copies a range of raw integer samples of one channel into the given
+     * buffer. Only supported by the {@link Backing#INT16} backing.
+     * @param channel the channel
+     * @param offset the index of the first sample
+     * @param length the number of samples
+     * @param buffer the buffer to write the samples into
+     * @param bufferOffset the position in the buffer to start writing
+     * @see #getScale()
+     */
+    public void getRawSamples(final int channel, final int offset, final int length,
+            final short[] buffer, final int bufferOffset) {
+        if(m_backing != Backing.INT16){
+            throw new IllegalStateException("The samples aren't backed by integers.");
+        }
+        System.arraycopy(m_shortSamples[channel], offset, buffer, bufferOffset, length);
+    }
+
+    /**
+     * @return the value the raw integer samples are divided by, 1 if the
+     * samples aren't backed by integers
+     */
+    public double getScale() {
+        return m_scale;
+    }
+
+    /**
+     * @return the approximate number of bytes the samples occupy in memory
+     */
+    public long getSizeInBytes() {
+        long size = (long)m_numberOfChannels * m_numberOfSamples * m_backing.getBytesPerSample();
+        final double[] mixedDown = m_mixedDown;
+        if(mixedDown != null && (m_backing != Backing.DOUBLE || m_numberOfChannels > 1)){
+            size += 8L * mixedDown.length;
+        }
+        return size;
+    }
+
+    /**
+     * @return the samples. If the samples aren't backed by doubles, they are
+     * converted into a new array on each call, which needs as much memory as
+     * a double backing. Prefer the methods that convert only a range of samples.
      */
     public double[][] getSamples() {
-        return m_samples;
+        if(m_samples != null){
+            return m_samples;
+        }
+        final double[][] samples = new double[m_numberOfChannels][m_numberOfSamples];
+        for(int ch = 0; ch < m_numberOfChannels; ch++){
+            getSamples(ch, 0, m_numberOfSamples, samples[ch], 0);
+        }
+        return samples;
     }
 
     /**
-     * @return the mixed down samples
+     * @return the mixed down samples. They are computed on the first call and
+     * shared by all following calls, hence the returned array must not be
+     * modified. For mono audio backed by doubles no copy is made at all.
+     * The samples may be shared between threads, the array is only published
+     * once it is complete. Threads racing for the first call may each compute
+     * it, one of the results is kept.
      */
     public double[] getSamplesMixedDownIntoOneChannel(){
-        return DSPMethods.getSamplesMixedDownIntoOneChannel(m_samples);
+        double[] mixedDown = m_mixedDown;
+        if(mixedDown == null){
+            if(m_backing == Backing.DOUBLE && m_numberOfChannels == 1){
+                mixedDown = m_samples[0];
+            } else if(m_backing == Backing.DOUBLE){
+                mixedDown = DSPMethods.getSamplesMixedDownIntoOneChannel(m_samples);
+            } else {
+                mixedDown = new double[m_numberOfSamples];
+                getSamplesMixedDownIntoOneChannel(0, m_numberOfSamples, mixedDown, 0);
+            }
+            m_mixedDown = mixedDown;
+            final SizeListener listener = m_sizeListener;
+            if(listener != null){
+                listener.sizeChanged(this);
+            }
+        }
+        return mixedDown;
+    }
+
+    /**
+     * Sets the listener that is notified if the size of the samples in memory
+     * changes, i.e. when the mixed down samples are computed. Replaces the
+     * previous listener.
+     * @param listener the listener, <code>null</code> to remove it
+     */
+    public void setSizeListener(final SizeListener listener){
+        m_sizeListener = listener;
+    }
+
+    /**
+     * Creates a view of a window of the mixed down samples. The mixed down
+     * samples are computed once per audio and shared by all windows, no
+     * samples are copied.
+     * @param offset the index of the first sample of the window
+     * @param length the number of samples of the window. Samples after the
+     * end of the audio are read as zeros.
+     * @return a view of the given window
+     */
+    public AudioSamplesWindow getWindow(final int offset, final int length){
+        return new AudioSamplesWindow(getSamplesMixedDownIntoOneChannel(), offset, length,
+            m_audioFormat);
+    }
+
+    /**
+     * Is notified if the size of some samples in memory changes, e.g. to
+     * account for the memory of cached samples.
+     */
+    public interface SizeListener {
+
+        /**
+         * Called after the size of the given samples has changed, see
+         * {@link AudioSamples#getSizeInBytes()}. Might be called more than once
+         * for the same change, e.g. by threads racing for the mixed down samples.
+         * @param samples the samples whose size has changed
+         */
+        void sizeChanged(AudioSamples samples);
     }
 
 }
@@ -0,0 +1,213 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data;
+
+import java.util.Arrays;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * A view of a window of mono samples. The window refers to a range of a shared
+ * buffer, e.g. the mixed down samples of a whole audio or the window buffer of
+ * an {@link org.knime.audio.data.io.AudioWindowReader}, instead of holding a
+ * copy of the samples. The range can be moved, so one view can be reused for
+ * all windows of an audio.
+ *
+ * @author agent
+ */
+public class AudioSamplesWindow extends AudioSamples {
+
+    private final double[] m_buffer;
+    private int m_offset;
+    private int m_length;
+    private double[] m_copy;
+
+    /**
+     * Creates a view of the whole buffer.
+     * @param buffer the buffer holding the mono samples
+     * @param audioFormat the format of the audio
+     */
+    public AudioSamplesWindow(final double[] buffer, final AudioFormat audioFormat){
+        this(buffer, 0, buffer.length, audioFormat);
+    }
+
+    /**
+     * @param buffer the buffer holding the mono samples
+     * @param offset the index of the first sample of the window
+     * @param length the number of samples of the window. Samples after the end
+     * of the buffer are read as zeros.
+     * @param audioFormat the format of the audio
+     */
+    public AudioSamplesWindow(final double[] buffer, final int offset, final int length,
+            final AudioFormat audioFormat){
+        super(new double[][]{buffer}, audioFormat);
+        m_buffer = buffer;
+        setWindow(offset, length);
+    }
+
+    /**
+     * Moves the view to another window of the buffer.
+     * @param offset the index of the first sample of the window
+     * @param length the number of samples of the window
+     */
+    public void setWindow(final int offset, final int length){
+        if(offset < 0 || length < 0){
+            throw new IllegalArgumentException("The offset and length cannot be negative.");
+        }
+        m_offset = offset;
+        m_length = length;
+    }
+
+    /**
+     * @return the buffer the window refers to
+     */
+    public double[] getBuffer() {
+        return m_buffer;
+    }
+
+    /**
+     * @return the index of the first sample of the window in the buffer
+     */
+    public int getOffset() {
+        return m_offset;
+    }
+
+    /**
+     * @return the number of samples of the window
+     */
+    public int getLength() {
+        return m_length;
+    }
+
+    /**
+     * @return the number of samples of the window that are inside the buffer,
+     * the rest of the window is read as zeros
+     */
+    public int getValidLength() {
+        return Math.max(0, Math.min(m_length, m_buffer.length - m_offset));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfSamples() {
+        return m_length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSample(final int channel, final int index) {
+        if(channel != 0 || index < 0 || index >= m_length){
+            throw new IndexOutOfBoundsException("Sample " + channel + "/" + index);
+        }
+        return (index < getValidLength()) ? m_buffer[m_offset + index] : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getSamples(final int channel, final int offset, final int length,
+            final double[] buffer, final int bufferOffset) {
+        if(channel != 0){
+            throw new IndexOutOfBoundsException("Channel " + channel);
+        }
+        final int valid = Math.max(0, Math.min(length, getValidLength() - offset));
+        System.arraycopy(m_buffer, m_offset + offset, buffer, bufferOffset, valid);
+        Arrays.fill(buffer, bufferOffset + valid, bufferOffset + length, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getSamplesMixedDownIntoOneChannel(final int offset, final int length,
+            final double[] buffer, final int bufferOffset) {
+        getSamples(0, offset, length, buffer, bufferOffset);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[][] getSamples() {
+        return new double[][]{getSamplesMixedDownIntoOneChannel()};
+    }
+
+    /**
+     * Returns the samples of the window as an array of its own. If the window
+     * covers the whole buffer, the buffer itself is returned. Otherwise the
+     * samples are copied into an array that is reused by the following calls.
+     * The returned array must not be modified.
+     * @return the samples of the window
+     */
+    @Override
+    public double[] getSamplesMixedDownIntoOneChannel(){
+        if(m_offset == 0 && m_length == m_buffer.length){
+            return m_buffer;
+        }
+        if(m_copy == null || m_copy.length != m_length){
+            m_copy = new double[m_length];
+        }
+        getSamples(0, 0, m_length, m_copy, 0);
+        return m_copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioSamplesWindow getWindow(final int offset, final int length){
+        return new AudioSamplesWindow(m_buffer, m_offset + offset, length, getAudioFormat());
+    }
+
+}
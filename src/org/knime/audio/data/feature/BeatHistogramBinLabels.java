@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 import jAudioFeatureExtractor.AudioFeatures.BeatHistogramLabels;
 
 /**
@@ -68,10 +66,12 @@ public class BeatHistogramBinLabels extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new BeatHistogramLabels().extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-				samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+		final double[] values = new BeatHistogramLabels().extractFeature(
+				toArray(samples, offset, length), sampleRate, toArrays(dependencies));
+		result.set(values, 0, values.length);
 	}
 
 	/**
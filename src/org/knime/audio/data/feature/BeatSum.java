@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, Berlin, KNIME.com
@@ -64,11 +62,15 @@ public class BeatSum extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new jAudioFeatureExtractor.AudioFeatures.BeatSum().extractFeature(
-				samples.getSamplesMixedDownIntoOneChannel(), samples.getAudioFormat().getSampleRate(),
-				additionalFeatureValues);
+		final FeatureValues histogram = dependencies[0];
+		double sum = 0.0;
+		for (int bin = 0; bin < histogram.getLength(); bin++) {
+			sum += histogram.get(bin);
+		}
+		result.allocate(1)[0] = sum;
 	}
 
 	/**
@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -67,12 +65,15 @@ public class Chroma extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
         final jAudioFeatureExtractor.AudioFeatures.Chroma chroma =
                 new jAudioFeatureExtractor.AudioFeatures.Chroma();
-        return chroma.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+        final double[] values = chroma.extractFeature(toArray(samples, offset, length),
+                sampleRate, toArrays(dependencies));
+        result.set(values, 0, values.length);
     }
 
     /**
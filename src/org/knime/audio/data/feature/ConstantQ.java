@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -70,13 +68,16 @@ public class ConstantQ extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
         final jAudioFeatureExtractor.AudioFeatures.ConstantQ cq =
                 new jAudioFeatureExtractor.AudioFeatures.ConstantQ();
         cq.setElement(0, Double.toString(getParameterValue(ALPHA)));
-        return cq.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+        final double[] values = cq.extractFeature(toArray(samples, offset, length),
+                sampleRate, toArrays(dependencies));
+        result.set(values, 0, values.length);
     }
 
     /**
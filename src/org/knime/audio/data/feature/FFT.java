@@ -0,0 +1,398 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A radix-2 fast Fourier transform of a fixed size. The twiddle factors, the
+ * bit-reversal permutation and the Hanning window are computed once per size,
+ * the plans are cached and shared by all threads. The spectrum methods use
+ * per-thread scratch buffers, so they don't allocate anything but the result.
+ *
+ * Consecutive frames whose samples are stored back to back can be transformed
+ * as a batch in one pass: each butterfly stage runs over all frames before the
+ * next stage starts, so the twiddle factors are loaded once per stage instead
+ * of once per frame. The spectra are the same as the ones of single frames.
+ *
+ * As the samples are real, the spectra are computed with a complex transform
+ * of half the size: the even samples are packed into the real parts and the
+ * odd samples into the imaginary parts, and the spectrum is separated again
+ * with one twiddle per bin afterwards.
+ *
+ * The spectra match the ones of jAudio's <code>FFT</code>: the samples are
+ * zero-padded to the size of the transform, multiplied by a Hanning window and
+ * only the first half of the bins is returned, divided by the size of the
+ * transform.
+ *
+ * @author agent
+ */
+public final class FFT {
+
+    private static final ConcurrentMap<Integer, FFT> PLANS = new ConcurrentHashMap<Integer, FFT>();
+
+    private final int m_size;
+    private final int[] m_bitReversal;
+    private final double[] m_cos;
+    private final double[] m_sin;
+    private final double[] m_window;
+    private final FFT m_half;
+    private final ThreadLocal<double[][]> m_scratch;
+
+    private FFT(final int size) {
+        m_size = size;
+        m_bitReversal = new int[size];
+        final int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 1; i < size; i++) {
+            m_bitReversal[i] = Integer.reverse(i) >>> (Integer.SIZE - bits);
+        }
+        m_cos = new double[size / 2];
+        m_sin = new double[size / 2];
+        for (int k = 0; k < m_cos.length; k++) {
+            final double angle = 2 * Math.PI * k / size;
+            m_cos[k] = Math.cos(angle);
+            m_sin[k] = Math.sin(angle);
+        }
+        m_window = new double[size];
+        for (int i = 0; i < size; i++) {
+            m_window[i] = 0.5 - 0.5 * Math.cos(2 * Math.PI * i / size);
+        }
+        m_half = (size > 1) ? getInstance(size / 2) : null;
+        m_scratch = new ThreadLocal<double[][]>() {
+
+            @Override
+            protected double[][] initialValue() {
+                return new double[2][Math.max(1, m_size / 2)];
+            }
+        };
+    }
+
+    /**
+     * @param size the size of the transform, must be a power of two
+     * @return the cached transform of the given size
+     */
+    public static FFT getInstance(final int size) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("The size of the FFT must be a power of two.");
+        }
+        FFT plan = PLANS.get(size);
+        if (plan == null) {
+            plan = new FFT(size);
+            final FFT existing = PLANS.putIfAbsent(size, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @param length the number of samples
+     * @return the smallest power of two that is not smaller than the given length
+     */
+    public static int getPaddedSize(final int length) {
+        if (length <= 1) {
+            return 1;
+        }
+        final int size = Integer.highestOneBit(length - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("Too many samples for an FFT: " + length);
+        }
+        return size;
+    }
+
+    /**
+     * @return the size of the transform
+     */
+    public int getSize() {
+        return m_size;
+    }
+
+    /**
+     * Computes the forward transform of the given complex values in place.
+     * @param real the real parts, at least of the size of the transform
+     * @param imag the imaginary parts, at least of the size of the transform
+     */
+    public void transform(final double[] real, final double[] imag) {
+        transform(real, imag, 1);
+    }
+
+    /**
+     * Computes the forward transforms of the given frames of complex values
+     * in place. The values of the frames are stored back to back, frame
+     * <code>f</code> starts at index <code>f * getSize()</code>.
+     * @param real the real parts of the frames
+     * @param imag the imaginary parts of the frames
+     * @param frames the number of frames
+     */
+    public void transform(final double[] real, final double[] imag, final int frames) {
+        final int total = frames * m_size;
+        if (frames < 0 || real.length < total || imag.length < total) {
+            throw new IllegalArgumentException("The arrays are smaller than the frames of the FFT.");
+        }
+        for (int base = 0; base < total; base += m_size) {
+            for (int i = 1; i < m_size; i++) {
+                final int j = m_bitReversal[i];
+                if (j > i) {
+                    double tmp = real[base + i];
+                    real[base + i] = real[base + j];
+                    real[base + j] = tmp;
+                    tmp = imag[base + i];
+                    imag[base + i] = imag[base + j];
+                    imag[base + j] = tmp;
+                }
+            }
+        }
+        for (int half = 1, step = m_size / 2; half < m_size; half <<= 1, step >>= 1) {
+            final int length = half << 1;
+            for (int k = 0, t = 0; k < half; k++, t += step) {
+                final double wr = m_cos[t];
+                final double wi = -m_sin[t];
+                for (int left = k; left < total; left += length) {
+                    final int right = left + half;
+                    final double tr = wr * real[right] - wi * imag[right];
+                    final double ti = wr * imag[right] + wi * real[right];
+                    real[right] = real[left] - tr;
+                    imag[right] = imag[left] - ti;
+                    real[left] += tr;
+                    imag[left] += ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param samples the samples, at most as many as the size of the transform
+     * @return the magnitude spectrum of the samples
+     * @see #getMagnitudeSpectrum(double[], int, int, double[])
+     */
+    public double[] getMagnitudeSpectrum(final double[] samples) {
+        return getMagnitudeSpectrum(samples, 0, samples.length, new double[m_size / 2]);
+    }
+
+    /**
+     * Computes the magnitude spectrum of the given samples, i.e. the absolute
+     * values of the first half of the bins divided by the size of the transform.
+     * @param samples the array containing the samples
+     * @param offset the index of the first sample
+     * @param length the number of samples, at most the size of the transform
+     * @param spectrum the array to write the spectrum into, at least half the
+     * size of the transform
+     * @return the given spectrum array
+     */
+    public double[] getMagnitudeSpectrum(final double[] samples, final int offset,
+            final int length, final double[] spectrum) {
+        computeSpectrum(samples, offset, length, spectrum, false);
+        return spectrum;
+    }
+
+    /**
+     * @param samples the samples, at most as many as the size of the transform
+     * @return the power spectrum of the samples
+     * @see #getPowerSpectrum(double[], int, int, double[])
+     */
+    public double[] getPowerSpectrum(final double[] samples) {
+        return getPowerSpectrum(samples, 0, samples.length, new double[m_size / 2]);
+    }
+
+    /**
+     * Computes the power spectrum of the given samples, i.e. the squared
+     * absolute values of the first half of the bins divided by the size of
+     * the transform.
+     * @param samples the array containing the samples
+     * @param offset the index of the first sample
+     * @param length the number of samples, at most the size of the transform
+     * @param spectrum the array to write the spectrum into, at least half the
+     * size of the transform
+     * @return the given spectrum array
+     */
+    public double[] getPowerSpectrum(final double[] samples, final int offset,
+            final int length, final double[] spectrum) {
+        computeSpectrum(samples, offset, length, spectrum, true);
+        return spectrum;
+    }
+
+    /**
+     * Computes the magnitude spectra of consecutive frames of samples that
+     * are stored back to back in one pass. Each spectrum is the same as the
+     * one of {@link #getMagnitudeSpectrum(double[], int, int, double[])}.
+     * @param samples the array containing the samples
+     * @param offset the index of the first sample of the first frame
+     * @param length the number of samples of each frame, at most the size of
+     * the transform, frame <code>f</code> starts at <code>offset + f * length</code>
+     * @param spectra the arrays to write the spectra of the frames into, each
+     * at least half the size of the transform, one per frame
+     * @return the given spectra arrays
+     */
+    public double[][] getMagnitudeSpectra(final double[] samples, final int offset,
+            final int length, final double[][] spectra) {
+        computeSpectra(samples, offset, length, spectra, false);
+        return spectra;
+    }
+
+    /**
+     * Computes the power spectra of consecutive frames of samples that are
+     * stored back to back in one pass. Each spectrum is the same as the one of
+     * {@link #getPowerSpectrum(double[], int, int, double[])}.
+     * @param samples the array containing the samples
+     * @param offset the index of the first sample of the first frame
+     * @param length the number of samples of each frame, at most the size of
+     * the transform, frame <code>f</code> starts at <code>offset + f * length</code>
+     * @param spectra the arrays to write the spectra of the frames into, each
+     * at least half the size of the transform, one per frame
+     * @return the given spectra arrays
+     */
+    public double[][] getPowerSpectra(final double[] samples, final int offset,
+            final int length, final double[][] spectra) {
+        computeSpectra(samples, offset, length, spectra, true);
+        return spectra;
+    }
+
+    /**
+     * Transforms the windowed and zero-padded samples with the half size
+     * transform and separates the first half of the bins of the real signal.
+     */
+    private void computeSpectrum(final double[] samples, final int offset, final int length,
+            final double[] spectrum, final boolean power) {
+        if (length > m_size) {
+            throw new IllegalArgumentException("More samples than the size of the FFT.");
+        }
+        final int half = m_size / 2;
+        if (half == 0) {
+            return;
+        }
+        final double[][] scratch = getScratch(half);
+        pack(samples, offset, length, scratch[0], scratch[1], 0);
+        m_half.transform(scratch[0], scratch[1], 1);
+        separate(scratch[0], scratch[1], 0, spectrum, power);
+    }
+
+    /**
+     * Packs the frames back to back into the scratch buffers, transforms them
+     * with the half size transform in one pass and separates the spectra.
+     */
+    private void computeSpectra(final double[] samples, final int offset, final int length,
+            final double[][] spectra, final boolean power) {
+        if (length > m_size) {
+            throw new IllegalArgumentException("More samples than the size of the FFT.");
+        }
+        final int half = m_size / 2;
+        if (half == 0 || spectra.length == 0) {
+            return;
+        }
+        final double[][] scratch = getScratch(spectra.length * half);
+        for (int f = 0; f < spectra.length; f++) {
+            pack(samples, offset + f * length, length, scratch[0], scratch[1], f * half);
+        }
+        m_half.transform(scratch[0], scratch[1], spectra.length);
+        for (int f = 0; f < spectra.length; f++) {
+            separate(scratch[0], scratch[1], f * half, spectra[f], power);
+        }
+    }
+
+    /**
+     * @param size the number of complex values needed
+     * @return the scratch buffers of the current thread, grown to the given size
+     */
+    private double[][] getScratch(final int size) {
+        final double[][] scratch = m_scratch.get();
+        if (scratch[0].length < size) {
+            scratch[0] = new double[size];
+            scratch[1] = new double[size];
+        }
+        return scratch;
+    }
+
+    /**
+     * Windows the samples and packs the even ones into the real parts and
+     * the odd ones into the imaginary parts of the frame at the given index,
+     * the rest of the frame is zero-padded.
+     */
+    private void pack(final double[] samples, final int offset, final int length,
+            final double[] real, final double[] imag, final int base) {
+        final int half = m_size / 2;
+        Arrays.fill(real, base, base + half, 0);
+        Arrays.fill(imag, base, base + half, 0);
+        for (int i = 0; i < length; i++) {
+            final double value = samples[offset + i] * m_window[i];
+            if ((i & 1) == 0) {
+                real[base + (i >> 1)] = value;
+            } else {
+                imag[base + (i >> 1)] = value;
+            }
+        }
+    }
+
+    /**
+     * Separates the first half of the bins of the real signal from the
+     * transformed frame at the given index.
+     */
+    private void separate(final double[] real, final double[] imag, final int base,
+            final double[] spectrum, final boolean power) {
+        final int half = m_size / 2;
+        for (int k = 0; k < half; k++) {
+            /* Even part (Z[k] + conj(Z[N/2 - k])) / 2, odd part (Z[k] - conj(Z[N/2 - k])) / 2i */
+            final int i = base + k;
+            final int c = base + ((k == 0) ? 0 : half - k);
+            final double evenReal = (real[i] + real[c]) / 2;
+            final double evenImag = (imag[i] - imag[c]) / 2;
+            final double oddReal = (imag[i] + imag[c]) / 2;
+            final double oddImag = (real[c] - real[i]) / 2;
+            final double wr = m_cos[k];
+            final double wi = -m_sin[k];
+            final double binReal = evenReal + wr * oddReal - wi * oddImag;
+            final double binImag = evenImag + wr * oddImag + wi * oddReal;
+            final double squared = binReal * binReal + binImag * binImag;
+            spectrum[k] = (power ? squared : Math.sqrt(squared)) / m_size;
+        }
+    }
+
+}
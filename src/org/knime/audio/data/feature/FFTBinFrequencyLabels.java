@@ -48,9 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
-import jAudioFeatureExtractor.AudioFeatures.FFTBinFrequencies;
 import jAudioFeatureExtractor.GeneralTools.Statistics;
 
 /**
@@ -67,10 +64,14 @@ public class FFTBinFrequencyLabels extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new FFTBinFrequencies().extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-				samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+		final int size = FFT.getPaddedSize(length);
+		final double[] labels = result.allocate(size / 2);
+		for (int bin = 0; bin < labels.length; bin++) {
+			labels[bin] = (bin * sampleRate) / size;
+		}
 	}
 
 	/**
@@ -48,19 +48,26 @@
  */
 package org.knime.audio.data.feature;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.knime.audio.data.AudioSamples;
 
 /**
+ * Extracts a feature from the samples of a window. Extractors are used by
+ * several threads at the same time, hence they must not keep any state of
+ * an extraction in their fields.
  *
  * @author Budi Yanto, KNIME.com
  */
 public abstract class FeatureExtractor {
 
 	private final FeatureType m_type;
-	private final Map<String, Double> m_parameters = new LinkedHashMap<String, Double>();
+	/* Never modified, a new map is set when a parameter changes. Hence, the
+	 * extractor can be used by several threads at the same time. */
+	private volatile Map<String, Double> m_parameters;
 
 	/**
 	 *
@@ -88,9 +95,11 @@ public abstract class FeatureExtractor {
 		}
 
 		m_type = type;
+		final Map<String, Double> parameterMap = new LinkedHashMap<String, Double>();
 		for(int i = 0; i < parameters.length; i++){
-			m_parameters.put(parameters[i], parameterValues[i]);
+			parameterMap.put(parameters[i], parameterValues[i]);
 		}
+		m_parameters = Collections.unmodifiableMap(parameterMap);
 	}
 
 	/**
@@ -107,8 +116,9 @@ public abstract class FeatureExtractor {
 	 * @return the value of the given parameter, returns null if the parameter doesn't exist
 	 */
 	public Double getParameterValue(final String parameter){
-		if(m_parameters != null){
-			return m_parameters.get(parameter);
+		final Map<String, Double> parameters = m_parameters;
+		if(parameters != null){
+			return parameters.get(parameter);
 		}
 		return null;
 	}
@@ -118,9 +128,11 @@ public abstract class FeatureExtractor {
 	 * @param parameter the parameter whose value should be set
 	 * @param value the value to set
 	 */
-	public void setParameterValue(final String parameter, final double value){
+	public synchronized void setParameterValue(final String parameter, final double value){
 		if((m_parameters != null) &&  m_parameters.containsKey(parameter)){
-			m_parameters.put(parameter, value);
+			final Map<String, Double> parameters = new LinkedHashMap<String, Double>(m_parameters);
+			parameters.put(parameter, value);
+			m_parameters = Collections.unmodifiableMap(parameters);
 		}
 	}
 
@@ -130,9 +142,101 @@ public abstract class FeatureExtractor {
 	 * @param additionalFeatureValues the values of the dependencies if needed for the extraction
 	 * @return the extracted feature of the given sample chunk
 	 * @throws Exception
+	 * @see #extractFeature(double[], int, int, double, FeatureValues[], FeatureValues)
 	 */
-	public abstract double[] extractFeature(final AudioSamples samples,
-			final double[][] additionalFeatureValues) throws Exception;
+	public double[] extractFeature(final AudioSamples samples,
+			final double[][] additionalFeatureValues) throws Exception {
+		final double[] signal = samples.getSamplesMixedDownIntoOneChannel();
+		FeatureValues[] dependencies = null;
+		if (additionalFeatureValues != null) {
+			dependencies = new FeatureValues[additionalFeatureValues.length];
+			for (int i = 0; i < dependencies.length; i++) {
+				if (additionalFeatureValues[i] != null) {
+					dependencies[i] = new FeatureValues(additionalFeatureValues[i]);
+				}
+			}
+		}
+		final FeatureValues result = new FeatureValues(getDimension(signal.length));
+		extractFeature(signal, 0, signal.length, samples.getAudioFormat().getSampleRate(),
+				dependencies, result);
+		return result.toArray();
+	}
+
+	/**
+	 * Extract the feature of the given sample chunk into the given result.
+	 * The samples, the values of the dependencies and the result are reused
+	 * for the following chunks, hence implementations must neither keep
+	 * references to them nor allocate memory if it can be avoided.
+	 * @param samples the array containing the mono samples of the chunk
+	 * @param offset the index of the first sample of the chunk
+	 * @param length the number of samples of the chunk, i.e. the window size
+	 * @param sampleRate the sample rate of the samples
+	 * @param dependencies the values of the dependencies in the order and
+	 * with the offsets of {@link FeatureType#getDependencies()}, <code>null</code>
+	 * if the feature doesn't have dependencies
+	 * @param result the values to write the extracted feature into, its
+	 * buffer has at least the capacity of {@link #getDimension(int)}
+	 * @throws Exception
+	 */
+	public abstract void extractFeature(final double[] samples, final int offset,
+			final int length, final double sampleRate, final FeatureValues[] dependencies,
+			final FeatureValues result) throws Exception;
+
+	/**
+	 * @return <code>true</code> if the feature is extracted faster from
+	 * consecutive sample chunks at once than one after another, see
+	 * {@link #extractFeatures(double[], int, int, double, FeatureValues[])}
+	 */
+	public boolean extractsBatches() {
+		return false;
+	}
+
+	/**
+	 * Extract the feature of consecutive sample chunks whose samples are
+	 * stored back to back into the given results. Only used for features
+	 * without dependencies, the results are the same as the ones of
+	 * {@link #extractFeature(double[], int, int, double, FeatureValues[], FeatureValues)}
+	 * for each chunk, which is what the default implementation calls.
+	 * @param samples the array containing the mono samples of the chunks
+	 * @param offset the index of the first sample of the first chunk
+	 * @param length the number of samples of each chunk, i.e. the window size,
+	 * chunk <code>i</code> starts at <code>offset + i * length</code>
+	 * @param sampleRate the sample rate of the samples
+	 * @param results the values to write the extracted feature of each chunk
+	 * into, one per chunk
+	 * @throws Exception
+	 */
+	public void extractFeatures(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] results) throws Exception {
+		for (int i = 0; i < results.length; i++) {
+			extractFeature(samples, offset + (i * length), length, sampleRate, null, results[i]);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the feature can be derived from the
+	 * {@link TimeDomainStatistics} of the sample chunk, which are shared by
+	 * all such features of the chunk, see
+	 * {@link #extractFeature(TimeDomainStatistics, FeatureValues)}
+	 */
+	public boolean usesTimeDomainStatistics() {
+		return false;
+	}
+
+	/**
+	 * Extract the feature from the statistics of the sample chunk into the
+	 * given result. Only supported if {@link #usesTimeDomainStatistics()}
+	 * returns <code>true</code>, the result is the same as the one of
+	 * {@link #extractFeature(double[], int, int, double, FeatureValues[], FeatureValues)}.
+	 * @param statistics the statistics of the sample chunk
+	 * @param result the values to write the extracted feature into
+	 * @throws Exception
+	 */
+	public void extractFeature(final TimeDomainStatistics statistics,
+			final FeatureValues result) throws Exception {
+		throw new UnsupportedOperationException("The feature " + m_type.getName()
+				+ " cannot be derived from the time domain statistics.");
+	}
 
 	/**
 	 * @param windowSize the windows size of the sample chunk
@@ -140,6 +244,36 @@ public abstract class FeatureExtractor {
 	 */
 	public abstract int getDimension(final int windowSize);
 
+	/**
+	 * Returns the given samples as an array on its own, e.g. for passing them
+	 * to the jAudio features. The array is only copied if the samples are
+	 * a part of it.
+	 */
+	static double[] toArray(final double[] samples, final int offset, final int length) {
+		if ((offset == 0) && (length == samples.length)) {
+			return samples;
+		}
+		return Arrays.copyOfRange(samples, offset, offset + length);
+	}
+
+	/**
+	 * Returns the values of the given dependencies as arrays, e.g. for passing
+	 * them to the jAudio features.
+	 */
+	static double[][] toArrays(final FeatureValues[] dependencies) {
+		if (dependencies == null) {
+			return null;
+		}
+		final double[][] result = new double[dependencies.length][];
+		for (int i = 0; i < result.length; i++) {
+			final FeatureValues values = dependencies[i];
+			if (values != null) {
+				result[i] = toArray(values.getValues(), values.getOffset(), values.getLength());
+			}
+		}
+		return result;
+	}
+
 	/**
 	 *
 	 * @param type
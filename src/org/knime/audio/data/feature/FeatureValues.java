@@ -0,0 +1,186 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import java.util.Arrays;
+
+/**
+ * The values of a feature for one window. The values are either written into
+ * the buffer owned by this object, which is reused for the following windows,
+ * or refer to a range of another array, e.g. the stored values of a
+ * dependency. Hence, extracting the features of a window doesn't allocate
+ * anything once the buffers are large enough.
+ *
+ * @author agent
+ */
+public final class FeatureValues {
+
+    private double[] m_buffer;
+    private double[] m_values;
+    private int m_offset;
+    private int m_length;
+    private SpectralStatistics m_statistics;
+
+    /**
+     * @param capacity the initial capacity of the buffer, e.g. the dimension
+     * of the feature
+     */
+    public FeatureValues(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        m_buffer = new double[capacity];
+        m_values = m_buffer;
+    }
+
+    /**
+     * Creates values that refer to the given array.
+     * @param values the values
+     */
+    public FeatureValues(final double[] values) {
+        this(0);
+        set(values, 0, values.length);
+    }
+
+    /**
+     * Prepares the buffer for writing the given number of values. The buffer
+     * only grows if it is too small.
+     * @param length the number of values
+     * @return the buffer to write the values into, starting at index 0
+     */
+    public double[] allocate(final int length) {
+        if (m_buffer.length < length) {
+            m_buffer = new double[length];
+        }
+        m_values = m_buffer;
+        m_offset = 0;
+        m_length = length;
+        invalidate();
+        return m_buffer;
+    }
+
+    /**
+     * Shortens the values, e.g. if less values have been written than allocated.
+     * @param length the new number of values
+     */
+    public void setLength(final int length) {
+        if (length < 0 || m_offset + length > m_values.length) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        m_length = length;
+        invalidate();
+    }
+
+    /**
+     * Lets the values refer to a range of the given array, nothing is copied.
+     * @param values the array containing the values
+     * @param offset the index of the first value
+     * @param length the number of values
+     */
+    public void set(final double[] values, final int offset, final int length) {
+        m_values = values;
+        m_offset = offset;
+        m_length = length;
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (m_statistics != null) {
+            m_statistics.invalidate();
+        }
+    }
+
+    /**
+     * @return the statistics of the values if they are a spectrum, which are
+     * kept until the values change
+     */
+    SpectralStatistics getStatistics() {
+        if (m_statistics == null) {
+            m_statistics = new SpectralStatistics(this);
+        }
+        return m_statistics;
+    }
+
+    /**
+     * @return the array containing the values, starting at {@link #getOffset()}
+     */
+    public double[] getValues() {
+        return m_values;
+    }
+
+    /**
+     * @return the index of the first value in {@link #getValues()}
+     */
+    public int getOffset() {
+        return m_offset;
+    }
+
+    /**
+     * @return the number of values
+     */
+    public int getLength() {
+        return m_length;
+    }
+
+    /**
+     * @param index the index of the value
+     * @return the value at the given index
+     */
+    public double get(final int index) {
+        return m_values[m_offset + index];
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public double[] toArray() {
+        return Arrays.copyOfRange(m_values, m_offset, m_offset + m_length);
+    }
+
+}
@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, Berlin, KNIME.com
@@ -66,11 +64,21 @@ public class FractionOfLowEnergyWindows extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new jAudioFeatureExtractor.AudioFeatures.FractionOfLowEnergyWindows().extractFeature(
-				samples.getSamplesMixedDownIntoOneChannel(), samples.getAudioFormat().getSampleRate(),
-				additionalFeatureValues);
+		double average = 0.0;
+		for (final FeatureValues rms : dependencies) {
+			average += rms.get(0);
+		}
+		average = average / dependencies.length;
+		int count = 0;
+		for (final FeatureValues rms : dependencies) {
+			if (rms.get(0) < average) {
+				count++;
+			}
+		}
+		result.allocate(1)[0] = ((double)count) / dependencies.length;
 	}
 
 	/**
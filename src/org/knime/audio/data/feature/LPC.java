@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -61,6 +59,8 @@ public class LPC extends FeatureExtractor {
     private final static double DEF_LAMBDA = 0.0;
     private final static int DEF_COEFFICIENTS = 10;
 
+    /* The linear prediction of the last extraction, looked up again if the parameters change */
+    private volatile LinearPrediction m_prediction;
 
     /**
      *
@@ -73,14 +73,18 @@ public class LPC extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        final jAudioFeatureExtractor.AudioFeatures.LPC lpc =
-                new jAudioFeatureExtractor.AudioFeatures.LPC();
-        lpc.setLambda(getParameterValue(LAMBDA));
-        lpc.setNumDimensions(getParameterValue(COEFFICIENTS).intValue());
-        return lpc.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        final int order = getParameterValue(COEFFICIENTS).intValue();
+        final double lambda = getParameterValue(LAMBDA);
+        LinearPrediction prediction = m_prediction;
+        if (prediction == null || !prediction.isFor(order, lambda)) {
+            prediction = LinearPrediction.getInstance(order, lambda);
+            m_prediction = prediction;
+        }
+        prediction.compute(samples, offset, length, result.allocate(order));
     }
 
     /**
@@ -0,0 +1,315 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The (frequency warped) linear prediction of a number of coefficients. The
+ * coefficients are computed from the autocorrelation of a window with the
+ * Levinson-Durbin recursion. For frequency warping, the unit delays of the
+ * autocorrelation are replaced by first order allpass filters with the
+ * coefficient <code>lambda</code>, see Harma et al., "Frequency-warped signal
+ * processing for audio applications" (2000). A lambda of zero is the usual
+ * linear prediction.
+ *
+ * The instances are cached per number of coefficients and lambda. Without
+ * warping, the autocorrelation is computed with the FFT if that takes less
+ * operations than the direct sums. All buffers are kept per thread, so
+ * computing the coefficients of a window doesn't allocate anything once the
+ * buffers are large enough.
+ *
+ * @author agent
+ */
+public final class LinearPrediction {
+
+    private static final ConcurrentMap<Key, LinearPrediction> INSTANCES =
+            new ConcurrentHashMap<Key, LinearPrediction>();
+
+    /* The estimated operations of an FFT of size n are FFT_COST * n * log2(n) */
+    private static final int FFT_COST = 6;
+
+    private final int m_order;
+    private final double m_lambda;
+    private final ThreadLocal<Scratch> m_scratch;
+
+    private LinearPrediction(final int order, final double lambda) {
+        m_order = order;
+        m_lambda = lambda;
+        m_scratch = new ThreadLocal<Scratch>() {
+
+            @Override
+            protected Scratch initialValue() {
+                return new Scratch(m_order);
+            }
+        };
+    }
+
+    /**
+     * @param order the number of coefficients
+     * @param lambda the coefficient of the allpass filters for the frequency
+     * warping, 0 for no warping
+     * @return the cached linear prediction for the given parameters
+     */
+    public static LinearPrediction getInstance(final int order, final double lambda) {
+        if (order < 1) {
+            throw new IllegalArgumentException("The number of coefficients must be positive.");
+        }
+        final Key key = new Key(order, lambda);
+        LinearPrediction prediction = INSTANCES.get(key);
+        if (prediction == null) {
+            prediction = new LinearPrediction(order, lambda);
+            final LinearPrediction existing = INSTANCES.putIfAbsent(key, prediction);
+            if (existing != null) {
+                prediction = existing;
+            }
+        }
+        return prediction;
+    }
+
+    /**
+     * @param order the number of coefficients
+     * @param lambda the coefficient of the allpass filters
+     * @return <code>true</code> if this instance has been created for the
+     * given parameters
+     */
+    public boolean isFor(final int order, final double lambda) {
+        return m_order == order && Double.compare(m_lambda, lambda) == 0;
+    }
+
+    /**
+     * @return the number of coefficients
+     */
+    public int getOrder() {
+        return m_order;
+    }
+
+    /**
+     * Computes the prediction coefficients of the given window, i.e. the
+     * coefficients <code>a[1], ..., a[order]</code> of the predictor
+     * <code>x[n] = sum(a[i] * x[n - i])</code>. The coefficients are zero if
+     * the window is silent.
+     * @param samples the array containing the samples
+     * @param offset the index of the first sample of the window
+     * @param length the number of samples of the window
+     * @param coefficients the array to write the coefficients into, starting
+     * at index 0
+     */
+    public void compute(final double[] samples, final int offset, final int length,
+            final double[] coefficients) {
+        final Scratch scratch = m_scratch.get();
+        final double[] r = scratch.m_autocorrelation;
+        if (m_lambda != 0) {
+            warpedAutocorrelation(samples, offset, length, r, scratch);
+        } else if (isFFTCheaper(length)) {
+            fftAutocorrelation(samples, offset, length, r, scratch);
+        } else {
+            autocorrelation(samples, offset, length, r);
+        }
+        levinsonDurbin(r, coefficients, scratch.m_previous);
+    }
+
+    private boolean isFFTCheaper(final int length) {
+        final int size = FFT.getPaddedSize(length + m_order);
+        /* Two transforms against the multiply-adds of the direct sums */
+        final long fft = 2L * FFT_COST * size * Integer.numberOfTrailingZeros(size);
+        return fft < (long)length * (m_order + 1);
+    }
+
+    private void autocorrelation(final double[] samples, final int offset, final int length,
+            final double[] r) {
+        for (int lag = 0; lag <= m_order; lag++) {
+            double sum = 0;
+            for (int k = offset + lag; k < offset + length; k++) {
+                sum += samples[k - lag] * samples[k];
+            }
+            r[lag] = sum;
+        }
+    }
+
+    /**
+     * The autocorrelation as inverse transform of the power spectrum. The
+     * window is zero-padded, so the lags up to the order don't wrap around.
+     */
+    private void fftAutocorrelation(final double[] samples, final int offset, final int length,
+            final double[] r, final Scratch scratch) {
+        final FFT fft = FFT.getInstance(FFT.getPaddedSize(length + m_order));
+        final int size = fft.getSize();
+        final double[] real = scratch.getReal(size);
+        final double[] imag = scratch.getImag(size);
+        System.arraycopy(samples, offset, real, 0, length);
+        Arrays.fill(real, length, size, 0);
+        Arrays.fill(imag, 0, size, 0);
+        fft.transform(real, imag);
+        for (int i = 0; i < size; i++) {
+            real[i] = real[i] * real[i] + imag[i] * imag[i];
+            imag[i] = 0;
+        }
+        /* The power spectrum is real and symmetric, so its forward transform
+         * is the inverse transform times the size */
+        fft.transform(real, imag);
+        for (int lag = 0; lag <= m_order; lag++) {
+            r[lag] = (lag < length) ? real[lag] / size : 0;
+        }
+    }
+
+    /**
+     * The autocorrelation with a chain of allpass filters instead of unit
+     * delays. The output of the previous filter of the chain is filtered in
+     * place for each lag.
+     */
+    private void warpedAutocorrelation(final double[] samples, final int offset, final int length,
+            final double[] r, final Scratch scratch) {
+        final double[] delayed = scratch.getReal(length);
+        double r0 = 0;
+        double previousInput = 0;
+        double previousOutput = 0;
+        for (int k = 0; k < length; k++) {
+            final double x = samples[offset + k];
+            r0 += x * x;
+            delayed[k] = previousInput - m_lambda * (x - previousOutput);
+            previousInput = x;
+            previousOutput = delayed[k];
+        }
+        r[0] = r0;
+        for (int lag = 1; lag <= m_order; lag++) {
+            double sum = 0;
+            previousInput = 0;
+            previousOutput = 0;
+            for (int k = 0; k < length; k++) {
+                final double input = delayed[k];
+                sum += input * samples[offset + k];
+                delayed[k] = previousInput - m_lambda * (input - previousOutput);
+                previousInput = input;
+                previousOutput = delayed[k];
+            }
+            r[lag] = sum;
+        }
+    }
+
+    private void levinsonDurbin(final double[] r, final double[] a, final double[] previous) {
+        if (r[0] == 0) {
+            Arrays.fill(a, 0, m_order, 0);
+            return;
+        }
+        /* a[m - 1] holds the coefficient of lag m, previous the ones of the last order */
+        double error = r[0];
+        for (int m = 1; m <= m_order; m++) {
+            double sum = 0;
+            for (int k = 1; k < m; k++) {
+                sum += previous[k - 1] * r[m - k];
+            }
+            final double reflection = (r[m] - sum) / error;
+            a[m - 1] = reflection;
+            for (int k = 1; k < m; k++) {
+                a[k - 1] = previous[k - 1] - reflection * previous[m - k - 1];
+            }
+            error *= 1 - reflection * reflection;
+            System.arraycopy(a, 0, previous, 0, m);
+        }
+    }
+
+    /**
+     * The buffers of a thread.
+     */
+    private static final class Scratch {
+
+        private final double[] m_autocorrelation;
+        private final double[] m_previous;
+        private double[] m_real = new double[0];
+        private double[] m_imag = new double[0];
+
+        private Scratch(final int order) {
+            m_autocorrelation = new double[order + 1];
+            m_previous = new double[order];
+        }
+
+        private double[] getReal(final int size) {
+            if (m_real.length < size) {
+                m_real = new double[size];
+            }
+            return m_real;
+        }
+
+        private double[] getImag(final int size) {
+            if (m_imag.length < size) {
+                m_imag = new double[size];
+            }
+            return m_imag;
+        }
+    }
+
+    private static final class Key {
+
+        private final int m_order;
+        private final double m_lambda;
+
+        private Key(final int order, final double lambda) {
+            m_order = order;
+            m_lambda = lambda;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(m_lambda) + m_order;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return m_order == other.m_order && Double.compare(m_lambda, other.m_lambda) == 0;
+        }
+    }
+
+}
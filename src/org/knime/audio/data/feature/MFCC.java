@@ -48,9 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-import org.oc.ocvolume.dsp.featureExtraction;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -60,6 +57,9 @@ public class MFCC extends FeatureExtractor{
     private static final String PARAMETER_NAME = FeatureType.MFCC.getParameters()[0];
     private static final int DEFAULT_PARAMETER_VALUE = 13;
 
+    /* The filter bank and DCT of the last extraction, looked up again if the parameters change */
+    private volatile MelCepstrum m_cepstrum;
+
     /**
      *
      */
@@ -71,17 +71,18 @@ public class MFCC extends FeatureExtractor{
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        final featureExtraction extractor = new featureExtraction();
-        extractor.numCepstra = getParameterValue(PARAMETER_NAME).intValue();
-        final int[] cbin = extractor.fftBinIndices(
-            samples.getAudioFormat().getSampleRate(),
-            additionalFeatureValues[0].length);
-        final double[] fbank = extractor.melFilter(additionalFeatureValues[0], cbin);
-        final double[] f = extractor.nonLinearTransformation(fbank);
-        final double[] cepc = extractor.cepCoefficients(f);
-        return cepc;
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        final FeatureValues spectrum = dependencies[0];
+        final int coefficients = getParameterValue(PARAMETER_NAME).intValue();
+        MelCepstrum cepstrum = m_cepstrum;
+        if (cepstrum == null || !cepstrum.isFor(sampleRate, spectrum.getLength(), coefficients)) {
+            cepstrum = MelCepstrum.getInstance(sampleRate, spectrum.getLength(), coefficients);
+            m_cepstrum = cepstrum;
+        }
+        cepstrum.transform(spectrum.getValues(), spectrum.getOffset(), result.allocate(coefficients));
     }
 
     /**
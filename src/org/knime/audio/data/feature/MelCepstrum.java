@@ -0,0 +1,271 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.oc.ocvolume.dsp.featureExtraction;
+
+/**
+ * The Mel filter bank and the DCT-II of the MFCC for a sample rate, a length
+ * of the magnitude spectrum and a number of coefficients. Both only depend on
+ * these parameters, hence they are computed once and cached. The filter bank
+ * is stored sparsely, i.e. only the weights of the bins within the band of
+ * each filter.
+ *
+ * The coefficients match the ones of OC Volume's <code>featureExtraction</code>
+ * as used by jAudio. As its filter bank and DCT are linear, their weights
+ * are taken from its responses to unit vectors, so they are the same up to
+ * the last bit.
+ *
+ * @author agent
+ */
+public final class MelCepstrum {
+
+    private static final ConcurrentMap<Key, MelCepstrum> INSTANCES =
+            new ConcurrentHashMap<Key, MelCepstrum>();
+
+    /* The lower bound of the logarithm of the filter bank energies */
+    private static final double FLOOR = -50;
+
+    private final double m_sampleRate;
+    private final int m_spectrumLength;
+    private final int m_coefficients;
+    private final int m_filters;
+    /* Filter k rises over the bins m_start[k] to m_center[k] and falls until m_end[k] */
+    private final int[] m_start;
+    private final int[] m_center;
+    private final int[] m_end;
+    /* The weights of filter k start at m_weightOffsets[k] */
+    private final int[] m_weightOffsets;
+    private final double[] m_weights;
+    /* The weight of filter j for coefficient i is at i * m_filters + j */
+    private final double[] m_dct;
+    private final ThreadLocal<double[]> m_scratch;
+
+    private MelCepstrum(final double sampleRate, final int spectrumLength, final int coefficients) {
+        m_sampleRate = sampleRate;
+        m_spectrumLength = spectrumLength;
+        m_coefficients = coefficients;
+        final featureExtraction extractor = new featureExtraction();
+        extractor.numCepstra = coefficients;
+        final int[] cbin = extractor.fftBinIndices(sampleRate, spectrumLength);
+        m_filters = cbin.length - 2;
+        m_start = new int[m_filters];
+        m_center = new int[m_filters];
+        m_end = new int[m_filters];
+        m_weightOffsets = new int[m_filters + 1];
+        for (int k = 0; k < m_filters; k++) {
+            m_start[k] = cbin[k];
+            m_center[k] = cbin[k + 1];
+            m_end[k] = cbin[k + 2];
+            m_weightOffsets[k + 1] = m_weightOffsets[k]
+                    + Math.max(0, m_center[k] - m_start[k] + 1)
+                    + Math.max(0, m_end[k] - m_center[k]);
+        }
+        m_weights = new double[m_weightOffsets[m_filters]];
+        final double[] unit = new double[spectrumLength];
+        for (int bin = 0; bin < spectrumLength; bin++) {
+            unit[bin] = 1;
+            final double[] response = extractor.melFilter(unit, cbin);
+            for (int k = 0; k < m_filters; k++) {
+                final int index = getWeightIndex(k, bin);
+                if (index >= 0) {
+                    m_weights[index] = response[k];
+                }
+            }
+            unit[bin] = 0;
+        }
+        m_dct = new double[coefficients * m_filters];
+        final double[] filterUnit = new double[m_filters];
+        for (int j = 0; j < m_filters; j++) {
+            filterUnit[j] = 1;
+            final double[] response = extractor.cepCoefficients(filterUnit);
+            for (int i = 0; i < coefficients; i++) {
+                m_dct[i * m_filters + j] = response[i];
+            }
+            filterUnit[j] = 0;
+        }
+        m_scratch = new ThreadLocal<double[]>() {
+
+            @Override
+            protected double[] initialValue() {
+                return new double[m_filters];
+            }
+        };
+    }
+
+    /**
+     * @return the index of the weight of the given bin in the given filter,
+     * -1 if the bin is outside the band of the filter
+     */
+    private int getWeightIndex(final int filter, final int bin) {
+        if (bin < m_start[filter] || bin > m_end[filter]) {
+            return -1;
+        }
+        if (bin <= m_center[filter]) {
+            return m_weightOffsets[filter] + bin - m_start[filter];
+        }
+        return m_weightOffsets[filter] + Math.max(0, m_center[filter] - m_start[filter] + 1)
+                + bin - m_center[filter] - 1;
+    }
+
+    /**
+     * @param sampleRate the sample rate of the audio
+     * @param spectrumLength the length of the magnitude spectrum
+     * @param coefficients the number of coefficients
+     * @return the cached filter bank and DCT for the given parameters
+     */
+    public static MelCepstrum getInstance(final double sampleRate, final int spectrumLength,
+            final int coefficients) {
+        if (spectrumLength < 1) {
+            throw new IllegalArgumentException("The spectrum cannot be empty.");
+        }
+        if (coefficients < 1) {
+            throw new IllegalArgumentException("The number of coefficients must be positive.");
+        }
+        final Key key = new Key(sampleRate, spectrumLength, coefficients);
+        MelCepstrum cepstrum = INSTANCES.get(key);
+        if (cepstrum == null) {
+            cepstrum = new MelCepstrum(sampleRate, spectrumLength, coefficients);
+            final MelCepstrum existing = INSTANCES.putIfAbsent(key, cepstrum);
+            if (existing != null) {
+                cepstrum = existing;
+            }
+        }
+        return cepstrum;
+    }
+
+    /**
+     * @param sampleRate the sample rate of the audio
+     * @param spectrumLength the length of the magnitude spectrum
+     * @param coefficients the number of coefficients
+     * @return <code>true</code> if this instance has been created for the
+     * given parameters
+     */
+    public boolean isFor(final double sampleRate, final int spectrumLength,
+            final int coefficients) {
+        return m_sampleRate == sampleRate && m_spectrumLength == spectrumLength
+                && m_coefficients == coefficients;
+    }
+
+    /**
+     * @return the number of coefficients
+     */
+    public int getNumberOfCoefficients() {
+        return m_coefficients;
+    }
+
+    /**
+     * Computes the MFCC of the given magnitude spectrum, i.e. applies the
+     * filter bank, takes the logarithm of the energies and applies the DCT.
+     * @param spectrum the array containing the magnitude spectrum
+     * @param offset the index of the first bin of the spectrum
+     * @param cepstrum the array to write the coefficients into, starting at index 0
+     */
+    public void transform(final double[] spectrum, final int offset, final double[] cepstrum) {
+        final double[] energies = m_scratch.get();
+        for (int k = 0; k < m_filters; k++) {
+            int w = m_weightOffsets[k];
+            double rising = 0;
+            double falling = 0;
+            for (int bin = m_start[k]; bin <= m_center[k]; bin++) {
+                rising += m_weights[w++] * spectrum[offset + bin];
+            }
+            for (int bin = m_center[k] + 1; bin <= m_end[k]; bin++) {
+                falling += m_weights[w++] * spectrum[offset + bin];
+            }
+            final double energy = Math.log(rising + falling);
+            energies[k] = (energy < FLOOR) ? FLOOR : energy;
+        }
+        for (int i = 0; i < m_coefficients; i++) {
+            final int row = i * m_filters;
+            double sum = 0;
+            for (int j = 0; j < m_filters; j++) {
+                sum += energies[j] * m_dct[row + j];
+            }
+            cepstrum[i] = sum;
+        }
+    }
+
+    private static final class Key {
+
+        private final double m_sampleRate;
+        private final int m_spectrumLength;
+        private final int m_coefficients;
+
+        private Key(final double sampleRate, final int spectrumLength, final int coefficients) {
+            m_sampleRate = sampleRate;
+            m_spectrumLength = spectrumLength;
+            m_coefficients = coefficients;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = Double.hashCode(m_sampleRate);
+            result = prime * result + m_spectrumLength;
+            result = prime * result + m_coefficients;
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return Double.compare(m_sampleRate, other.m_sampleRate) == 0
+                    && m_spectrumLength == other.m_spectrumLength
+                    && m_coefficients == other.m_coefficients;
+        }
+    }
+
+}
@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 import jAudioFeatureExtractor.AudioFeatures.PeakFinder;
 
 /**
@@ -72,12 +70,14 @@ public class PeakDetection extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples,
-			final double[][] additionalFeatureValues) throws Exception {
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
+			throws Exception {
 		final PeakFinder peakFinder = new PeakFinder();
 		peakFinder.setPeakThreshold(getParameterValue(PARAMETER_NAME).intValue());
-		return peakFinder.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-				samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+		final double[] values = peakFinder.extractFeature(toArray(samples, offset, length),
+				sampleRate, toArrays(dependencies));
+		result.set(values, 0, values.length);
 	}
 
 	/**
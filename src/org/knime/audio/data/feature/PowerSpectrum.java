@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 import jAudioFeatureExtractor.GeneralTools.Statistics;
 
 /**
@@ -69,12 +67,35 @@ public class PowerSpectrum extends FeatureExtractor{
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        return new jAudioFeatureExtractor.AudioFeatures.PowerSpectrum()
-                .extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-                    samples.getAudioFormat().getSampleRate(),
-                    additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        final FFT fft = FFT.getInstance(FFT.getPaddedSize(length));
+        fft.getPowerSpectrum(samples, offset, length, result.allocate(fft.getSize() / 2));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean extractsBatches() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void extractFeatures(final double[] samples, final int offset,
+            final int length, final double sampleRate, final FeatureValues[] results)
+            throws Exception {
+        final FFT fft = FFT.getInstance(FFT.getPaddedSize(length));
+        final double[][] spectra = new double[results.length][];
+        for (int i = 0; i < results.length; i++) {
+            spectra[i] = results[i].allocate(fft.getSize() / 2);
+        }
+        fft.getPowerSpectra(samples, offset, length, spectra);
     }
 
     /**
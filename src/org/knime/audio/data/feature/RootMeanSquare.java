@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 import jAudioFeatureExtractor.AudioFeatures.RMS;
 
 /**
@@ -69,11 +67,32 @@ public class RootMeanSquare extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        final RMS rms = new RMS();
-        return rms.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        double sum = 0;
+        for (int i = offset; i < (offset + length); i++) {
+            sum += samples[i] * samples[i];
+        }
+        result.allocate(1)[0] = Math.sqrt(sum / length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean usesTimeDomainStatistics() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void extractFeature(final TimeDomainStatistics statistics,
+            final FeatureValues result) throws Exception {
+        result.allocate(1)[0] = statistics.getRootMeanSquare();
     }
 
     /**
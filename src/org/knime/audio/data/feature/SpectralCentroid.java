@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -67,12 +65,11 @@ public class SpectralCentroid extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        return new jAudioFeatureExtractor.AudioFeatures.SpectralCentroid()
-                .extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-                    samples.getAudioFormat().getSampleRate(),
-                    additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        result.allocate(1)[0] = dependencies[0].getStatistics().getCentroid();
     }
 
     /**
@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, Berlin, KNIME.com
@@ -64,11 +62,17 @@ public class SpectralFlux extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new jAudioFeatureExtractor.AudioFeatures.SpectralFlux().extractFeature(
-				samples.getSamplesMixedDownIntoOneChannel(), samples.getAudioFormat().getSampleRate(),
-				additionalFeatureValues);
+		final FeatureValues current = dependencies[0];
+		final FeatureValues previous = dependencies[1];
+		double sum = 0.0;
+		for (int bin = 0; bin < current.getLength(); bin++) {
+			final double difference = current.get(bin) - previous.get(bin);
+			sum += difference * difference;
+		}
+		result.allocate(1)[0] = sum;
 	}
 
 	/**
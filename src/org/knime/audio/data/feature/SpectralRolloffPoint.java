@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -72,13 +70,13 @@ public class SpectralRolloffPoint extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        final jAudioFeatureExtractor.AudioFeatures.SpectralRolloffPoint rollOff =
-                new jAudioFeatureExtractor.AudioFeatures.SpectralRolloffPoint();
-        rollOff.setCutoff(getParameterValue(PARAMETER_NAME).doubleValue());
-        return rollOff.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        final SpectralStatistics pow = dependencies[0].getStatistics();
+        final int point = pow.getRolloffBin(getParameterValue(PARAMETER_NAME).doubleValue());
+        result.allocate(1)[0] = ((double)point) / pow.getLength();
     }
 
     /**
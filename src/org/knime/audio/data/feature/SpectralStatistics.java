@@ -0,0 +1,247 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+/**
+ * The statistics of a spectrum that several spectral features are derived
+ * from. The statistics are computed at most once per spectrum and window, no
+ * matter how many features use them:
+ * <ul>
+ * <li>the total, the weighted total for the centroid, the bin with the
+ * maximal value and the cumulative totals for the rolloff point in a single
+ * pass,</li>
+ * <li>the standard deviation in a second pass once the mean is known,</li>
+ * <li>the compactness with a single logarithm per bin.</li>
+ * </ul>
+ * The statistics belong to the {@link FeatureValues} of the spectrum and are
+ * invalidated as soon as the values change, see
+ * {@link FeatureValues#getStatistics()}. The computed values are exactly the
+ * same as the ones of the separate computations.
+ *
+ * @author agent
+ */
+final class SpectralStatistics {
+
+    private final FeatureValues m_spectrum;
+
+    private boolean m_hasTotals;
+    private double m_total;
+    private double m_weightedTotal;
+    private int m_maxBin;
+    /* The total of the bins up to and including each bin */
+    private double[] m_cumulativeTotals = new double[0];
+
+    private boolean m_hasStandardDeviation;
+    private double m_standardDeviation;
+
+    private boolean m_hasCompactness;
+    private double m_compactness;
+
+    /**
+     * @param spectrum the spectrum
+     */
+    SpectralStatistics(final FeatureValues spectrum) {
+        m_spectrum = spectrum;
+    }
+
+    /**
+     * Invalidates the statistics, e.g. because the spectrum has changed.
+     */
+    void invalidate() {
+        m_hasTotals = false;
+        m_hasStandardDeviation = false;
+        m_hasCompactness = false;
+    }
+
+    private void computeTotals() {
+        if (m_hasTotals) {
+            return;
+        }
+        final double[] values = m_spectrum.getValues();
+        final int offset = m_spectrum.getOffset();
+        final int length = m_spectrum.getLength();
+        if (m_cumulativeTotals.length < length) {
+            m_cumulativeTotals = new double[length];
+        }
+        double total = 0.0;
+        double weightedTotal = 0.0;
+        int maxBin = 0;
+        double max = (length > 0) ? values[offset] : 0.0;
+        for (int bin = 0; bin < length; bin++) {
+            final double value = values[offset + bin];
+            weightedTotal += bin * value;
+            total += value;
+            m_cumulativeTotals[bin] = total;
+            if (value > max) {
+                max = value;
+                maxBin = bin;
+            }
+        }
+        m_total = total;
+        m_weightedTotal = weightedTotal;
+        m_maxBin = maxBin;
+        m_hasTotals = true;
+    }
+
+    /**
+     * @return the number of bins
+     */
+    int getLength() {
+        return m_spectrum.getLength();
+    }
+
+    /**
+     * @return the sum of all bins
+     */
+    double getTotal() {
+        computeTotals();
+        return m_total;
+    }
+
+    /**
+     * @return the centroid of the spectrum in bins, 0 if the spectrum is zero
+     */
+    double getCentroid() {
+        computeTotals();
+        return (m_total != 0.0) ? (m_weightedTotal / m_total) : 0.0;
+    }
+
+    /**
+     * @return the first bin with the maximal value
+     */
+    int getMaxBin() {
+        computeTotals();
+        return m_maxBin;
+    }
+
+    /**
+     * @param fraction the fraction of the total
+     * @return the first bin up to which the bins sum up to at least the given
+     * fraction of the total, 0 if there isn't any
+     */
+    int getRolloffBin(final double fraction) {
+        computeTotals();
+        final double threshold = m_total * fraction;
+        final int length = m_spectrum.getLength();
+        /* The cumulative totals of a spectrum, which isn't negative, don't decrease */
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (m_cumulativeTotals[mid] >= threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return (low < length) ? low : 0;
+    }
+
+    /**
+     * @return the bias corrected standard deviation of the bins, 0 for less
+     * than two bins
+     */
+    double getStandardDeviation() {
+        if (m_hasStandardDeviation) {
+            return m_standardDeviation;
+        }
+        final int length = m_spectrum.getLength();
+        double standardDeviation = 0.0;
+        if (length > 1) {
+            final double[] values = m_spectrum.getValues();
+            final int offset = m_spectrum.getOffset();
+            final double average = getTotal() / length;
+            double sum = 0.0;
+            for (int bin = 0; bin < length; bin++) {
+                final double difference = values[offset + bin] - average;
+                sum += difference * difference;
+            }
+            standardDeviation = Math.sqrt(sum / (length - 1));
+        }
+        m_standardDeviation = standardDeviation;
+        m_hasStandardDeviation = true;
+        return standardDeviation;
+    }
+
+    /**
+     * @return the compactness, i.e. the sum of the absolute differences of
+     * the logarithm of each bin to the average logarithm of it and its
+     * neighbors, only for positive bins
+     */
+    double getCompactness() {
+        if (m_hasCompactness) {
+            return m_compactness;
+        }
+        final double[] values = m_spectrum.getValues();
+        final int offset = m_spectrum.getOffset();
+        final int length = m_spectrum.getLength();
+        double compactness = 0.0;
+        if (length > 2) {
+            /* The logarithm of each bin is only computed once, NaN if the bin isn't positive */
+            double previous = log(values[offset]);
+            double current = log(values[offset + 1]);
+            for (int i = 1; i < (length - 1); i++) {
+                final double next = log(values[offset + i + 1]);
+                if (!Double.isNaN(previous) && !Double.isNaN(current) && !Double.isNaN(next)) {
+                    compactness += Math.abs((20.0 * current) - ((20.0 * (previous + current + next)) / 3.0));
+                }
+                previous = current;
+                current = next;
+            }
+        }
+        m_compactness = compactness;
+        m_hasCompactness = true;
+        return compactness;
+    }
+
+    private static double log(final double value) {
+        return (value > 0.0) ? Math.log(value) : Double.NaN;
+    }
+
+}
@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, Berlin, KNIME.com
@@ -64,11 +62,10 @@ public class SpectralVariability extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new jAudioFeatureExtractor.AudioFeatures.SpectralVariability().extractFeature(
-				samples.getSamplesMixedDownIntoOneChannel(), samples.getAudioFormat().getSampleRate(),
-				additionalFeatureValues);
+		result.allocate(1)[0] = dependencies[0].getStatistics().getStandardDeviation();
 	}
 
 	/**
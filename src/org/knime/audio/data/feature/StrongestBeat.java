@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, Berlin, KNIME.com
@@ -64,11 +62,19 @@ public class StrongestBeat extends FeatureExtractor {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public double[] extractFeature(final AudioSamples samples, final double[][] additionalFeatureValues)
+	public void extractFeature(final double[] samples, final int offset, final int length,
+			final double sampleRate, final FeatureValues[] dependencies, final FeatureValues result)
 			throws Exception {
-		return new jAudioFeatureExtractor.AudioFeatures.StrongestBeat().extractFeature(
-				samples.getSamplesMixedDownIntoOneChannel(), samples.getAudioFormat().getSampleRate(),
-				additionalFeatureValues);
+		final FeatureValues histogram = dependencies[0];
+		double max = 0.0;
+		int highestBin = 0;
+		for (int bin = 0; bin < histogram.getLength(); bin++) {
+			if (histogram.get(bin) > max) {
+				max = histogram.get(bin);
+				highestBin = bin;
+			}
+		}
+		result.allocate(1)[0] = dependencies[1].get(highestBin);
 	}
 
 	/**
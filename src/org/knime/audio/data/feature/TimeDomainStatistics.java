@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+/**
+ * The statistics of the samples of a chunk that several time domain features
+ * are derived from, computed together in a single sweep over the samples.
+ * Extractors that derive their feature from the statistics return
+ * <code>true</code> in {@link FeatureExtractor#usesTimeDomainStatistics()},
+ * so the statistics only need to be computed once per chunk for all of them.
+ *
+ * @author agent
+ */
+public final class TimeDomainStatistics {
+
+    private int m_length;
+    private double m_sumOfSquares;
+    private long m_zeroCrossings;
+
+    /**
+     * Computes the statistics of the given samples.
+     * @param samples the array containing the mono samples of the chunk
+     * @param offset the index of the first sample of the chunk
+     * @param length the number of samples of the chunk
+     */
+    public void compute(final double[] samples, final int offset, final int length) {
+        double sumOfSquares = 0;
+        long zeroCrossings = 0;
+        final int end = offset + length;
+        if (length > 0) {
+            double current = samples[offset];
+            sumOfSquares += current * current;
+            for (int i = offset + 1; i < end; i++) {
+                final double next = samples[i];
+                sumOfSquares += next * next;
+                if (((current > 0.0) && (next < 0.0)) || ((current < 0.0) && (next > 0.0))
+                        || ((current == 0.0) && (next != 0.0))) {
+                    zeroCrossings++;
+                }
+                current = next;
+            }
+        }
+        m_length = length;
+        m_sumOfSquares = sumOfSquares;
+        m_zeroCrossings = zeroCrossings;
+    }
+
+    /**
+     * @return the number of samples of the chunk
+     */
+    public int getLength() {
+        return m_length;
+    }
+
+    /**
+     * @return the sum of the squared samples
+     */
+    public double getSumOfSquares() {
+        return m_sumOfSquares;
+    }
+
+    /**
+     * @return the root mean square of the samples
+     */
+    public double getRootMeanSquare() {
+        return Math.sqrt(m_sumOfSquares / m_length);
+    }
+
+    /**
+     * @return the number of times the signal crosses zero, i.e. the number of
+     * pairs of consecutive samples that change the sign or leave zero
+     */
+    public long getZeroCrossings() {
+        return m_zeroCrossings;
+    }
+
+}
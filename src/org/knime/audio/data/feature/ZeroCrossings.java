@@ -48,8 +48,6 @@
  */
 package org.knime.audio.data.feature;
 
-import org.knime.audio.data.AudioSamples;
-
 /**
  *
  * @author Budi Yanto, KNIME.com
@@ -67,12 +65,37 @@ public class ZeroCrossings extends FeatureExtractor {
      * {@inheritDoc}
      */
     @Override
-    public double[] extractFeature(final AudioSamples samples,
-            final double[][] additionalFeatureValues) throws Exception {
-        final jAudioFeatureExtractor.AudioFeatures.ZeroCrossings zc =
-                new jAudioFeatureExtractor.AudioFeatures.ZeroCrossings();
-        return zc.extractFeature(samples.getSamplesMixedDownIntoOneChannel(),
-            samples.getAudioFormat().getSampleRate(), additionalFeatureValues);
+    public void extractFeature(final double[] samples, final int offset,
+            final int length, final double sampleRate,
+            final FeatureValues[] dependencies, final FeatureValues result)
+            throws Exception {
+        long count = 0;
+        for (int i = offset; i < ((offset + length) - 1); i++) {
+            final double current = samples[i];
+            final double next = samples[i + 1];
+            if (((current > 0.0) && (next < 0.0)) || ((current < 0.0) && (next > 0.0))
+                    || ((current == 0.0) && (next != 0.0))) {
+                count++;
+            }
+        }
+        result.allocate(1)[0] = count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean usesTimeDomainStatistics() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void extractFeature(final TimeDomainStatistics statistics,
+            final FeatureValues result) throws Exception {
+        result.allocate(1)[0] = statistics.getZeroCrossings();
     }
 
     /**
@@ -48,6 +48,7 @@
  */
 package org.knime.audio.data.feature.mpeg7;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +62,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
+import org.knime.audio.data.io.AudioSampleReader;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -419,6 +421,31 @@ public class MPEG7DocumentBuilder implements MsgListener {
 		build(createDoc);
 	}
 
+	/**
+	 * Encodes the samples of the given reader block by block, so that the audio
+	 * never has to be held in memory completely.
+	 * @param reader the reader to read the samples from
+	 * @param config the configuration of the encoder
+	 * @param createDoc <code>true</code> if the MPEG-7 document should be created
+	 * @throws ParserConfigurationException
+	 * @throws IOException
+	 */
+	public void encode(final AudioSampleReader reader, final Config config, final boolean createDoc)
+			throws ParserConfigurationException, IOException {
+		final Encoder encoder = new Encoder(reader.getAudioFormat().getSampleRate(), this, config);
+		final double[] buffer = new double[AudioSampleReader.DEFAULT_BLOCK_SIZE];
+		int read;
+		while ((read = reader.readMixedDown(buffer, 0, buffer.length)) > 0) {
+			final float[] audio = new float[read];
+			for (int i = 0; i < read; i++) {
+				audio[i] = (float) buffer[i];
+			}
+			encoder.put(audio);
+		}
+		encoder.flush();
+		build(createDoc);
+	}
+
 	private void build(final boolean createDoc) throws ParserConfigurationException {
 		Element audioSegment = null;
 		if (createDoc) {
@@ -0,0 +1,293 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioMetadata;
+import org.knime.audio.data.AudioSamples;
+import org.knime.audio.util.AudioDiskCache;
+import org.knime.audio.util.AudioSampleCache;
+import org.knime.audio.util.AudioUtils;
+
+import jAudioFeatureExtractor.jAudioTools.AudioMethods;
+
+/**
+ * Reads the samples of an audio file block by block instead of decoding the
+ * whole file at once, so the memory needed to read a file doesn't depend on
+ * its duration.
+ *
+ * The samples are scaled to the range of -1 to +1 in the same way as
+ * {@link AudioMethods#extractSampleValues(AudioInputStream)}, i.e. the values
+ * are identical to the ones returned by {@link AudioUtils#getSamples(Audio)}.
+ *
+ * @author agent
+ */
+public abstract class AudioSampleReader implements Closeable {
+
+    /** The default number of frames that are decoded at once */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * Opens the file of the given audio for reading. The
+     * {@link AudioSampleCache} is consulted first. If the samples aren't
+     * cached but fit into the cache, the file is decoded completely and the
+     * samples are put into the cache. Otherwise the file is streamed:
+     * uncompressed PCM WAV files are memory mapped, all other files are
+     * decoded using JavaSound.
+     * @param audio the audio to read
+     * @return a reader for the samples of the given audio
+     * @throws UnsupportedAudioFileException
+     * @throws IOException
+     */
+    public static AudioSampleReader open(final Audio audio)
+            throws UnsupportedAudioFileException, IOException {
+        final File file = audio.getFile();
+        final AudioSampleCache cache = AudioSampleCache.getInstance();
+        final AudioSamples cached = cache.get(file);
+        if (cached != null) {
+            return new AudioSamplesReader(cached);
+        }
+
+        final AudioSampleReader reader = openFile(file);
+        if (reader.getFrameLength() < 0 || reader.getFrameLength() > Integer.MAX_VALUE
+                || !cache.fits(getDecodedSize(reader))) {
+            return reader;
+        }
+        final AudioSamples samples;
+        try {
+            samples = AudioUtils.readAudioSamples(reader);
+        } finally {
+            reader.close();
+        }
+        cache.put(file, samples);
+        return new AudioSamplesReader(samples);
+    }
+
+    /**
+     * Opens the file of the given audio for reading the frames from the start
+     * frame (inclusive) to the end frame (exclusive). The samples are taken
+     * from the {@link AudioSampleCache} if they are cached, otherwise the file
+     * is streamed starting at the start frame without decoding the whole file.
+     * @param audio the audio to read
+     * @param startFrame the first frame to read
+     * @param endFrame the frame after the last frame to read, {@link Long#MAX_VALUE}
+     * to read until the end of the audio
+     * @return a reader for the given range of the audio
+     * @throws UnsupportedAudioFileException
+     * @throws IOException
+     * @see AudioMetadata#getFramePosition(double)
+     */
+    public static AudioSampleReader open(final Audio audio, final long startFrame,
+            final long endFrame) throws UnsupportedAudioFileException, IOException {
+        if (startFrame <= 0 && endFrame == Long.MAX_VALUE) {
+            return open(audio);
+        }
+        final AudioSamples cached = AudioSampleCache.getInstance().get(audio.getFile());
+        final AudioSampleReader reader = (cached != null) ? new AudioSamplesReader(cached)
+            : openFile(audio.getFile());
+        try {
+            return new RangeSampleReader(reader, Math.max(0, startFrame), endFrame);
+        } catch (final IOException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens the given file for streaming, without consulting the
+     * {@link AudioSampleCache}. Uncompressed PCM WAV files are memory mapped.
+     * All other files are decoded using JavaSound, if the
+     * {@link AudioDiskCache} is enabled the decoded samples are stored there
+     * and the stored samples are memory mapped instead.
+     * @param file the file to read
+     * @return a reader for the samples of the given file
+     * @throws UnsupportedAudioFileException
+     * @throws IOException
+     */
+    public static AudioSampleReader openFile(final File file)
+            throws UnsupportedAudioFileException, IOException {
+        final WavHeader header = WavHeader.read(file);
+        if (MappedWavSampleReader.isSupported(header)) {
+            return new MappedWavSampleReader(file, header);
+        }
+        final AudioDiskCache diskCache = AudioDiskCache.getInstance();
+        if (diskCache.isEnabled()) {
+            final AudioSampleReader reader = openDecoded(diskCache, file);
+            if (reader != null) {
+                return reader;
+            }
+        }
+        return new JavaSoundSampleReader(AudioSystem.getAudioInputStream(file));
+    }
+
+    /**
+     * @return a reader for the decoding of the given file stored in the given
+     * cache, or <code>null</code> if the file cannot be cached
+     */
+    private static AudioSampleReader openDecoded(final AudioDiskCache diskCache, final File file)
+            throws UnsupportedAudioFileException, IOException {
+        File decoded = diskCache.get(file);
+        if (decoded == null) {
+            try (final AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+                decoded = diskCache.put(file, stream);
+            }
+        }
+        if (decoded == null) {
+            return null;
+        }
+        final WavHeader header = WavHeader.read(decoded);
+        return MappedWavSampleReader.isSupported(header) ? new MappedWavSampleReader(decoded, header)
+            : null;
+    }
+
+    private static long getDecodedSize(final AudioSampleReader reader) {
+        final AudioFormat format = reader.getAudioFormat();
+        final int bytesPerSample = AudioSamples.getLosslessBacking(format.getSampleSizeInBits(),
+            AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding())).getBytesPerSample();
+        return reader.getFrameLength() * reader.getNumberOfChannels() * bytesPerSample;
+    }
+
+    /**
+     * @return the format of the decoded samples
+     */
+    public abstract AudioFormat getAudioFormat();
+
+    /**
+     * @return the number of channels
+     */
+    public int getNumberOfChannels() {
+        return getAudioFormat().getChannels();
+    }
+
+    /**
+     * @return the number of frames that have been read so far
+     */
+    public abstract long getFramePosition();
+
+    /**
+     * @return the total number of frames, or {@link AudioSystem#NOT_SPECIFIED}
+     * if it is unknown
+     */
+    public abstract long getFrameLength();
+
+    /**
+     * Reads the next frames into the given buffer. The first indices of the
+     * buffer indicate the channel and the second indices indicate the samples.
+     * @param buffer the buffer to write the samples into
+     * @param offset the position in the buffer to start writing
+     * @param length the maximal number of frames to read
+     * @return the number of frames actually read, or -1 if the end of the
+     * audio has been reached
+     * @throws IOException
+     */
+    public abstract int read(final double[][] buffer, final int offset, final int length)
+            throws IOException;
+
+    /**
+     * Reads the next frames into the given buffer without scaling them, i.e.
+     * the raw integer values of the samples are returned. This is only
+     * supported if {@link #supportsShortSamples()} returns <code>true</code>.
+     * @param buffer the buffer to write the samples into. The first indices
+     * indicate the channel and the second indices indicate the samples.
+     * @param offset the position in the buffer to start writing
+     * @param length the maximal number of frames to read
+     * @return the number of frames actually read, or -1 if the end of the
+     * audio has been reached
+     * @throws IOException
+     * @throws IllegalStateException if the samples don't fit into 16-bit
+     * integers
+     * @see #getSampleScale()
+     */
+    public abstract int read(final short[][] buffer, final int offset, final int length)
+            throws IOException;
+
+    /**
+     * @return <code>true</code> if the raw samples fit into 16-bit integers
+     * and can be read with {@link #read(short[][], int, int)}
+     */
+    public abstract boolean supportsShortSamples();
+
+    /**
+     * @return the value the raw integer samples are divided by to get samples
+     * in the range of -1 to +1
+     */
+    public double getSampleScale() {
+        return AudioUtils.getMaximumSampleValue(getAudioFormat().getSampleSizeInBits());
+    }
+
+    /**
+     * Reads the next frames and mixes them down into one channel.
+     * @param buffer the buffer to write the mixed down samples into
+     * @param offset the position in the buffer to start writing
+     * @param length the maximal number of frames to read
+     * @return the number of frames actually read, or -1 if the end of the
+     * audio has been reached
+     * @throws IOException
+     */
+    public abstract int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException;
+
+    /**
+     * Skips the given number of frames.
+     * @param frames the number of frames to skip
+     * @return the number of frames actually skipped
+     * @throws IOException
+     */
+    public abstract long skip(final long frames) throws IOException;
+
+}
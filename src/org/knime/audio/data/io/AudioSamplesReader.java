@@ -0,0 +1,206 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.knime.audio.data.AudioSamples;
+
+/**
+ * An {@link AudioSampleReader} that reads samples which have already been
+ * decoded, e.g. the samples held by the {@link org.knime.audio.util.AudioSampleCache}.
+ *
+ * @author agent
+ */
+public class AudioSamplesReader extends AudioSampleReader {
+
+    private final AudioSamples m_samples;
+    private int m_position;
+
+    /**
+     * @param samples the decoded samples to read
+     */
+    public AudioSamplesReader(final AudioSamples samples) {
+        if (samples == null) {
+            throw new IllegalArgumentException("The samples cannot be null.");
+        }
+        m_samples = samples;
+    }
+
+    /**
+     * @return the decoded samples this reader reads from
+     */
+    public AudioSamples getAudioSamples() {
+        return m_samples;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioFormat getAudioFormat() {
+        return m_samples.getAudioFormat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfChannels() {
+        return m_samples.getNumberOfChannels();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFramePosition() {
+        return m_position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFrameLength() {
+        return m_samples.getNumberOfSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final double[][] buffer, final int offset, final int length)
+            throws IOException {
+        final int frames = nextFrames(length);
+        if (frames > 0) {
+            for (int ch = 0; ch < m_samples.getNumberOfChannels(); ch++) {
+                m_samples.getSamples(ch, m_position, frames, buffer[ch], offset);
+            }
+            m_position += frames;
+        }
+        return frames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final short[][] buffer, final int offset, final int length)
+            throws IOException {
+        final int frames = nextFrames(length);
+        if (frames > 0) {
+            for (int ch = 0; ch < m_samples.getNumberOfChannels(); ch++) {
+                m_samples.getRawSamples(ch, m_position, frames, buffer[ch], offset);
+            }
+            m_position += frames;
+        }
+        return frames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsShortSamples() {
+        return m_samples.getBacking() == AudioSamples.Backing.INT16;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSampleScale() {
+        return m_samples.getScale();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException {
+        final int frames = nextFrames(length);
+        if (frames > 0) {
+            m_samples.getSamplesMixedDownIntoOneChannel(m_position, frames, buffer, offset);
+            m_position += frames;
+        }
+        return frames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long frames) throws IOException {
+        final int skipped = (int)Math.max(0,
+            Math.min(frames, m_samples.getNumberOfSamples() - m_position));
+        m_position += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        // nothing to release, the samples are held in memory
+    }
+
+    private int nextFrames(final int length) {
+        final int available = m_samples.getNumberOfSamples() - m_position;
+        if (available <= 0 && length > 0) {
+            return -1;
+        }
+        return Math.min(length, available);
+    }
+
+}
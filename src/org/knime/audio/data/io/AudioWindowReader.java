@@ -0,0 +1,232 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.knime.audio.data.AudioSamplesWindow;
+
+/**
+ * Iterates over the mixed down samples of an audio stream in windows of a fixed
+ * size. Consecutive windows overlap by the given number of samples. The last
+ * window contains the rest of the samples and is padded with zeros.
+ *
+ * Only the current window is held in memory, the underlying
+ * {@link AudioSampleReader} is read on demand. Hence, the memory needed doesn't
+ * depend on the duration of the audio.
+ *
+ * @author agent
+ */
+public class AudioWindowReader implements Closeable {
+
+    private final AudioSampleReader m_reader;
+    private final int m_windowSize;
+    private final int m_overlap;
+    private final double[] m_window;
+    private final AudioSamplesWindow m_samples;
+    private int m_validLength;
+    private long m_windowStart;
+    private long m_windowIndex;
+    private boolean m_finished;
+
+    /**
+     * @param reader the reader to read the samples from
+     * @param windowSize the number of samples per window
+     * @param overlap the number of samples consecutive windows share
+     */
+    public AudioWindowReader(final AudioSampleReader reader, final int windowSize,
+            final int overlap) {
+        if (reader == null) {
+            throw new IllegalArgumentException("The sample reader cannot be null.");
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be positive.");
+        }
+        if (overlap < 0 || overlap >= windowSize) {
+            throw new IllegalArgumentException(
+                "The overlap must be between 0 and the window size (exclusive).");
+        }
+        m_reader = reader;
+        m_windowSize = windowSize;
+        m_overlap = overlap;
+        m_window = new double[windowSize];
+        m_samples = new AudioSamplesWindow(m_window, reader.getAudioFormat());
+        m_windowStart = -1;
+        m_windowIndex = -1;
+    }
+
+    /**
+     * Computes the number of windows a reader with the given parameters
+     * returns for an audio with the given number of frames.
+     * @param frameLength the number of frames of the audio
+     * @param windowSize the number of samples per window
+     * @param overlap the number of samples consecutive windows share
+     * @return the number of windows
+     */
+    public static long getNumberOfWindows(final long frameLength, final int windowSize,
+            final int overlap) {
+        if (frameLength <= 0) {
+            return 0;
+        }
+        if (frameLength <= windowSize) {
+            return 1;
+        }
+        final long hop = windowSize - overlap;
+        return 1 + (frameLength - windowSize + hop - 1) / hop;
+    }
+
+    /**
+     * Moves to the next window.
+     * @return <code>true</code> if there is another window, otherwise <code>false</code>
+     * @throws IOException
+     */
+    public boolean next() throws IOException {
+        if (m_finished) {
+            return false;
+        }
+        final int keep;
+        if (m_windowIndex < 0) {
+            keep = 0;
+        } else if (m_validLength < m_windowSize) {
+            /* The previous window already contained the rest of the samples */
+            m_finished = true;
+            return false;
+        } else {
+            keep = m_overlap;
+            System.arraycopy(m_window, m_windowSize - keep, m_window, 0, keep);
+        }
+
+        int filled = keep;
+        while (filled < m_windowSize) {
+            final int read = m_reader.readMixedDown(m_window, filled, m_windowSize - filled);
+            if (read < 0) {
+                break;
+            }
+            filled += read;
+        }
+
+        if (filled == keep) {
+            /* No new samples available */
+            m_finished = true;
+            return false;
+        }
+
+        for (int i = filled; i < m_windowSize; i++) {
+            m_window[i] = 0;
+        }
+        m_windowStart = (m_windowIndex < 0) ? 0 : m_windowStart + m_windowSize - m_overlap;
+        m_windowIndex++;
+        m_validLength = filled;
+        return true;
+    }
+
+    /**
+     * @return the samples of the current window. The array is reused for the
+     * following windows, hence it must not be stored by the caller.
+     */
+    public double[] getWindow() {
+        return m_window;
+    }
+
+    /**
+     * @return a view of the current window. Like the window array, the view is
+     * reused for the following windows.
+     */
+    public AudioSamplesWindow getAudioSamples() {
+        return m_samples;
+    }
+
+    /**
+     * @return the number of samples in the current window that have been read
+     * from the audio, the rest of the window is filled with zeros
+     */
+    public int getValidLength() {
+        return m_validLength;
+    }
+
+    /**
+     * @return the position of the first sample of the current window
+     */
+    public long getWindowStart() {
+        return m_windowStart;
+    }
+
+    /**
+     * @return the index of the current window
+     */
+    public long getWindowIndex() {
+        return m_windowIndex;
+    }
+
+    /**
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return m_windowSize;
+    }
+
+    /**
+     * @return the format of the underlying audio
+     */
+    public AudioFormat getAudioFormat() {
+        return m_reader.getAudioFormat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_reader.close();
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+import jAudioFeatureExtractor.jAudioTools.AudioMethods;
+
+/**
+ * An {@link AudioSampleReader} that decodes the samples of any format supported
+ * by JavaSound. PCM streams that a {@link SampleConverter} can handle are read
+ * as they are, all other streams are converted with
+ * {@link AudioMethods#getConvertedAudioStream(AudioInputStream)} first. The
+ * stream is decoded block by block, only one block of raw bytes is held in
+ * memory.
+ *
+ * @author agent
+ */
+public class JavaSoundSampleReader extends AudioSampleReader {
+
+    private final AudioInputStream m_originalStream;
+    private final AudioInputStream m_stream;
+    private final AudioFormat m_audioFormat;
+    private final SampleConverter m_converter;
+    private final int m_frameSize;
+    private final byte[] m_buffer;
+    private final ByteBuffer m_byteBuffer;
+    private int m_bufferPosition;
+    private int m_bufferLength;
+    private long m_framePosition;
+    private boolean m_endOfStream;
+
+    /**
+     * @param stream the stream to read the samples from
+     */
+    public JavaSoundSampleReader(final AudioInputStream stream) {
+        this(stream, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param stream the stream to read the samples from
+     * @param blockSize the number of frames that are decoded at once
+     */
+    public JavaSoundSampleReader(final AudioInputStream stream, final int blockSize) {
+        if (stream == null) {
+            throw new IllegalArgumentException("The input stream cannot be null.");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be positive.");
+        }
+        m_originalStream = stream;
+        m_stream = getDecodedStream(stream);
+        m_audioFormat = m_stream.getFormat();
+        if (!SampleConverter.isSupported(m_audioFormat)) {
+            throw new IllegalArgumentException("Unsupported audio format: " + m_audioFormat);
+        }
+        m_converter = SampleConverter.create(m_audioFormat);
+        m_frameSize = m_converter.getFrameSize();
+        m_buffer = new byte[blockSize * m_frameSize];
+        m_byteBuffer = ByteBuffer.wrap(m_buffer);
+    }
+
+    /**
+     * Returns a stream of PCM samples that a {@link SampleConverter} can
+     * handle. The given stream is returned if it already has such a format,
+     * otherwise it is converted with
+     * {@link AudioMethods#getConvertedAudioStream(AudioInputStream)}.
+     * @param stream the stream to decode
+     * @return the stream of decoded PCM samples
+     */
+    public static AudioInputStream getDecodedStream(final AudioInputStream stream) {
+        return SampleConverter.isSupported(stream.getFormat()) ? stream
+            : AudioMethods.getConvertedAudioStream(stream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioFormat getAudioFormat() {
+        return m_audioFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFramePosition() {
+        return m_framePosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFrameLength() {
+        return m_stream.getFrameLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final double[][] buffer, final int offset, final int length)
+            throws IOException {
+        int total = 0;
+        while (total < length && fillBuffer()) {
+            final int frames = nextFrames(length - total);
+            m_converter.convert(m_byteBuffer, m_bufferPosition, buffer, offset + total, frames);
+            m_bufferPosition += frames * m_frameSize;
+            total += frames;
+        }
+        m_framePosition += total;
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final short[][] buffer, final int offset, final int length)
+            throws IOException {
+        if (!supportsShortSamples()) {
+            throw new IllegalStateException("The samples don't fit into 16-bit integers.");
+        }
+        int total = 0;
+        while (total < length && fillBuffer()) {
+            final int frames = nextFrames(length - total);
+            m_converter.convert(m_byteBuffer, m_bufferPosition, buffer, offset + total, frames);
+            m_bufferPosition += frames * m_frameSize;
+            total += frames;
+        }
+        m_framePosition += total;
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsShortSamples() {
+        return m_converter.supportsShortSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException {
+        int total = 0;
+        while (total < length && fillBuffer()) {
+            final int frames = nextFrames(length - total);
+            m_converter.convertMixedDown(m_byteBuffer, m_bufferPosition, buffer,
+                offset + total, frames);
+            m_bufferPosition += frames * m_frameSize;
+            total += frames;
+        }
+        m_framePosition += total;
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSampleScale() {
+        return m_converter.getScale();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long frames) throws IOException {
+        long skipped = 0;
+        /* Consume the frames that are already buffered first */
+        final int buffered = (m_bufferLength - m_bufferPosition) / m_frameSize;
+        final int fromBuffer = (int)Math.min(frames, buffered);
+        m_bufferPosition += fromBuffer * m_frameSize;
+        skipped += fromBuffer;
+        while (skipped < frames && !m_endOfStream) {
+            final long bytes = m_stream.skip((frames - skipped) * m_frameSize);
+            if (bytes <= 0) {
+                /* Some streams can't skip, read and discard instead */
+                if (!fillBuffer()) {
+                    break;
+                }
+                final int available = (m_bufferLength - m_bufferPosition) / m_frameSize;
+                final int toDiscard = (int)Math.min(frames - skipped, available);
+                m_bufferPosition += toDiscard * m_frameSize;
+                skipped += toDiscard;
+            } else {
+                skipped += bytes / m_frameSize;
+            }
+        }
+        m_framePosition += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            m_stream.close();
+        } finally {
+            m_originalStream.close();
+        }
+    }
+
+    /**
+     * Makes sure that at least one complete frame is available in the buffer.
+     * @return <code>false</code> if the end of the stream has been reached
+     */
+    private boolean fillBuffer() throws IOException {
+        if (m_bufferLength - m_bufferPosition >= m_frameSize) {
+            return true;
+        }
+        if (m_endOfStream) {
+            return false;
+        }
+        /* Move an incomplete frame to the beginning of the buffer */
+        final int rest = m_bufferLength - m_bufferPosition;
+        System.arraycopy(m_buffer, m_bufferPosition, m_buffer, 0, rest);
+        m_bufferPosition = 0;
+        m_bufferLength = rest;
+        while (m_bufferLength < m_frameSize) {
+            final int read = m_stream.read(m_buffer, m_bufferLength,
+                m_buffer.length - m_bufferLength);
+            if (read < 0) {
+                m_endOfStream = true;
+                return false;
+            }
+            m_bufferLength += read;
+        }
+        return true;
+    }
+
+    private int nextFrames(final int maxFrames) {
+        return Math.min(maxFrames, (m_bufferLength - m_bufferPosition) / m_frameSize);
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * An {@link AudioSampleReader} for uncompressed PCM WAV files. The sample data
+ * of the file is memory mapped and the samples are converted directly from the
+ * mapped buffer, without the intermediate stream copies and format conversions
+ * of JavaSound.
+ *
+ * @author agent
+ */
+public class MappedWavSampleReader extends AudioSampleReader {
+
+    /** The maximal number of bytes mapped at once */
+    private static final long MAX_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel m_channel;
+    private final WavHeader m_header;
+    private final AudioFormat m_audioFormat;
+    private final SampleConverter m_converter;
+    private final int m_frameSize;
+    private final long m_frameLength;
+    private final long m_framesPerMapping;
+    private MappedByteBuffer m_mapping;
+    private long m_mappingStart;
+    private long m_mappingFrames;
+    private long m_framePosition;
+
+    /**
+     * @param file the WAV file to read
+     * @param header the header of the file
+     * @throws IOException
+     */
+    public MappedWavSampleReader(final File file, final WavHeader header) throws IOException {
+        if (!isSupported(header)) {
+            throw new IllegalArgumentException("Unsupported WAV format.");
+        }
+        m_header = header;
+        m_audioFormat = header.getAudioFormat();
+        m_converter = SampleConverter.create(m_audioFormat);
+        m_frameSize = header.getBlockAlign();
+        m_frameLength = header.getFrameLength();
+        m_framesPerMapping = MAX_MAPPING_SIZE / m_frameSize;
+        m_channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * @param header the header of a WAV file
+     * @return <code>true</code> if the samples of the file can be read by this reader
+     */
+    public static boolean isSupported(final WavHeader header) {
+        if (header == null) {
+            return false;
+        }
+        final AudioFormat format = header.getAudioFormat();
+        return format != null && SampleConverter.isSupported(format);
+    }
+
+    /**
+     * @return the header of the file
+     */
+    public WavHeader getHeader() {
+        return m_header;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioFormat getAudioFormat() {
+        return m_audioFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFramePosition() {
+        return m_framePosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFrameLength() {
+        return m_frameLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final double[][] buffer, final int offset, final int length)
+            throws IOException {
+        int total = 0;
+        while (total < length && m_framePosition < m_frameLength) {
+            final int frames = mapFrames(length - total);
+            m_converter.convert(m_mapping, getMappingPosition(), buffer, offset + total, frames);
+            total += frames;
+            m_framePosition += frames;
+        }
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final short[][] buffer, final int offset, final int length)
+            throws IOException {
+        if (!supportsShortSamples()) {
+            throw new IllegalStateException("The samples don't fit into 16-bit integers.");
+        }
+        int total = 0;
+        while (total < length && m_framePosition < m_frameLength) {
+            final int frames = mapFrames(length - total);
+            m_converter.convert(m_mapping, getMappingPosition(), buffer, offset + total, frames);
+            total += frames;
+            m_framePosition += frames;
+        }
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsShortSamples() {
+        return m_converter.supportsShortSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException {
+        int total = 0;
+        while (total < length && m_framePosition < m_frameLength) {
+            final int frames = mapFrames(length - total);
+            m_converter.convertMixedDown(m_mapping, getMappingPosition(), buffer,
+                offset + total, frames);
+            total += frames;
+            m_framePosition += frames;
+        }
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * Reads the given number of frames starting at the given frame into the
+     * buffer without changing the position of this reader. The frames are
+     * mapped separately, hence this method can be called concurrently to
+     * decode different parts of the file.
+     * @param framePosition the first frame to read
+     * @param buffer the buffer to write the samples of each channel into
+     * @param offset the index in the buffer to write the first frame to
+     * @param length the number of frames to read, at most
+     * {@link #getMaxFramesPerRead()}
+     * @throws IOException
+     */
+    public void read(final long framePosition, final double[][] buffer, final int offset,
+            final int length) throws IOException {
+        m_converter.convert(map(framePosition, length), 0, buffer, offset, length);
+    }
+
+    /**
+     * Reads the given number of frames starting at the given frame into the
+     * buffer without changing the position of this reader, see
+     * {@link #read(long, double[][], int, int)}.
+     * @param framePosition the first frame to read
+     * @param buffer the buffer to write the samples of each channel into
+     * @param offset the index in the buffer to write the first frame to
+     * @param length the number of frames to read, at most
+     * {@link #getMaxFramesPerRead()}
+     * @throws IOException
+     */
+    public void read(final long framePosition, final short[][] buffer, final int offset,
+            final int length) throws IOException {
+        m_converter.convert(map(framePosition, length), 0, buffer, offset, length);
+    }
+
+    /**
+     * @return the maximal number of frames that can be read at once with the
+     * position based read methods
+     */
+    public int getMaxFramesPerRead() {
+        return (int)Math.min(Integer.MAX_VALUE, m_framesPerMapping);
+    }
+
+    private MappedByteBuffer map(final long framePosition, final int length) throws IOException {
+        if (framePosition < 0 || length < 0 || length > m_framesPerMapping
+                || framePosition + length > m_frameLength) {
+            throw new IllegalArgumentException("Invalid frame range [" + framePosition + ", "
+                    + (framePosition + length) + ").");
+        }
+        return m_channel.map(MapMode.READ_ONLY,
+            m_header.getDataOffset() + framePosition * m_frameSize, (long)length * m_frameSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSampleScale() {
+        return m_converter.getScale();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long frames) throws IOException {
+        final long skipped = Math.max(0, Math.min(frames, m_frameLength - m_framePosition));
+        m_framePosition += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_mapping = null;
+        m_channel.close();
+    }
+
+    private int getMappingPosition() {
+        return (int)((m_framePosition - m_mappingStart) * m_frameSize);
+    }
+
+    /**
+     * Makes sure that the current frame position is mapped.
+     * @param maxFrames the maximal number of frames that are needed
+     * @return the number of frames that can be read from the current mapping
+     */
+    private int mapFrames(final int maxFrames) throws IOException {
+        if (m_mapping == null || m_framePosition < m_mappingStart
+                || m_framePosition >= m_mappingStart + m_mappingFrames) {
+            m_mappingStart = m_framePosition;
+            m_mappingFrames = Math.min(m_framesPerMapping, m_frameLength - m_framePosition);
+            m_mapping = m_channel.map(MapMode.READ_ONLY,
+                m_header.getDataOffset() + m_mappingStart * m_frameSize,
+                m_mappingFrames * m_frameSize);
+        }
+        return (int)Math.min(maxFrames, m_mappingStart + m_mappingFrames - m_framePosition);
+    }
+
+}
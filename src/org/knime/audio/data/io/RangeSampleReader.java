@@ -0,0 +1,210 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * An {@link AudioSampleReader} that only returns the frames of another reader
+ * within the range from a start frame (inclusive) to an end frame
+ * (exclusive). The frames before the start are skipped when the reader is
+ * created, i.e. memory mapped files seek directly to the start and all other
+ * files skip forward as fast as the decoder allows.
+ *
+ * @author agent
+ */
+public class RangeSampleReader extends AudioSampleReader {
+
+    private final AudioSampleReader m_source;
+    private final long m_frameLength;
+    private final long m_endFrame;
+    private long m_framePosition;
+
+    /**
+     * @param source the reader to read the samples from, positioned at its
+     * first frame
+     * @param startFrame the first frame to read
+     * @param endFrame the frame after the last frame to read, {@link Long#MAX_VALUE}
+     * to read until the end of the source
+     * @throws IOException
+     */
+    public RangeSampleReader(final AudioSampleReader source, final long startFrame,
+            final long endFrame) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("The sample reader cannot be null.");
+        }
+        if (startFrame < 0 || endFrame < startFrame) {
+            throw new IllegalArgumentException("Invalid frame range [" + startFrame + ", "
+                    + endFrame + ").");
+        }
+        m_source = source;
+        long skipped = 0;
+        while (skipped < startFrame) {
+            final long frames = source.skip(startFrame - skipped);
+            if (frames <= 0) {
+                break;
+            }
+            skipped += frames;
+        }
+        if (skipped < startFrame) {
+            /* The range starts after the end of the source */
+            m_frameLength = 0;
+            m_endFrame = 0;
+        } else if (source.getFrameLength() >= 0) {
+            m_frameLength = Math.min(endFrame, source.getFrameLength()) - skipped;
+            m_endFrame = m_frameLength;
+        } else {
+            /* The end of the source is unknown, the reads stop at the end frame anyway */
+            m_frameLength = AudioSystem.NOT_SPECIFIED;
+            m_endFrame = endFrame - skipped;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioFormat getAudioFormat() {
+        return m_source.getAudioFormat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSampleScale() {
+        return m_source.getSampleScale();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFramePosition() {
+        return m_framePosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFrameLength() {
+        return m_frameLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final double[][] buffer, final int offset, final int length)
+            throws IOException {
+        return count(m_source.read(buffer, offset, remaining(length)), length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final short[][] buffer, final int offset, final int length)
+            throws IOException {
+        return count(m_source.read(buffer, offset, remaining(length)), length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsShortSamples() {
+        return m_source.supportsShortSamples();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException {
+        return count(m_source.readMixedDown(buffer, offset, remaining(length)), length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long frames) throws IOException {
+        final long skipped = m_source.skip(Math.min(frames, m_endFrame - m_framePosition));
+        m_framePosition += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_source.close();
+    }
+
+    private int remaining(final int length) {
+        return (int)Math.min(length, m_endFrame - m_framePosition);
+    }
+
+    private int count(final int read, final int length) {
+        if (read < 0 || (read == 0 && length > 0)) {
+            /* The end of the range has been reached */
+            return -1;
+        }
+        m_framePosition += read;
+        return read;
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.IOException;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+
+import org.knime.audio.util.AudioUtils;
+import org.knime.audio.util.Resampler;
+
+/**
+ * An {@link AudioSampleReader} that resamples the samples of another reader to
+ * a different sample rate using a {@link Resampler} per channel. The resampled
+ * samples are reported as 32-bit float samples, the 16-bit reads scale them
+ * to 16-bit integers.
+ *
+ * The reader either returns all channels or the mixed down samples, since the
+ * mixed down samples are resampled as one channel. Both kinds of reads cannot
+ * be mixed.
+ *
+ * @author agent
+ */
+public class ResamplingSampleReader extends AudioSampleReader {
+
+    private final AudioSampleReader m_source;
+    private final AudioFormat m_audioFormat;
+    private final float m_targetRate;
+    private final int m_channels;
+    private Resampler[] m_resamplers;
+    private double[][] m_input;
+    private double[][] m_output;
+    /* The resampled samples of the 16-bit reads before they are scaled */
+    private double[][] m_shortInput;
+    private int m_outputPosition;
+    private int m_outputLength;
+    private boolean m_endOfSource;
+    private boolean m_mixedDown;
+    private long m_framePosition;
+
+    /**
+     * @param source the reader to read the samples from
+     * @param targetRate the sample rate to resample to
+     */
+    public ResamplingSampleReader(final AudioSampleReader source, final float targetRate) {
+        if (source == null) {
+            throw new IllegalArgumentException("The sample reader cannot be null.");
+        }
+        if (targetRate <= 0) {
+            throw new IllegalArgumentException("The target sample rate must be positive.");
+        }
+        m_source = source;
+        m_targetRate = targetRate;
+        m_channels = source.getNumberOfChannels();
+        m_audioFormat = new AudioFormat(AudioFormat.Encoding.PCM_FLOAT, targetRate, 32,
+            m_channels, m_channels * 4, targetRate, false);
+    }
+
+    /**
+     * Wraps the given reader into a resampling reader if its sample rate
+     * differs from the given one.
+     * @param source the reader to read the samples from
+     * @param targetRate the sample rate to resample to, values less or equal
+     * 0 disable the resampling
+     * @return the resampling reader, or the source reader if no resampling is
+     * necessary
+     */
+    public static AudioSampleReader resample(final AudioSampleReader source,
+            final float targetRate) {
+        if (targetRate <= 0
+                || Math.round(source.getAudioFormat().getSampleRate()) == Math.round(targetRate)) {
+            return source;
+        }
+        return new ResamplingSampleReader(source, targetRate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AudioFormat getAudioFormat() {
+        return m_audioFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFramePosition() {
+        return m_framePosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFrameLength() {
+        final long length = m_source.getFrameLength();
+        if (length < 0) {
+            return AudioSystem.NOT_SPECIFIED;
+        }
+        return Resampler.getOutputLength(length, m_source.getAudioFormat().getSampleRate(),
+            m_targetRate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final double[][] buffer, final int offset, final int length)
+            throws IOException {
+        init(false);
+        int total = 0;
+        while (total < length && fillOutput()) {
+            final int frames = Math.min(length - total, m_outputLength - m_outputPosition);
+            for (int ch = 0; ch < m_channels; ch++) {
+                System.arraycopy(m_output[ch], m_outputPosition, buffer[ch], offset + total, frames);
+            }
+            m_outputPosition += frames;
+            total += frames;
+        }
+        m_framePosition += total;
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * The resampled samples are scaled to 16 bits, rounded and clamped, see
+     * {@link #getSampleScale()}.
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final short[][] buffer, final int offset, final int length)
+            throws IOException {
+        if (m_shortInput == null) {
+            m_shortInput = new double[m_channels][DEFAULT_BLOCK_SIZE];
+        }
+        final double scale = getSampleScale();
+        int total = 0;
+        while (total < length) {
+            final int read = read(m_shortInput, 0, Math.min(DEFAULT_BLOCK_SIZE, length - total));
+            if (read < 0) {
+                break;
+            }
+            for (int ch = 0; ch < m_channels; ch++) {
+                final double[] input = m_shortInput[ch];
+                final short[] output = buffer[ch];
+                for (int i = 0; i < read; i++) {
+                    final long value = Math.round(input[i] * scale);
+                    output[offset + total + i] = (short)Math.max(Short.MIN_VALUE,
+                        Math.min(Short.MAX_VALUE, value));
+                }
+            }
+            total += read;
+        }
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * The resampled samples can always be scaled to 16 bits.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsShortSamples() {
+        return true;
+    }
+
+    /**
+     * The scale of the 16-bit samples of
+     * {@link #read(short[][], int, int)}, the other reads return the
+     * resampled samples as they are.
+     * {@inheritDoc}
+     */
+    @Override
+    public double getSampleScale() {
+        return AudioUtils.getMaximumSampleValue(16);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readMixedDown(final double[] buffer, final int offset, final int length)
+            throws IOException {
+        init(true);
+        int total = 0;
+        while (total < length && fillOutput()) {
+            final int frames = Math.min(length - total, m_outputLength - m_outputPosition);
+            System.arraycopy(m_output[0], m_outputPosition, buffer, offset + total, frames);
+            m_outputPosition += frames;
+            total += frames;
+        }
+        m_framePosition += total;
+        return (total == 0 && length > 0) ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(final long frames) throws IOException {
+        /* The filter state depends on the skipped input, so the samples are resampled and dropped */
+        final double[] discard = new double[DEFAULT_BLOCK_SIZE];
+        final double[][] discardChannels = new double[m_channels][];
+        for (int ch = 0; ch < m_channels; ch++) {
+            discardChannels[ch] = discard;
+        }
+        long skipped = 0;
+        while (skipped < frames) {
+            final int length = (int)Math.min(discard.length, frames - skipped);
+            final int read = (m_resamplers != null && m_mixedDown)
+                ? readMixedDown(discard, 0, length) : read(discardChannels, 0, length);
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_source.close();
+    }
+
+    private void init(final boolean mixedDown) {
+        if (m_resamplers != null) {
+            if (m_mixedDown != mixedDown) {
+                throw new IllegalStateException(
+                    "Mixed down and multi-channel reads cannot be combined.");
+            }
+            return;
+        }
+        m_mixedDown = mixedDown;
+        final int channels = mixedDown ? 1 : m_channels;
+        final float sourceRate = m_source.getAudioFormat().getSampleRate();
+        m_resamplers = new Resampler[channels];
+        for (int ch = 0; ch < channels; ch++) {
+            m_resamplers[ch] = new Resampler(sourceRate, m_targetRate);
+        }
+        m_input = new double[channels][DEFAULT_BLOCK_SIZE];
+        m_output = new double[channels][m_resamplers[0].getMaxOutputLength(DEFAULT_BLOCK_SIZE)];
+    }
+
+    /**
+     * Makes sure that resampled samples are available.
+     * @return <code>false</code> if the end of the audio has been reached
+     */
+    private boolean fillOutput() throws IOException {
+        while (m_outputPosition >= m_outputLength) {
+            if (m_endOfSource) {
+                return false;
+            }
+            final int read = m_mixedDown
+                ? m_source.readMixedDown(m_input[0], 0, DEFAULT_BLOCK_SIZE)
+                : m_source.read(m_input, 0, DEFAULT_BLOCK_SIZE);
+            m_outputPosition = 0;
+            for (int ch = 0; ch < m_resamplers.length; ch++) {
+                if (read < 0) {
+                    m_outputLength = m_resamplers[ch].flush(m_output[ch], 0);
+                } else {
+                    m_outputLength = m_resamplers[ch].process(m_input[ch], 0, read, m_output[ch], 0);
+                }
+            }
+            if (read < 0) {
+                m_endOfSource = true;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,496 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.knime.audio.util.AudioUtils;
+
+/**
+ * Converts interleaved PCM bytes into samples in the range of -1 to +1. There
+ * is a specialized converter for each sample type (8, 16, 24 and 32-bit
+ * integers, 32 and 64-bit floats), the endianness is handled by the order of
+ * the {@link ByteBuffer} views and the signedness by flipping the sign bit.
+ * Each conversion is a single pass over the data without any per-sample
+ * format checks.
+ *
+ * Integer samples are divided by {@link AudioUtils#getMaximumSampleValue(int)}
+ * by default, like jAudio does.
+ *
+ * @author agent
+ */
+public abstract class SampleConverter {
+
+    /** The number of interleaved channels */
+    protected final int m_channels;
+
+    /** The number of bytes of one sample */
+    protected final int m_bytesPerSample;
+
+    /** The byte order of the samples */
+    protected final ByteOrder m_order;
+
+    /** The value integer samples are divided by */
+    protected final double m_scale;
+
+    /** The mask that flips the sign bit of unsigned samples, 0 for signed samples */
+    protected final int m_signFlip;
+
+    private SampleConverter(final int channels, final int bytesPerSample,
+            final boolean bigEndian, final boolean signed, final double scale) {
+        m_channels = channels;
+        m_bytesPerSample = bytesPerSample;
+        m_order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        m_scale = scale;
+        m_signFlip = signed ? 0 : 1 << (bytesPerSample * 8 - 1);
+    }
+
+    /**
+     * @param format an audio format
+     * @return <code>true</code> if there is a converter for the given format
+     */
+    public static boolean isSupported(final AudioFormat format) {
+        final AudioFormat.Encoding encoding = format.getEncoding();
+        final int bits = format.getSampleSizeInBits();
+        if (format.getChannels() < 1 || format.getFrameSize() != format.getChannels() * bits / 8) {
+            return false;
+        }
+        if (AudioFormat.Encoding.PCM_FLOAT.equals(encoding)) {
+            return bits == 32 || bits == 64;
+        }
+        if (AudioFormat.Encoding.PCM_SIGNED.equals(encoding)
+                || AudioFormat.Encoding.PCM_UNSIGNED.equals(encoding)) {
+            return bits == 8 || bits == 16 || bits == 24 || bits == 32;
+        }
+        return false;
+    }
+
+    /**
+     * Creates a converter for the given format that scales integer samples like
+     * jAudio.
+     * @param format the format of the bytes to convert
+     * @return the converter for the given format
+     */
+    public static SampleConverter create(final AudioFormat format) {
+        return create(format, AudioUtils.getMaximumSampleValue(format.getSampleSizeInBits()));
+    }
+
+    /**
+     * @param format the format of the bytes to convert
+     * @param scale the value integer samples are divided by, ignored for
+     * floating point samples
+     * @return the converter for the given format
+     */
+    public static SampleConverter create(final AudioFormat format, final double scale) {
+        if (!isSupported(format)) {
+            throw new IllegalArgumentException("Unsupported audio format: " + format);
+        }
+        final int channels = format.getChannels();
+        final boolean bigEndian = format.isBigEndian();
+        final boolean signed = !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding());
+        if (AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding())) {
+            return (format.getSampleSizeInBits() == 32) ? new Float32(channels, bigEndian)
+                : new Float64(channels, bigEndian);
+        }
+        switch (format.getSampleSizeInBits()) {
+            case 8:
+                return new Int8(channels, signed, scale);
+            case 16:
+                return new Int16(channels, bigEndian, signed, scale);
+            case 24:
+                return new Int24(channels, bigEndian, signed, scale);
+            default:
+                return new Int32(channels, bigEndian, signed, scale);
+        }
+    }
+
+    /**
+     * @return the number of bytes of one frame
+     */
+    public int getFrameSize() {
+        return m_channels * m_bytesPerSample;
+    }
+
+    /**
+     * @return the value integer samples are divided by
+     */
+    public double getScale() {
+        return m_scale;
+    }
+
+    /**
+     * @return <code>true</code> if the raw samples fit into 16-bit integers
+     * and can be converted with {@link #convert(ByteBuffer, int, short[][], int, int)}
+     */
+    public boolean supportsShortSamples() {
+        return false;
+    }
+
+    /**
+     * Converts the given frames and writes each channel into its own array.
+     * @param src the bytes to convert
+     * @param position the position of the first frame in the bytes
+     * @param dst the arrays to write the samples into, one per channel
+     * @param offset the position in the arrays to start writing
+     * @param frames the number of frames to convert
+     */
+    public void convert(final ByteBuffer src, final int position, final double[][] dst,
+            final int offset, final int frames) {
+        for (int ch = 0; ch < m_channels; ch++) {
+            convert(src, position, ch, m_channels, dst[ch], offset, frames, false);
+        }
+    }
+
+    /**
+     * Converts the given frames and mixes them down into one channel.
+     * @param src the bytes to convert
+     * @param position the position of the first frame in the bytes
+     * @param dst the array to write the samples into
+     * @param offset the position in the array to start writing
+     * @param frames the number of frames to convert
+     */
+    public void convertMixedDown(final ByteBuffer src, final int position, final double[] dst,
+            final int offset, final int frames) {
+        convert(src, position, 0, m_channels, dst, offset, frames, false);
+        if (m_channels == 1) {
+            return;
+        }
+        for (int ch = 1; ch < m_channels; ch++) {
+            convert(src, position, ch, m_channels, dst, offset, frames, true);
+        }
+        for (int i = offset; i < offset + frames; i++) {
+            dst[i] /= m_channels;
+        }
+    }
+
+    /**
+     * Converts the given number of interleaved samples without separating the
+     * channels.
+     * @param src the bytes to convert
+     * @param position the position of the first sample in the bytes
+     * @param dst the array to write the samples into
+     * @param offset the position in the array to start writing
+     * @param samples the number of samples to convert
+     */
+    public abstract void convertInterleaved(final ByteBuffer src, final int position,
+            final float[] dst, final int offset, final int samples);
+
+    /**
+     * Copies the raw integer values of the given frames, only supported if
+     * {@link #supportsShortSamples()} returns <code>true</code>.
+     * @param src the bytes to convert
+     * @param position the position of the first frame in the bytes
+     * @param dst the arrays to write the samples into, one per channel
+     * @param offset the position in the arrays to start writing
+     * @param frames the number of frames to convert
+     * @throws IllegalStateException if the samples don't fit into 16-bit integers
+     */
+    public void convert(final ByteBuffer src, final int position, final short[][] dst,
+            final int offset, final int frames) {
+        throw new IllegalStateException(
+            "Samples of " + (m_bytesPerSample * 8) + " bits don't fit into 16-bit integers.");
+    }
+
+    /**
+     * Converts the samples of one channel.
+     * @param src the bytes to convert
+     * @param position the position of the first frame in the bytes
+     * @param index the index of the first sample to convert
+     * @param stride the distance between two samples of the channel
+     * @param dst the array to write the samples into
+     * @param offset the position in the array to start writing
+     * @param count the number of samples to convert
+     * @param add <code>true</code> if the samples should be added to the
+     * values of the array instead of overwriting them
+     */
+    protected abstract void convert(final ByteBuffer src, final int position, final int index,
+            final int stride, final double[] dst, final int offset, final int count,
+            final boolean add);
+
+    /**
+     * @param src the bytes to convert
+     * @param position the position of the first sample in the bytes
+     * @return a view of the bytes starting at the given position with the
+     * byte order of the samples
+     */
+    protected ByteBuffer view(final ByteBuffer src, final int position) {
+        final ByteBuffer view = src.duplicate();
+        view.clear();
+        view.position(position);
+        return view.slice().order(m_order);
+    }
+
+    private static final class Int8 extends SampleConverter {
+
+        Int8(final int channels, final boolean signed, final double scale) {
+            super(channels, 1, false, signed, scale);
+        }
+
+        @Override
+        public boolean supportsShortSamples() {
+            return true;
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final ByteBuffer view = view(src, position);
+            final int flip = m_signFlip;
+            final double scale = m_scale;
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = (byte)(view.get(j) ^ flip) / scale;
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convert(final ByteBuffer src, final int position, final short[][] dst,
+                final int offset, final int frames) {
+            final ByteBuffer view = view(src, position);
+            for (int ch = 0; ch < m_channels; ch++) {
+                final short[] channel = dst[ch];
+                for (int i = 0, j = ch; i < frames; i++, j += m_channels) {
+                    channel[offset + i] = (byte)(view.get(j) ^ m_signFlip);
+                }
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final ByteBuffer view = view(src, position);
+            for (int i = 0; i < samples; i++) {
+                dst[offset + i] = (float)((byte)(view.get(i) ^ m_signFlip) / m_scale);
+            }
+        }
+    }
+
+    private static final class Int16 extends SampleConverter {
+
+        Int16(final int channels, final boolean bigEndian, final boolean signed,
+                final double scale) {
+            super(channels, 2, bigEndian, signed, scale);
+        }
+
+        @Override
+        public boolean supportsShortSamples() {
+            return true;
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final ShortBuffer view = view(src, position).asShortBuffer();
+            final int flip = m_signFlip;
+            final double scale = m_scale;
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = (short)(view.get(j) ^ flip) / scale;
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convert(final ByteBuffer src, final int position, final short[][] dst,
+                final int offset, final int frames) {
+            final ShortBuffer view = view(src, position).asShortBuffer();
+            for (int ch = 0; ch < m_channels; ch++) {
+                final short[] channel = dst[ch];
+                for (int i = 0, j = ch; i < frames; i++, j += m_channels) {
+                    channel[offset + i] = (short)(view.get(j) ^ m_signFlip);
+                }
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final ShortBuffer view = view(src, position).asShortBuffer();
+            for (int i = 0; i < samples; i++) {
+                dst[offset + i] = (float)((short)(view.get(i) ^ m_signFlip) / m_scale);
+            }
+        }
+    }
+
+    private static final class Int24 extends SampleConverter {
+
+        /* The positions of the most, middle and least significant byte of a sample */
+        private final int m_high;
+        private final int m_middle;
+        private final int m_low;
+
+        Int24(final int channels, final boolean bigEndian, final boolean signed,
+                final double scale) {
+            super(channels, 3, bigEndian, signed, scale);
+            m_high = bigEndian ? 0 : 2;
+            m_middle = 1;
+            m_low = bigEndian ? 2 : 0;
+        }
+
+        private int get(final ByteBuffer view, final int sample) {
+            final int pos = sample * 3;
+            final int value = (view.get(pos + m_high) << 16)
+                    | ((view.get(pos + m_middle) & 0xff) << 8) | (view.get(pos + m_low) & 0xff);
+            /* Flip the sign bit of unsigned samples and sign extend from 24 bits */
+            return ((value ^ m_signFlip) << 8) >> 8;
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final ByteBuffer view = view(src, position);
+            final double scale = m_scale;
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = get(view, j) / scale;
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final ByteBuffer view = view(src, position);
+            for (int i = 0; i < samples; i++) {
+                dst[offset + i] = (float)(get(view, i) / m_scale);
+            }
+        }
+    }
+
+    private static final class Int32 extends SampleConverter {
+
+        Int32(final int channels, final boolean bigEndian, final boolean signed,
+                final double scale) {
+            super(channels, 4, bigEndian, signed, scale);
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final IntBuffer view = view(src, position).asIntBuffer();
+            final int flip = m_signFlip;
+            final double scale = m_scale;
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = (view.get(j) ^ flip) / scale;
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final IntBuffer view = view(src, position).asIntBuffer();
+            for (int i = 0; i < samples; i++) {
+                dst[offset + i] = (float)((view.get(i) ^ m_signFlip) / m_scale);
+            }
+        }
+    }
+
+    private static final class Float32 extends SampleConverter {
+
+        Float32(final int channels, final boolean bigEndian) {
+            super(channels, 4, bigEndian, true, 1);
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final FloatBuffer view = view(src, position).asFloatBuffer();
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = view.get(j);
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final FloatBuffer view = view(src, position).asFloatBuffer();
+            view.get(dst, offset, samples);
+        }
+    }
+
+    private static final class Float64 extends SampleConverter {
+
+        Float64(final int channels, final boolean bigEndian) {
+            super(channels, 8, bigEndian, true, 1);
+        }
+
+        @Override
+        protected void convert(final ByteBuffer src, final int position, final int index,
+                final int stride, final double[] dst, final int offset, final int count,
+                final boolean add) {
+            final DoubleBuffer view = view(src, position).asDoubleBuffer();
+            for (int i = 0, j = index; i < count; i++, j += stride) {
+                final double value = view.get(j);
+                dst[offset + i] = add ? dst[offset + i] + value : value;
+            }
+        }
+
+        @Override
+        public void convertInterleaved(final ByteBuffer src, final int position,
+                final float[] dst, final int offset, final int samples) {
+            final DoubleBuffer view = view(src, position).asDoubleBuffer();
+            for (int i = 0; i < samples; i++) {
+                dst[offset + i] = (float)view.get(i);
+            }
+        }
+    }
+
+}
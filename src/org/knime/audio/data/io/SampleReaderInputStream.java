@@ -0,0 +1,148 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that provides the mixed down samples of an
+ * {@link AudioSampleReader} as signed 16-bit little-endian PCM bytes, e.g. to
+ * feed the samples of a resampled audio into a speech recognizer. Samples
+ * outside the range of -1 to +1 are clipped.
+ *
+ * @author agent
+ */
+public class SampleReaderInputStream extends InputStream {
+
+    private final AudioSampleReader m_reader;
+    private final double[] m_samples = new double[AudioSampleReader.DEFAULT_BLOCK_SIZE];
+    private final byte[] m_bytes = new byte[2 * AudioSampleReader.DEFAULT_BLOCK_SIZE];
+    private int m_position;
+    private int m_length;
+    private boolean m_endOfStream;
+
+    /**
+     * @param reader the reader to read the samples from
+     */
+    public SampleReaderInputStream(final AudioSampleReader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("The sample reader cannot be null.");
+        }
+        m_reader = reader;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return m_bytes[m_position++] & 0xff;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fillBuffer()) {
+            return -1;
+        }
+        final int bytes = Math.min(len, m_length - m_position);
+        System.arraycopy(m_bytes, m_position, b, off, bytes);
+        m_position += bytes;
+        return bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() throws IOException {
+        return m_length - m_position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        m_reader.close();
+    }
+
+    private boolean fillBuffer() throws IOException {
+        if (m_position < m_length) {
+            return true;
+        }
+        if (m_endOfStream) {
+            return false;
+        }
+        final int read = m_reader.readMixedDown(m_samples, 0, m_samples.length);
+        if (read < 0) {
+            m_endOfStream = true;
+            return false;
+        }
+        for (int i = 0, j = 0; i < read; i++) {
+            final double value = Math.max(-1, Math.min(1, m_samples[i]));
+            final int sample = (int)Math.round(value * Short.MAX_VALUE);
+            m_bytes[j++] = (byte)sample;
+            m_bytes[j++] = (byte)(sample >> 8);
+        }
+        m_position = 0;
+        m_length = 2 * read;
+        return true;
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.File;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.knime.audio.util.AudioUtils;
+
+import jAudioFeatureExtractor.jAudioTools.AudioMethods;
+
+/**
+ * Compares the decoding time of the memory mapped WAV reader with the JavaSound
+ * based decoding used by {@link AudioUtils#getAudioSamples(org.knime.audio.data.Audio)}.
+ * The WAV files to decode are given as arguments.
+ *
+ * @author agent
+ */
+public class WavDecodingBenchmark {
+
+    private static final int RUNS = 5;
+
+    /**
+     * @param args the WAV files to decode
+     * @throws Exception
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: WavDecodingBenchmark <wav file>...");
+            return;
+        }
+        for (final String path : args) {
+            final File file = new File(path);
+            final WavHeader header = WavHeader.read(file);
+            if (!MappedWavSampleReader.isSupported(header)) {
+                System.out.println(path + ": not supported by the mapped reader, skipped.");
+                continue;
+            }
+            /* Warm up both paths before measuring */
+            decodeJavaSound(file);
+            decodeMapped(file, header);
+
+            long javaSound = Long.MAX_VALUE;
+            long mapped = Long.MAX_VALUE;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                decodeJavaSound(file);
+                javaSound = Math.min(javaSound, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                decodeMapped(file, header);
+                mapped = Math.min(mapped, System.nanoTime() - start);
+            }
+            System.out.println(String.format("%s (%d frames): JavaSound %.1f ms, mapped %.1f ms",
+                path, header.getFrameLength(), javaSound / 1e6, mapped / 1e6));
+        }
+    }
+
+    private static double[][] decodeJavaSound(final File file) throws Exception {
+        try (final AudioInputStream originalStream = AudioSystem.getAudioInputStream(file);
+                final AudioInputStream convertedStream =
+                    AudioMethods.getConvertedAudioStream(originalStream)) {
+            return AudioMethods.extractSampleValues(convertedStream);
+        }
+    }
+
+    private static double[][] decodeMapped(final File file, final WavHeader header)
+            throws Exception {
+        try (final MappedWavSampleReader reader = new MappedWavSampleReader(file, header)) {
+            return AudioUtils.readAllSamples(reader);
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * The format information of a RIFF/WAVE file, read directly from the header of
+ * the file without going through JavaSound.
+ *
+ * @author agent
+ */
+public class WavHeader {
+
+    /** Format code of integer PCM samples */
+    public static final int WAVE_FORMAT_PCM = 0x0001;
+
+    /** Format code of IEEE floating point samples */
+    public static final int WAVE_FORMAT_IEEE_FLOAT = 0x0003;
+
+    /** Format code of the extensible format, the actual format is given by the sub format */
+    public static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private static final int RIFF = 0x46464952; // "RIFF" read as little endian int
+    private static final int WAVE = 0x45564157; // "WAVE"
+    private static final int FMT = 0x20746d66;  // "fmt "
+    private static final int DATA = 0x61746164; // "data"
+
+    private final int m_formatCode;
+    private final int m_channels;
+    private final float m_sampleRate;
+    private final int m_blockAlign;
+    private final int m_bitsPerSample;
+    private final long m_dataOffset;
+    private final long m_dataLength;
+
+    private WavHeader(final int formatCode, final int channels, final float sampleRate,
+            final int blockAlign, final int bitsPerSample, final long dataOffset,
+            final long dataLength) {
+        m_formatCode = formatCode;
+        m_channels = channels;
+        m_sampleRate = sampleRate;
+        m_blockAlign = blockAlign;
+        m_bitsPerSample = bitsPerSample;
+        m_dataOffset = dataOffset;
+        m_dataLength = dataLength;
+    }
+
+    /**
+     * @return the format code of the samples. For the extensible format, the
+     * code of the sub format is returned.
+     */
+    public int getFormatCode() {
+        return m_formatCode;
+    }
+
+    /**
+     * @return the number of channels
+     */
+    public int getChannels() {
+        return m_channels;
+    }
+
+    /**
+     * @return the sample rate in Hz
+     */
+    public float getSampleRate() {
+        return m_sampleRate;
+    }
+
+    /**
+     * @return the number of bytes of one frame
+     */
+    public int getBlockAlign() {
+        return m_blockAlign;
+    }
+
+    /**
+     * @return the number of bits per sample
+     */
+    public int getBitsPerSample() {
+        return m_bitsPerSample;
+    }
+
+    /**
+     * @return the position of the first sample in the file
+     */
+    public long getDataOffset() {
+        return m_dataOffset;
+    }
+
+    /**
+     * @return the number of bytes of sample data
+     */
+    public long getDataLength() {
+        return m_dataLength;
+    }
+
+    /**
+     * @return the number of frames
+     */
+    public long getFrameLength() {
+        return m_dataLength / m_blockAlign;
+    }
+
+    /**
+     * @return <code>true</code> if the samples are integer PCM samples
+     */
+    public boolean isPcm() {
+        return m_formatCode == WAVE_FORMAT_PCM;
+    }
+
+    /**
+     * @return <code>true</code> if the samples are IEEE floating point samples
+     */
+    public boolean isFloat() {
+        return m_formatCode == WAVE_FORMAT_IEEE_FLOAT;
+    }
+
+    /**
+     * @return the format of the samples as stored in the file, or
+     * <code>null</code> if the samples are neither integer PCM nor floating
+     * point samples
+     */
+    public AudioFormat getAudioFormat() {
+        final AudioFormat.Encoding encoding;
+        if (isFloat()) {
+            encoding = AudioFormat.Encoding.PCM_FLOAT;
+        } else if (isPcm()) {
+            /* 8-bit WAV samples are unsigned, all others are signed */
+            encoding = (m_bitsPerSample <= 8) ? AudioFormat.Encoding.PCM_UNSIGNED
+                : AudioFormat.Encoding.PCM_SIGNED;
+        } else {
+            return null;
+        }
+        return new AudioFormat(encoding, m_sampleRate, m_bitsPerSample, m_channels,
+            m_blockAlign, m_sampleRate, false);
+    }
+
+    /**
+     * Reads the header of the given file.
+     * @param file the file to read
+     * @return the header of the file or <code>null</code> if the file isn't a
+     * RIFF/WAVE file or its header is incomplete
+     * @throws IOException
+     */
+    public static WavHeader read(final File file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads the header from the beginning of the given channel.
+     * @param channel the channel to read
+     * @return the header or <code>null</code> if the channel doesn't contain a
+     * RIFF/WAVE file or its header is incomplete
+     * @throws IOException
+     */
+    public static WavHeader read(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer buf = ByteBuffer.allocate(40).order(ByteOrder.LITTLE_ENDIAN);
+        if (!readFully(channel, buf, 0, 12)
+                || buf.getInt(0) != RIFF || buf.getInt(8) != WAVE) {
+            return null;
+        }
+
+        int formatCode = -1;
+        int channels = 0;
+        float sampleRate = 0;
+        int blockAlign = 0;
+        int bitsPerSample = 0;
+        long position = 12;
+        while (position + 8 <= size) {
+            if (!readFully(channel, buf, position, 8)) {
+                return null;
+            }
+            final int id = buf.getInt(0);
+            final long chunkSize = buf.getInt(4) & 0xffffffffL;
+            final long chunkStart = position + 8;
+            if (id == FMT) {
+                if (chunkSize < 16 || !readFully(channel, buf, chunkStart, (int)Math.min(chunkSize, 40))) {
+                    return null;
+                }
+                formatCode = buf.getShort(0) & 0xffff;
+                channels = buf.getShort(2) & 0xffff;
+                sampleRate = buf.getInt(4) & 0xffffffffL;
+                blockAlign = buf.getShort(12) & 0xffff;
+                bitsPerSample = buf.getShort(14) & 0xffff;
+                if (formatCode == WAVE_FORMAT_EXTENSIBLE) {
+                    if (chunkSize < 26) {
+                        return null;
+                    }
+                    /* The first two bytes of the sub format GUID are the actual format code */
+                    formatCode = buf.getShort(24) & 0xffff;
+                }
+            } else if (id == DATA) {
+                if (formatCode < 0 || channels < 1 || blockAlign < 1) {
+                    /* The format chunk must precede the data chunk */
+                    return null;
+                }
+                /* Streaming writers leave the size open, use the rest of the file then */
+                final long dataLength = Math.min(chunkSize, size - chunkStart);
+                return new WavHeader(formatCode, channels, sampleRate, blockAlign,
+                    bitsPerSample, chunkStart, dataLength - (dataLength % blockAlign));
+            }
+            /* Chunks are aligned to two bytes */
+            position = chunkStart + chunkSize + (chunkSize & 1);
+        }
+        return null;
+    }
+
+    private static boolean readFully(final FileChannel channel, final ByteBuffer buf,
+            final long position, final int length) throws IOException {
+        buf.clear();
+        buf.limit(length);
+        long pos = position;
+        while (buf.hasRemaining()) {
+            final int read = channel.read(buf, pos);
+            if (read < 0) {
+                return false;
+            }
+            pos += read;
+        }
+        return true;
+    }
+
+}
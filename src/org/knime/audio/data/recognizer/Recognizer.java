@@ -48,7 +48,14 @@
  */
 package org.knime.audio.data.recognizer;
 
+import java.io.File;
+import java.io.IOException;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioBuilder;
+import org.knime.audio.util.AudioUtils;
 
 /**
  *
@@ -62,6 +69,38 @@ public interface Recognizer {
      */
     RecognitionResult recognize(final Audio audio);
 
+    /**
+     * Recognizes only the speech within the given time range of the audio.
+     * By default, the range is written into a temporary WAV file, see
+     * {@link AudioUtils#writeTemporaryWavFile(Audio, double, double)}, which
+     * is passed on to {@link #recognize(Audio)}. The whole audio is passed on
+     * as it is. Recognizers that can read ranges directly override it.
+     * @param audio
+     * @param startTime the start of the range in seconds
+     * @param endTime the end of the range in seconds,
+     * {@link Double#POSITIVE_INFINITY} to recognize until the end of the audio
+     * @return the recognition result
+     * @throws IllegalStateException if the range cannot be read
+     */
+    default RecognitionResult recognize(final Audio audio, final double startTime,
+            final double endTime) {
+        if ((startTime <= 0) && Double.isInfinite(endTime)) {
+            return recognize(audio);
+        }
+        File rangeFile = null;
+        try {
+            rangeFile = AudioUtils.writeTemporaryWavFile(audio, startTime, endTime);
+            return recognize(AudioBuilder.createAudio(rangeFile));
+        } catch (final UnsupportedAudioFileException | IOException ex) {
+            throw new IllegalStateException("Cannot read the analysis range of "
+                + audio.getName() + ": " + ex.getMessage(), ex);
+        } finally {
+            if (rangeFile != null) {
+                rangeFile.delete();
+            }
+        }
+    }
+
     /**
      * @return the default name of the recognizer
      */
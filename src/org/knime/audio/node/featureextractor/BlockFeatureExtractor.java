@@ -0,0 +1,432 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.knime.audio.data.feature.FeatureValues;
+import org.knime.audio.data.feature.TimeDomainStatistics;
+import org.knime.audio.data.io.AudioWindowReader;
+
+/**
+ * Extracts the features of a {@link FeaturePlan} from the windows of an audio
+ * in blocks of consecutive windows that are processed in parallel on the
+ * common fork/join pool.
+ *
+ * Most features only depend on the features of the same window, a few look
+ * back at previous windows, e.g. the spectral flux at the previous magnitude
+ * spectrum and the beat histogram at the RMS of the previous 255 windows.
+ * Hence, each block recomputes the features of the windows before its first
+ * window that are looked back at, but only the features that are needed and
+ * only as far back as they are needed. The extracted features are exactly
+ * the same as if all windows were processed one after another.
+ *
+ * Within a block, the features of each slot are kept in a ring buffer of the
+ * windows that are looked back at, the extractors write directly into it. The
+ * time domain features of a window share the statistics of its samples, which
+ * are computed in a single sweep. The features without dependencies that are
+ * faster to extract from consecutive windows at once, e.g. the spectra, are
+ * extracted for chunks of windows, their ring buffers hold a whole chunk in
+ * addition to the windows that are looked back at.
+ * Only the extracted features of the blocks are kept until they are passed on
+ * in the order of the windows. A single block passes them on directly.
+ *
+ * The windows are read in batches, so only the samples of one batch are kept
+ * in memory at a time. The buffer of the samples grows with the number of
+ * read windows, hence short audio only allocates what it needs.
+ *
+ * @author agent
+ */
+class BlockFeatureExtractor {
+
+	/* The maximal number of samples of the windows of a batch */
+	private static final int BATCH_SAMPLES = 1 << 22;
+
+	/* The maximal number of samples of the windows of a chunk that are extracted at once */
+	private static final int CHUNK_SAMPLES = 1 << 15;
+
+	/* The minimal number of windows of a block */
+	private static final int MIN_WINDOWS_PER_BLOCK = 32;
+
+	private final FeaturePlan m_plan;
+
+	/**
+	 * @param plan the plan of the features to extract
+	 */
+	BlockFeatureExtractor(final FeaturePlan plan) {
+		m_plan = plan;
+	}
+
+	/**
+	 * @return the plan of the extracted features
+	 */
+	FeaturePlan getPlan() {
+		return m_plan;
+	}
+
+	/**
+	 * Extracts the features of all windows of the given reader. The features
+	 * are passed to the given sink one window after another.
+	 * @param windows the reader of the windows
+	 * @param sink the sink receiving the extracted features
+	 * @throws Exception
+	 */
+	void extract(final AudioWindowReader windows, final FeatureSink sink) throws Exception {
+		final int windowSize = windows.getWindowSize();
+		final double sampleRate = windows.getAudioFormat().getSampleRate();
+		final int maxLookback = m_plan.getMaxLookback();
+		final FeatureValues values = new FeatureValues(0);
+
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		final int batchWindows = Math.max(1, BATCH_SAMPLES / windowSize);
+		/* The batch starts with the last windows of the previous batch that are looked back at.
+		 * The buffer grows with the read windows, so short audio doesn't allocate a full batch */
+		final int maxBufferedWindows = maxLookback + batchWindows;
+		double[] samples = new double[Math.min(maxBufferedWindows, maxLookback + MIN_WINDOWS_PER_BLOCK)
+		                              * windowSize];
+		/* The window reader already mixes the samples down into one channel */
+		final double[] window = windows.getWindow();
+		int firstWindow = 0;
+		int bufferedWindows = 0;
+		while (true) {
+			int read = 0;
+			while ((read < batchWindows) && windows.next()) {
+				if (((bufferedWindows + 1) * windowSize) > samples.length) {
+					samples = Arrays.copyOf(samples, Math.min(maxBufferedWindows, 2 * (bufferedWindows + 1))
+							* windowSize);
+				}
+				System.arraycopy(window, 0, samples, bufferedWindows * windowSize, windowSize);
+				bufferedWindows++;
+				read++;
+			}
+			if (read == 0) {
+				break;
+			}
+			final int start = (firstWindow + bufferedWindows) - read;
+			final int end = firstWindow + bufferedWindows;
+			final int windowsPerBlock = (parallelism < 2) ? read : Math.max(Math.max(
+					MIN_WINDOWS_PER_BLOCK, maxLookback), ((read + (4 * parallelism)) - 1) / (4 * parallelism));
+			final int blocks = ((read + windowsPerBlock) - 1) / windowsPerBlock;
+			final Batch batch = new Batch(samples, firstWindow, start, windowSize, sampleRate, blocks);
+			if (blocks == 1) {
+				extractBlock(batch, start, end, sink);
+			} else {
+				try {
+					ForkJoinPool.commonPool().invoke(new BlockTask(batch, start, end, windowsPerBlock));
+				} catch (final ExtractionException ex) {
+					throw ex.getCause();
+				}
+				for (int b = 0; b < blocks; b++) {
+					final FeatureSeries[] series = batch.m_results[b];
+					for (int w = 0; w < series[0].size(); w++) {
+						for (int o = 0; o < series.length; o++) {
+							if (series[o].isMissing(w)) {
+								sink.add(o, null);
+							} else {
+								series[o].get(w, values);
+								sink.add(o, values);
+							}
+						}
+					}
+					/* Release the features of the block */
+					batch.m_results[b] = null;
+				}
+			}
+			final int keep = Math.min(maxLookback, bufferedWindows);
+			System.arraycopy(samples, (bufferedWindows - keep) * windowSize, samples, 0, keep * windowSize);
+			firstWindow = end - keep;
+			bufferedWindows = keep;
+		}
+	}
+
+	/**
+	 * Extracts the features of the windows of a block, including the windows
+	 * before the block that are looked back at, and passes the extracted
+	 * features of the windows of the block to the given sink.
+	 * @param batch the batch containing the block
+	 * @param start the index of the first window of the block
+	 * @param end the index after the last window of the block
+	 * @param sink the sink receiving the extracted features
+	 * @throws Exception
+	 */
+	private void extractBlock(final Batch batch, final int start, final int end,
+			final FeatureSink sink) throws Exception {
+		final int warmUpStart = Math.max(0, start - m_plan.getMaxLookback());
+		final int windowSize = batch.m_windowSize;
+		final int slots = m_plan.getNumberOfSlots();
+		final int chunkWindows = Math.max(1, CHUNK_SAMPLES / windowSize);
+		/* The values of the current and the previous windows that are looked back at */
+		final FeatureValues[][] history = new FeatureValues[slots][];
+		final boolean[][] missing = new boolean[slots][];
+		final FeatureValues[][] dependencyValues = new FeatureValues[slots][];
+		/* The time domain statistics of the current window, computed once for all slots using them */
+		final TimeDomainStatistics statistics = new TimeDomainStatistics();
+		for (int slot = 0; slot < slots; slot++) {
+			final int dimension = m_plan.getExtractor(slot).getDimension(windowSize);
+			history[slot] = new FeatureValues[m_plan.getHistory(slot)
+			                                  + (m_plan.extractsBatches(slot) ? chunkWindows : 1)];
+			for (int i = 0; i < history[slot].length; i++) {
+				history[slot][i] = new FeatureValues(dimension);
+			}
+			missing[slot] = new boolean[history[slot].length];
+			dependencyValues[slot] = new FeatureValues[m_plan.getNumberOfDependencies(slot)];
+		}
+
+		for (int w = warmUpStart; w < end; w++) {
+			final int samplesOffset = (w - batch.m_firstWindow) * windowSize;
+			if (((w - warmUpStart) % chunkWindows) == 0) {
+				extractChunk(batch, start, w, Math.min(end, w + chunkWindows), history, missing);
+			}
+			boolean hasStatistics = false;
+			extractorLoop:
+				for (int slot = 0; slot < slots; slot++) {
+					final int current = w % history[slot].length;
+					if (m_plan.extractsBatches(slot)) {
+						/* Already extracted with the chunk of the window */
+						continue;
+					}
+					if ((start - w) > m_plan.getLookback(slot)) {
+						/* Not needed for the windows of the block */
+						missing[slot][current] = true;
+						continue;
+					}
+					final FeatureValues[] dependencyVals = dependencyValues[slot];
+					for (int j = 0; j < dependencyVals.length; j++) {
+						final int dependency = m_plan.getDependency(slot, j);
+						final int idx = w + m_plan.getOffset(slot, j);
+						/* No enough previous inforamation to extract this feature. */
+						if ((idx < warmUpStart) || missing[dependency][idx % history[dependency].length]) {
+							missing[slot][current] = true;
+							continue extractorLoop;
+						}
+						dependencyVals[j] = history[dependency][idx % history[dependency].length];
+					}
+					if (m_plan.usesTimeDomainStatistics(slot)) {
+						if (!hasStatistics) {
+							statistics.compute(batch.m_samples, samplesOffset, windowSize);
+							hasStatistics = true;
+						}
+						m_plan.getExtractor(slot).extractFeature(statistics, history[slot][current]);
+					} else {
+						m_plan.getExtractor(slot).extractFeature(batch.m_samples, samplesOffset, windowSize,
+								batch.m_sampleRate, (dependencyVals.length > 0) ? dependencyVals : null,
+								history[slot][current]);
+					}
+					missing[slot][current] = false;
+				}
+			if (w >= start) {
+				for (int o = 0; o < m_plan.getNumberOfOutputs(); o++) {
+					final int slot = m_plan.getOutputSlot(o);
+					final int current = w % history[slot].length;
+					sink.add(o, missing[slot][current] ? null : history[slot][current]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Extracts the features of the slots that are extracted from consecutive
+	 * windows at once for the windows of a chunk that are needed.
+	 * @param batch the batch containing the chunk
+	 * @param start the index of the first window of the block
+	 * @param chunkStart the index of the first window of the chunk
+	 * @param chunkEnd the index after the last window of the chunk
+	 * @param history the ring buffers of the values of the slots
+	 * @param missing the ring buffers of the missing flags of the slots
+	 * @throws Exception
+	 */
+	private void extractChunk(final Batch batch, final int start, final int chunkStart,
+			final int chunkEnd, final FeatureValues[][] history, final boolean[][] missing)
+					throws Exception {
+		for (int slot = 0; slot < m_plan.getNumberOfSlots(); slot++) {
+			if (!m_plan.extractsBatches(slot)) {
+				continue;
+			}
+			final int length = history[slot].length;
+			/* The windows before the lookback of the slot aren't needed for the windows of the block */
+			final int first = Math.min(chunkEnd, Math.max(chunkStart, start - m_plan.getLookback(slot)));
+			for (int w = chunkStart; w < chunkEnd; w++) {
+				missing[slot][w % length] = w < first;
+			}
+			if (first == chunkEnd) {
+				continue;
+			}
+			final FeatureValues[] results = new FeatureValues[chunkEnd - first];
+			for (int w = first; w < chunkEnd; w++) {
+				results[w - first] = history[slot][w % length];
+			}
+			m_plan.getExtractor(slot).extractFeatures(batch.m_samples,
+					(first - batch.m_firstWindow) * batch.m_windowSize, batch.m_windowSize,
+					batch.m_sampleRate, results);
+		}
+	}
+
+	/**
+	 * Receives the extracted features of the windows in the order of the windows.
+	 */
+	interface FeatureSink {
+
+		/**
+		 * @param output the index of the extracted feature in the plan
+		 * @param values the extracted values of the next window, only valid
+		 * during the call, <code>null</code> if the feature couldn't be extracted
+		 * @throws Exception
+		 */
+		void add(final int output, final FeatureValues values) throws Exception;
+	}
+
+	/**
+	 * Keeps the extracted features of a block until the previous blocks have
+	 * been passed on.
+	 */
+	private static final class SeriesSink implements FeatureSink {
+
+		private final FeatureSeries[] m_series;
+
+		private SeriesSink(final FeaturePlan plan, final int numberOfWindows, final int windowSize) {
+			m_series = new FeatureSeries[plan.getNumberOfOutputs()];
+			for (int o = 0; o < m_series.length; o++) {
+				m_series[o] = new FeatureSeries(numberOfWindows,
+						plan.getExtractor(plan.getOutputSlot(o)).getDimension(windowSize));
+			}
+		}
+
+		@Override
+		public void add(final int output, final FeatureValues values) {
+			if (values == null) {
+				m_series[output].addMissing();
+			} else {
+				m_series[output].add(values);
+			}
+		}
+	}
+
+	/**
+	 * The windows of a batch and the extracted features of its blocks.
+	 */
+	private static final class Batch {
+
+		private final double[] m_samples;
+		/* The index of the window at the beginning of the samples */
+		private final int m_firstWindow;
+		/* The index of the first window of the blocks */
+		private final int m_start;
+		private final int m_windowSize;
+		private final double m_sampleRate;
+		private final FeatureSeries[][] m_results;
+
+		private Batch(final double[] samples, final int firstWindow, final int start,
+				final int windowSize, final double sampleRate, final int blocks) {
+			m_samples = samples;
+			m_firstWindow = firstWindow;
+			m_start = start;
+			m_windowSize = windowSize;
+			m_sampleRate = sampleRate;
+			m_results = new FeatureSeries[blocks][];
+		}
+	}
+
+	private final class BlockTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Batch m_batch;
+		private final int m_start;
+		private final int m_end;
+		private final int m_windowsPerBlock;
+
+		private BlockTask(final Batch batch, final int start, final int end,
+				final int windowsPerBlock) {
+			m_batch = batch;
+			m_start = start;
+			m_end = end;
+			m_windowsPerBlock = windowsPerBlock;
+		}
+
+		@Override
+		protected void compute() {
+			final int windows = m_end - m_start;
+			if (windows <= m_windowsPerBlock) {
+				final SeriesSink sink = new SeriesSink(m_plan, windows, m_batch.m_windowSize);
+				try {
+					extractBlock(m_batch, m_start, m_end, sink);
+				} catch (final Exception ex) {
+					throw new ExtractionException(ex);
+				}
+				m_batch.m_results[(m_start - m_batch.m_start) / m_windowsPerBlock] = sink.m_series;
+				return;
+			}
+			/* Split at a block boundary, so the blocks are the same as in the batch */
+			final int blocks = ((windows + m_windowsPerBlock) - 1) / m_windowsPerBlock;
+			final int half = (blocks / 2) * m_windowsPerBlock;
+			invokeAll(new BlockTask(m_batch, m_start, m_start + half, m_windowsPerBlock),
+					new BlockTask(m_batch, m_start + half, m_end, m_windowsPerBlock));
+		}
+	}
+
+	/**
+	 * Passes the exception of an extractor through the fork/join pool.
+	 */
+	private static final class ExtractionException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private ExtractionException(final Exception cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized Exception getCause() {
+			return (Exception)super.getCause();
+		}
+	}
+
+}
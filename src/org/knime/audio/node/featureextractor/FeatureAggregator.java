@@ -0,0 +1,195 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.knime.audio.data.feature.FeatureExtractor;
+import org.knime.audio.data.feature.FeatureValues;
+
+/**
+ * Aggregates the values of a feature over the windows of an audio while the
+ * windows are extracted, i.e. without keeping the values of the windows. The
+ * mean and the variance are computed with Welford's algorithm, the minimum
+ * and the maximum are kept as they are. Hence, the memory only depends on
+ * the dimension of the feature and each value is only touched once.
+ *
+ * Windows with less values than others, e.g. of the features with a variable
+ * number of values, are padded with zeros.
+ *
+ * @author agent
+ */
+class FeatureAggregator {
+
+	private final FeatureExtractor.Aggregator[] m_aggregators;
+	private long m_count;
+	private int m_dimension;
+	private double[] m_mean;
+	/* The sum of the squared differences from the mean */
+	private double[] m_m2;
+	private double[] m_min;
+	private double[] m_max;
+
+	/**
+	 * @param aggregators the aggregators to compute
+	 * @param dimension the expected number of values per window
+	 */
+	FeatureAggregator(final FeatureExtractor.Aggregator[] aggregators, final int dimension) {
+		m_aggregators = aggregators;
+		final int capacity = Math.max(0, dimension);
+		m_mean = new double[capacity];
+		m_m2 = new double[capacity];
+		m_min = new double[capacity];
+		m_max = new double[capacity];
+	}
+
+	/**
+	 * Adds the values of the next window.
+	 * @param values the values of the window
+	 */
+	void add(final FeatureValues values) {
+		add(values.getValues(), values.getOffset(), values.getLength());
+	}
+
+	/**
+	 * Adds the values of the next window.
+	 * @param values the array containing the values of the window
+	 * @param offset the index of the first value
+	 * @param length the number of values
+	 */
+	void add(final double[] values, final int offset, final int length) {
+		if (length > m_dimension) {
+			grow(length);
+		}
+		m_count++;
+		for (int i = 0; i < m_dimension; i++) {
+			final double value = (i < length) ? values[offset + i] : 0;
+			final double delta = value - m_mean[i];
+			m_mean[i] += delta / m_count;
+			m_m2[i] += delta * (value - m_mean[i]);
+			if (m_count == 1) {
+				m_min[i] = value;
+				m_max[i] = value;
+			} else if (!Double.isNaN(value)) {
+				m_min[i] = (m_min[i] < value) ? m_min[i] : value;
+				m_max[i] = (m_max[i] > value) ? m_max[i] : value;
+			}
+		}
+	}
+
+	/**
+	 * Adds new dimensions, the previous windows are zero in them. Hence, all
+	 * statistics of the new dimensions are zero.
+	 */
+	private void grow(final int dimension) {
+		if (dimension > m_mean.length) {
+			final int capacity = Math.max(dimension, 2 * m_mean.length);
+			m_mean = Arrays.copyOf(m_mean, capacity);
+			m_m2 = Arrays.copyOf(m_m2, capacity);
+			m_min = Arrays.copyOf(m_min, capacity);
+			m_max = Arrays.copyOf(m_max, capacity);
+		}
+		m_dimension = dimension;
+	}
+
+	/**
+	 * @return the number of windows added
+	 */
+	long getCount() {
+		return m_count;
+	}
+
+	/**
+	 * @return the aggregated values for each aggregator, <code>null</code>
+	 * for all aggregators if no window has been added
+	 */
+	Map<FeatureExtractor.Aggregator, double[]> getResult() {
+		final Map<FeatureExtractor.Aggregator, double[]> result =
+				new LinkedHashMap<FeatureExtractor.Aggregator, double[]>();
+		for (final FeatureExtractor.Aggregator aggregator : m_aggregators) {
+			if (m_count == 0) {
+				result.put(aggregator, null);
+				continue;
+			}
+			final double[] values = new double[m_dimension];
+			for (int i = 0; i < m_dimension; i++) {
+				switch (aggregator) {
+				case MEAN:
+					values[i] = m_mean[i];
+					break;
+				case STD_DEVIATION:
+					values[i] = Math.sqrt(getVariance(i));
+					break;
+				case MAX:
+					values[i] = m_max[i];
+					break;
+				case MIN:
+					values[i] = m_min[i];
+					break;
+				case VARIANCE:
+					values[i] = getVariance(i);
+					break;
+				default:
+					values[i] = 0;
+					break;
+				}
+			}
+			result.put(aggregator, values);
+		}
+		return result;
+	}
+
+	/* The bias corrected variance, 0 for a single window */
+	private double getVariance(final int i) {
+		return (m_count > 1) ? (m_m2[i] / (m_count - 1)) : 0;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import java.util.Arrays;
+
+/**
+ * Computes the derivative of a feature over the windows of an audio while the
+ * windows are extracted. The derivative of a window is the regression
+ * <code>sum(n * (x[i + n] - x[i - n])) / (2 * sum(n * n))</code> for
+ * <code>n = 1, ..., regressionWindow</code>, where the first and the last
+ * window are repeated at the borders. See
+ * http://practicalcryptography.com/miscellaneous/machine-learning/guide-mel-frequency-cepstral-coefficients-mfccs/
+ *
+ * Only the last <code>2 * regressionWindow + 1</code> windows are kept in a
+ * ring buffer. The derivatives are passed to an aggregator and, for the
+ * derivatives of higher order, to another derivative as soon as the windows
+ * they depend on have been added. Windows with less values than the window
+ * whose derivative is computed are padded with zeros.
+ *
+ * @author agent
+ */
+class FeatureDerivative {
+
+	private final int m_regressionWindow;
+	private final double m_denominator;
+	private final FeatureAggregator m_aggregator;
+	private final FeatureDerivative m_next;
+	private final double[][] m_windows;
+	private final int[] m_lengths;
+	private long m_count;
+	private long m_computed;
+	private double[] m_derivative = new double[0];
+
+	/**
+	 * @param regressionWindow the number of windows before and after a window
+	 * that are used to compute its derivative
+	 * @param aggregator the aggregator to add the derivatives to, can be
+	 * <code>null</code>
+	 * @param next the derivative to add the derivatives to, i.e. to compute
+	 * the derivative of the next order, can be <code>null</code>
+	 */
+	FeatureDerivative(final int regressionWindow, final FeatureAggregator aggregator,
+			final FeatureDerivative next) {
+		if (regressionWindow < 1) {
+			throw new IllegalArgumentException("The regression window must be at least 1.");
+		}
+		m_regressionWindow = regressionWindow;
+		double sumDenominator = 0;
+		for (int n = 1; n <= regressionWindow; n++) {
+			sumDenominator += n * n;
+		}
+		m_denominator = 2 * sumDenominator;
+		m_aggregator = aggregator;
+		m_next = next;
+		m_windows = new double[2 * regressionWindow + 1][0];
+		m_lengths = new int[m_windows.length];
+	}
+
+	/**
+	 * Adds the values of the next window. Missing windows must not be added.
+	 * @param values the array containing the values of the window
+	 * @param offset the index of the first value
+	 * @param length the number of values
+	 */
+	void add(final double[] values, final int offset, final int length) {
+		final int slot = (int)(m_count % m_windows.length);
+		if (m_windows[slot].length < length) {
+			m_windows[slot] = new double[length];
+		}
+		System.arraycopy(values, offset, m_windows[slot], 0, length);
+		m_lengths[slot] = length;
+		m_count++;
+		if (m_count > m_regressionWindow) {
+			compute(m_count - 1);
+		}
+	}
+
+	/**
+	 * Computes the derivatives of the last windows, i.e. the ones that repeat
+	 * the last window, and finishes the next derivative.
+	 */
+	void finish() {
+		while (m_computed < m_count) {
+			compute(m_count - 1);
+		}
+		if (m_next != null) {
+			m_next.finish();
+		}
+	}
+
+	/* Computes the derivative of the next window, the window with the index
+	 * last is the last window added so far */
+	private void compute(final long last) {
+		final long idx = m_computed++;
+		final int length = m_lengths[(int)(idx % m_windows.length)];
+		if (m_derivative.length < length) {
+			m_derivative = new double[length];
+		}
+		Arrays.fill(m_derivative, 0, length, 0);
+		for (int n = 1; n <= m_regressionWindow; n++) {
+			final int prev = (int)(Math.max(idx - n, 0) % m_windows.length);
+			final int next = (int)(Math.min(idx + n, last) % m_windows.length);
+			final double[] prevValues = m_windows[prev];
+			final double[] nextValues = m_windows[next];
+			final int prevLength = Math.min(length, m_lengths[prev]);
+			final int nextLength = Math.min(length, m_lengths[next]);
+			for (int i = 0; i < length; i++) {
+				final double prevValue = (i < prevLength) ? prevValues[i] : 0;
+				final double nextValue = (i < nextLength) ? nextValues[i] : 0;
+				m_derivative[i] += (nextValue - prevValue) * n;
+			}
+		}
+		for (int i = 0; i < length; i++) {
+			m_derivative[i] /= m_denominator;
+		}
+		if (m_aggregator != null) {
+			m_aggregator.add(m_derivative, 0, length);
+		}
+		if (m_next != null) {
+			m_next.add(m_derivative, 0, length);
+		}
+	}
+
+}
@@ -48,29 +48,19 @@
  */
 package org.knime.audio.node.featureextractor;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Set;
 
-import org.apache.commons.math3.exception.DimensionMismatchException;
-import org.apache.commons.math3.exception.NullArgumentException;
-import org.apache.commons.math3.linear.MatrixUtils;
-import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.stat.StatUtils;
 import org.knime.audio.data.Audio;
-import org.knime.audio.data.AudioSamples;
 import org.knime.audio.data.cell.AudioCell;
 import org.knime.audio.data.cell.AudioValue;
 import org.knime.audio.data.feature.FeatureExtractor;
-import org.knime.audio.data.feature.FeatureType;
+import org.knime.audio.data.feature.FeatureValues;
+import org.knime.audio.data.io.AudioSampleReader;
+import org.knime.audio.data.io.AudioWindowReader;
+import org.knime.audio.data.io.ResamplingSampleReader;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.audio.util.AudioUtils;
-import org.knime.audio.util.MathUtils;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
@@ -81,6 +71,10 @@ import org.knime.core.node.NodeLogger;
  * The {@link AbstractCellFactory} implementation of the AudioFeatureExtractor node
  * that creates a cell for each selected document property.
  *
+ * If parallel processing is enabled, several rows are processed at the same
+ * time. Hence, all state of a row is kept in local variables and the
+ * extractors are shared, they are safe for concurrent use.
+ *
  * @author Budi Yanto, KNIME.com
  */
 class FeatureExtractorCellFactory extends AbstractCellFactory {
@@ -93,9 +87,13 @@ class FeatureExtractorCellFactory extends AbstractCellFactory {
 	private final int m_windowSizeInSamples;
 	private final int m_windowsOverlapInPercent;
 	private final FeatureExtractor.Aggregator[] m_aggregators;
-	private final Set<FeatureExtractor> m_sortedExtractors;
+	private final BlockFeatureExtractor m_blockExtractor;
 	private final boolean m_firstDerivative;
 	private final boolean m_secondDerivative;
+	private final int m_targetSampleRate;
+	private AudioPrefetcher m_prefetcher;
+	private double m_startTime = 0;
+	private double m_endTime = Double.POSITIVE_INFINITY;
 
 	private static int DEF_DERIVATIVE_REGRESSION_WINDOW = 2;
 
@@ -107,12 +105,14 @@ class FeatureExtractorCellFactory extends AbstractCellFactory {
 	 * @param windowSizeInSamples
 	 * @param windowsOverlapInPercent
 	 * @param aggregators
+	 * @param targetSampleRate the sample rate the audio is resampled to before
+	 * the features are extracted, 0 to keep the original sample rate
 	 */
 	FeatureExtractorCellFactory(final int audioColIdx,
 			final DataColumnSpec[] colSpecs, final FeatureExtractor[] extractors,
 			final int windowSizeInSamples, final int windowsOverlapInPercent,
 			final FeatureExtractor.Aggregator[] aggregators, final boolean firstDerivative,
-			final boolean secondDerivative) {
+			final boolean secondDerivative, final int targetSampleRate) {
 		super(colSpecs);
 		if (audioColIdx < 0) {
 			throw new IllegalArgumentException("Invalid audio column");
@@ -126,9 +126,34 @@ class FeatureExtractorCellFactory extends AbstractCellFactory {
 		m_windowSizeInSamples = windowSizeInSamples;
 		m_windowsOverlapInPercent = windowsOverlapInPercent;
 		m_aggregators = aggregators;
-		m_sortedExtractors = sortExtractors(extractors);
+		LOGGER.debug("Compile the extraction plan");
+		m_blockExtractor = new BlockFeatureExtractor(FeaturePlan.compile(extractors));
 		m_firstDerivative = firstDerivative;
 		m_secondDerivative = secondDerivative;
+		m_targetSampleRate = targetSampleRate;
+	}
+
+	/**
+	 * @param prefetcher the prefetcher that reads the audio of the following
+	 * rows ahead, <code>null</code> if the rows shouldn't be read ahead
+	 */
+	void setPrefetcher(final AudioPrefetcher prefetcher) {
+		m_prefetcher = prefetcher;
+	}
+
+	/**
+	 * Restricts the analysis to the given time range of each audio. Only the
+	 * samples within the range are read.
+	 * @param startTime the start of the range in seconds
+	 * @param endTime the end of the range in seconds,
+	 * {@link Double#POSITIVE_INFINITY} to analyze until the end of the audio
+	 */
+	void setAnalysisRange(final double startTime, final double endTime) {
+		if ((startTime < 0) || (endTime <= startTime)) {
+			throw new IllegalArgumentException("Invalid analysis range");
+		}
+		m_startTime = startTime;
+		m_endTime = endTime;
 	}
 
 	/**
@@ -143,53 +168,78 @@ class FeatureExtractorCellFactory extends AbstractCellFactory {
 		}
 
 		final Audio audio = ((AudioCell) cell).getAudio();
+		if (m_prefetcher != null) {
+			m_prefetcher.await(row);
+		}
 
-		try {
-			final AudioSamples audioSamples = AudioUtils.getAudioSamples(audio);
-			final int windowOverlapOffset = (int)((m_windowsOverlapInPercent / 100f)
-					* m_windowSizeInSamples);
-
-			/* Get chunk start indices */
-			LOGGER.debug("Get chunk start indices");
-			final List<Integer> chunkIndices = getChunkStartIndices(audioSamples,
-					m_windowSizeInSamples, windowOverlapOffset);
+		final int windowOverlapOffset = (int)((m_windowsOverlapInPercent / 100f)
+				* m_windowSizeInSamples);
+		try (final AudioWindowReader windows = new AudioWindowReader(
+				ResamplingSampleReader.resample(AudioSampleReader.open(audio,
+						AudioUtils.getFramePosition(audio, m_startTime),
+						AudioUtils.getFramePosition(audio, m_endTime)),
+						m_targetSampleRate),
+				m_windowSizeInSamples, windowOverlapOffset)) {
 
-			/* Extract features per chunk */
+			/* Extract features per chunk and aggregate them while they are extracted */
 			LOGGER.debug("Extract features per chunk");
-			final Map<FeatureType, List<double[]>> featuresPerChunk =
-					extractFeaturesPerChunk(m_sortedExtractors, chunkIndices,
-							audioSamples, m_windowSizeInSamples);
-
-			Map<FeatureType, List<double[]>> firstDerivative = null;
-			if (m_firstDerivative) {
-				firstDerivative = getDerivative(featuresPerChunk);
+			final FeatureAggregator[] aggregators = new FeatureAggregator[m_extractors.length];
+			for (int i = 0; i < m_extractors.length; i++) {
+				aggregators[i] = new FeatureAggregator(m_aggregators,
+						m_extractors[i].getDimension(m_windowSizeInSamples));
 			}
+			/* The derivatives are computed from the features and aggregated while they are extracted */
+			final FeatureAggregator[] firstAggregators = new FeatureAggregator[m_extractors.length];
+			final FeatureAggregator[] secondAggregators = new FeatureAggregator[m_extractors.length];
+			final FeatureDerivative[] derivatives = new FeatureDerivative[m_extractors.length];
+			if (m_firstDerivative || m_secondDerivative) {
+				for (int i = 0; i < m_extractors.length; i++) {
+					final int dimension = m_extractors[i].getDimension(m_windowSizeInSamples);
+					FeatureDerivative secondDerivative = null;
+					if (m_secondDerivative) {
+						secondAggregators[i] = new FeatureAggregator(m_aggregators, dimension);
+						secondDerivative = new FeatureDerivative(DEF_DERIVATIVE_REGRESSION_WINDOW,
+								secondAggregators[i], null);
+					}
+					if (m_firstDerivative) {
+						firstAggregators[i] = new FeatureAggregator(m_aggregators, dimension);
+					}
+					derivatives[i] = new FeatureDerivative(DEF_DERIVATIVE_REGRESSION_WINDOW,
+							firstAggregators[i], secondDerivative);
+				}
+			}
+			m_blockExtractor.extract(windows, new BlockFeatureExtractor.FeatureSink() {
 
-			Map<FeatureType, List<double[]>> secondDerivative = null;
-			if (m_secondDerivative) {
-				if (firstDerivative == null) {
-					firstDerivative = getDerivative(featuresPerChunk);
+				@Override
+				public void add(final int output, final FeatureValues values) {
+					if (values == null) {
+						return;
+					}
+					aggregators[output].add(values);
+					if (derivatives[output] != null) {
+						derivatives[output].add(values.getValues(), values.getOffset(), values.getLength());
+					}
+				}
+			});
+			for (final FeatureDerivative derivative : derivatives) {
+				if (derivative != null) {
+					derivative.finish();
 				}
-				secondDerivative = getDerivative(firstDerivative);
 			}
 
 			/* Put extracted features into DoubleCell */
 			int cellIdx = 0;
-			for (final FeatureExtractor extractor : m_extractors) {
+			for (int i = 0; i < m_extractors.length; i++) {
+				final FeatureExtractor extractor = m_extractors[i];
 				LOGGER.debug("Aggregate features");
-				Map<FeatureExtractor.Aggregator, double[]> aggFeatures = aggregateFeatures(
-						featuresPerChunk.get(extractor.getType()));
-
-				cellIdx = buildCells(cellIdx, cells, extractor, aggFeatures);
+				cellIdx = buildCells(cellIdx, cells, extractor, aggregators[i].getResult());
 
 				if (m_firstDerivative) {
-					aggFeatures = aggregateFeatures(firstDerivative.get(extractor.getType()));
-					cellIdx = buildCells(cellIdx, cells, extractor, aggFeatures);
+					cellIdx = buildCells(cellIdx, cells, extractor, firstAggregators[i].getResult());
 				}
 
 				if (m_secondDerivative) {
-					aggFeatures = aggregateFeatures(secondDerivative.get(extractor.getType()));
-					cellIdx = buildCells(cellIdx, cells, extractor, aggFeatures);
+					cellIdx = buildCells(cellIdx, cells, extractor, secondAggregators[i].getResult());
 				}
 				// for (final Entry<FeatureExtractor.Aggregator, double[]> entry
 				// : aggFeatures.entrySet()) {
@@ -226,192 +276,4 @@ class FeatureExtractorCellFactory extends AbstractCellFactory {
 		return cellIdx;
 	}
 
-	private Map<FeatureType, List<double[]>> getDerivative(final Map<FeatureType, List<double[]>> data) {
-		final Map<FeatureType, List<double[]>> result = new HashMap<FeatureType, List<double[]>>();
-		for (final Entry<FeatureType, List<double[]>> entry : data.entrySet()) {
-			result.put(entry.getKey(), MathUtils.derivative(entry.getValue(), DEF_DERIVATIVE_REGRESSION_WINDOW));
-		}
-		return result;
-	}
-
-	private Set<FeatureExtractor> sortExtractors(final FeatureExtractor[] extractors) {
-		LOGGER.debug("Sort the feature extractors");
-		final Set<FeatureExtractor> result = new LinkedHashSet<FeatureExtractor>();
-		final Map<FeatureType, FeatureExtractor> temp = new HashMap<FeatureType, FeatureExtractor>();
-
-		final Set<FeatureType> orderedTypes = new LinkedHashSet<FeatureType>();
-		for (final FeatureExtractor ext : extractors) {
-			temp.put(ext.getType(), ext);
-			sortFeatureType(ext.getType(), orderedTypes);
-		}
-
-		for (final FeatureType type : orderedTypes) {
-			if (temp.containsKey(type)) {
-				result.add(temp.get(type));
-			} else {
-				result.add(FeatureExtractor.getFeatureExtractor(type));
-			}
-		}
-
-		return result;
-	}
-
-	private static void sortFeatureType(final FeatureType type, final Set<FeatureType> set) {
-		for (final FeatureType ft : type.getDependencies()) {
-			sortFeatureType(ft, set);
-		}
-		set.add(type);
-	}
-
-	private List<Integer> getChunkStartIndices(final AudioSamples wholeSamples, final int chunkSize,
-			final int chunkOverlapOffset) {
-		final double[] samples = wholeSamples.getSamplesMixedDownIntoOneChannel();
-		final List<Integer> result = new ArrayList<Integer>();
-		int position = 0;
-		while (position < samples.length) {
-			position -= chunkOverlapOffset;
-			if (position < 0) {
-				position = 0;
-			}
-			result.add(position);
-			position += chunkSize;
-		}
-		return result;
-	}
-
-	private Map<FeatureType, List<double[]>> extractFeaturesPerChunk(final Set<FeatureExtractor> sortedExtractors,
-			final List<Integer> chunkIndices, final AudioSamples wholeSamples, final int chunkSize) throws Exception {
-
-		final Map<FeatureType, List<double[]>> result = new HashMap<FeatureType, List<double[]>>();
-		final double[] samples = wholeSamples.getSamplesMixedDownIntoOneChannel();
-		int toRead = chunkSize;
-		for (int i = 0; i < chunkIndices.size(); i++) {
-			if (i == (chunkIndices.size() - 1)) {
-				/* Last index, only read the rest of the samples */
-				toRead = samples.length - chunkIndices.get(i);
-			}
-			final double[] buf = new double[chunkSize];
-			System.arraycopy(samples, chunkIndices.get(i), buf, 0, toRead);
-			final AudioSamples chunk = new AudioSamples(buf, wholeSamples.getAudioFormat());
-			extractorLoop:
-				for (final FeatureExtractor extractor : sortedExtractors) {
-					final FeatureType type = extractor.getType();
-					final FeatureType[] dependencies = type.getDependencies();
-					final int[] offsets = type.getOffsets();
-					double[][] additionalValues = new double[dependencies.length][];
-					List<double[]> list = result.get(type);
-					if (list == null) {
-						list = new ArrayList<double[]>();
-						result.put(type, list);
-					}
-
-					for (int j = 0; j < dependencies.length; j++) {
-						final int idx = i + offsets[j];
-						/* No enough previous inforamation to extract this feature. */
-						if ((idx < 0) || !result.containsKey(dependencies[j]) || (result.get(dependencies[j]) == null)) {
-							list.add(null);
-							continue extractorLoop;
-						}
-						if(result.containsKey(dependencies[j])){
-							additionalValues[j] = result.get(dependencies[j]).get(idx);
-						} else {
-							continue extractorLoop;
-						}
-					}
-					if (!type.hasDependencies()) {
-						additionalValues = null;
-					}
-					final double[] features = extractor.extractFeature(chunk, additionalValues);
-					list.add(features);
-					//					List<double[]> list = result.get(type);
-					//					if (list == null) {
-					//						list = new ArrayList<double[]>();
-					//						list.add(features);
-					//						result.put(type, list);
-					//					} else {
-					//						list.add(features);
-					//					}
-				}
-		}
-
-		return result;
-	}
-
-	private Map<FeatureExtractor.Aggregator, double[]> aggregateFeatures(
-			final List<double[]> featuresPerChunk) {
-
-		/* No feature is available, just return null for all aggregators */
-		if((featuresPerChunk == null) || featuresPerChunk.isEmpty()){
-			return getNullAggregatorMap(m_aggregators);
-		}
-
-		RealMatrix rm = null;
-		try{
-			rm = MatrixUtils.createRealMatrix(featuresPerChunk.toArray(new double[featuresPerChunk.size()][]));
-		} catch(final DimensionMismatchException ex){
-			/* Handles features with different length */
-			final int maxDimension = findMaxDimension(featuresPerChunk);
-			final double[][] newFeatures = new double[featuresPerChunk.size()][maxDimension];
-			for(int i  = 0; i < featuresPerChunk.size(); i++){
-				final double[] val = featuresPerChunk.get(i);
-				newFeatures[i] = new double[maxDimension];
-				System.arraycopy(val, 0, newFeatures[i], 0, val.length);
-			}
-			rm = MatrixUtils.createRealMatrix(newFeatures);
-		} catch(final NullArgumentException ex){
-			featuresPerChunk.removeIf(Objects::isNull);
-			if(featuresPerChunk.isEmpty()){
-				return getNullAggregatorMap(m_aggregators);
-			}
-			rm = MatrixUtils.createRealMatrix(featuresPerChunk.toArray(new double[featuresPerChunk.size()][]));
-		}
-
-		final Map<FeatureExtractor.Aggregator, double[]> result = new LinkedHashMap<FeatureExtractor.Aggregator, double[]>();
-		for (final FeatureExtractor.Aggregator aggregator : m_aggregators) {
-			final double[] aggregationValues = new double[rm.getColumnDimension()];
-			for (int i = 0; i < aggregationValues.length; i++) {
-				switch (aggregator) {
-				case MEAN:
-					aggregationValues[i] = StatUtils.mean(rm.getColumn(i));
-					break;
-				case STD_DEVIATION:
-					aggregationValues[i] = Math.sqrt(StatUtils.variance(rm.getColumn(i)));
-					break;
-				case MAX:
-					aggregationValues[i] = StatUtils.max(rm.getColumn(i));
-					break;
-				case MIN:
-					aggregationValues[i] = StatUtils.min(rm.getColumn(i));
-					break;
-				case VARIANCE:
-					aggregationValues[i] = StatUtils.variance(rm.getColumn(i));
-					break;
-				default:
-					aggregationValues[i] = 0;
-					break;
-				}
-			}
-			result.put(aggregator, aggregationValues);
-		}
-		return result;
-	}
-
-	private int findMaxDimension(final List<double[]> featuresPerChunk){
-		int result = 0;
-		for(final double[] features : featuresPerChunk) {
-			if(result < features.length){
-				result = features.length;
-			}
-		}
-		return result;
-	}
-
-	private Map<FeatureExtractor.Aggregator, double[]> getNullAggregatorMap(final FeatureExtractor.Aggregator[] aggregators){
-		final Map<FeatureExtractor.Aggregator, double[]> result = new LinkedHashMap<FeatureExtractor.Aggregator, double[]>();
-		for(final FeatureExtractor.Aggregator aggregator : aggregators){
-			result.put(aggregator, null);
-		}
-		return result;
-	}
-
 }
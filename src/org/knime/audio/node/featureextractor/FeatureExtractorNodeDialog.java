@@ -31,6 +31,8 @@ import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerModel;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.DefaultTableModel;
@@ -48,6 +50,8 @@ import org.knime.core.node.defaultnodesettings.DialogComponentColumnNameSelectio
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumberEdit;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 
 /**
  * <code>NodeDialog</code> for the "FeatureExtractor" Node.
@@ -129,6 +133,43 @@ public class FeatureExtractorNodeDialog extends DefaultNodeSettingsPane {
 		addDialogComponent(windowOverlapComp);
 		closeCurrentGroup();
 
+		createNewGroup("Resampling");
+		setHorizontalPlacement(true);
+		final SettingsModelBoolean resampleModel = FeatureExtractorNodeModel.createResampleSettingsModel();
+		final SettingsModelIntegerBounded targetSampleRateModel =
+				FeatureExtractorNodeModel.createTargetSampleRateSettingsModel();
+		resampleModel.addChangeListener(new ChangeListener() {
+
+			@Override
+			public void stateChanged(final ChangeEvent e) {
+				targetSampleRateModel.setEnabled(resampleModel.getBooleanValue());
+			}
+		});
+		addDialogComponent(new DialogComponentBoolean(resampleModel, "Resample audio"));
+		addDialogComponent(new DialogComponentNumberEdit(targetSampleRateModel,
+				"Target sample rate (Hz): ", 8));
+		setHorizontalPlacement(false);
+		closeCurrentGroup();
+
+		createNewGroup("Analysis Range");
+		setHorizontalPlacement(true);
+		final SettingsModelBoolean analysisRangeModel = FeatureExtractorNodeModel.createAnalysisRangeSettingsModel();
+		final SettingsModelDoubleBounded rangeStartModel = FeatureExtractorNodeModel.createRangeStartSettingsModel();
+		final SettingsModelDoubleBounded rangeEndModel = FeatureExtractorNodeModel.createRangeEndSettingsModel();
+		analysisRangeModel.addChangeListener(new ChangeListener() {
+
+			@Override
+			public void stateChanged(final ChangeEvent e) {
+				rangeStartModel.setEnabled(analysisRangeModel.getBooleanValue());
+				rangeEndModel.setEnabled(analysisRangeModel.getBooleanValue());
+			}
+		});
+		addDialogComponent(new DialogComponentBoolean(analysisRangeModel, "Analyze only a range"));
+		addDialogComponent(new DialogComponentNumberEdit(rangeStartModel, "Start (s): ", 8));
+		addDialogComponent(new DialogComponentNumberEdit(rangeEndModel, "End (s, 0 = end of audio): ", 8));
+		setHorizontalPlacement(false);
+		closeCurrentGroup();
+
 		createNewGroup("Aggregation Method");
 
 		/* Put 3 methods in horizontal position */
@@ -156,6 +197,15 @@ public class FeatureExtractorNodeDialog extends DefaultNodeSettingsPane {
 				"Second Derivative"));
 		closeCurrentGroup();
 
+		createNewGroup("Parallel Processing");
+		setHorizontalPlacement(true);
+		addDialogComponent(new DialogComponentNumber(FeatureExtractorNodeModel.createParallelWorkersSettingsModel(),
+				"Parallel workers (0 = number of processors)", 1));
+		addDialogComponent(new DialogComponentNumber(FeatureExtractorNodeModel.createQueueSizeSettingsModel(),
+				"Queue size (0 = 10 per worker)", 1));
+		setHorizontalPlacement(false);
+		closeCurrentGroup();
+
 	}
 
 	private JPanel createFeaturesTab(){
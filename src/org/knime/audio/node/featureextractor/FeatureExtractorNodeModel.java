@@ -11,6 +11,7 @@ import java.util.Set;
 import org.knime.audio.data.feature.FeatureExtractor;
 import org.knime.audio.data.feature.FeatureType;
 import org.knime.audio.dialogcomponent.AudioColumnSelection;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
@@ -25,6 +26,7 @@ import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.util.UniqueNameGenerator;
 
@@ -40,6 +42,19 @@ public class FeatureExtractorNodeModel extends NodeModel {
 
 	static final int DEF_WINDOW_SIZE = 512;
 	static final int DEF_WINDOW_OVERLAP = 0;
+	static final int DEF_TARGET_SAMPLE_RATE = 16000;
+	/* 0 uses as many workers as there are processors */
+	static final int DEF_PARALLEL_WORKERS = 0;
+	/* 0 queues ten rows per worker */
+	static final int DEF_QUEUE_SIZE = 0;
+
+	private static final String CFG_RESAMPLE = "resample";
+	private static final String CFG_TARGET_SAMPLE_RATE = "target_sample_rate";
+	private static final String CFG_ANALYSIS_RANGE = "analysis_range";
+	private static final String CFG_RANGE_START = "analysis_range_start";
+	private static final String CFG_RANGE_END = "analysis_range_end";
+	private static final String CFG_PARALLEL_WORKERS = "parallel_workers";
+	private static final String CFG_QUEUE_SIZE = "queue_size";
 
 	static final String MEAN = "Mean";
 	static final String STD_DEVIATION = "Standard Deviation";
@@ -50,6 +65,13 @@ public class FeatureExtractorNodeModel extends NodeModel {
 	private final SettingsModelBoolean[] m_aggregatorSettingsModel = createAggregatorSettingsModel();
 	private final SettingsModelBoolean m_firstDerivativeModel = createFirstDerivativeSettingsModel();
 	private final SettingsModelBoolean m_secondDerivativeModel = createSecondDerivativeSettingsModel();
+	private final SettingsModelBoolean m_resampleModel = createResampleSettingsModel();
+	private final SettingsModelIntegerBounded m_targetSampleRateModel = createTargetSampleRateSettingsModel();
+	private final SettingsModelBoolean m_analysisRangeModel = createAnalysisRangeSettingsModel();
+	private final SettingsModelDoubleBounded m_rangeStartModel = createRangeStartSettingsModel();
+	private final SettingsModelDoubleBounded m_rangeEndModel = createRangeEndSettingsModel();
+	private final SettingsModelIntegerBounded m_parallelWorkersModel = createParallelWorkersSettingsModel();
+	private final SettingsModelIntegerBounded m_queueSizeModel = createQueueSizeSettingsModel();
 
 	private final FeatureExtractorSettings m_settings = new FeatureExtractorSettings();
 
@@ -82,6 +104,45 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		return new SettingsModelBoolean("second_derivative", false);
 	}
 
+	static SettingsModelBoolean createResampleSettingsModel() {
+		return new SettingsModelBoolean(CFG_RESAMPLE, false);
+	}
+
+	static SettingsModelIntegerBounded createTargetSampleRateSettingsModel() {
+		final SettingsModelIntegerBounded model = new SettingsModelIntegerBounded(CFG_TARGET_SAMPLE_RATE,
+				DEF_TARGET_SAMPLE_RATE, 1000, 192000);
+		model.setEnabled(false);
+		return model;
+	}
+
+	static SettingsModelBoolean createAnalysisRangeSettingsModel() {
+		return new SettingsModelBoolean(CFG_ANALYSIS_RANGE, false);
+	}
+
+	static SettingsModelDoubleBounded createRangeStartSettingsModel() {
+		final SettingsModelDoubleBounded model = new SettingsModelDoubleBounded(CFG_RANGE_START,
+				0, 0, Double.MAX_VALUE);
+		model.setEnabled(false);
+		return model;
+	}
+
+	/* An end of 0 analyzes until the end of the audio */
+	static SettingsModelDoubleBounded createRangeEndSettingsModel() {
+		final SettingsModelDoubleBounded model = new SettingsModelDoubleBounded(CFG_RANGE_END,
+				0, 0, Double.MAX_VALUE);
+		model.setEnabled(false);
+		return model;
+	}
+
+	/* One worker processes the rows one after another */
+	static SettingsModelIntegerBounded createParallelWorkersSettingsModel() {
+		return new SettingsModelIntegerBounded(CFG_PARALLEL_WORKERS, DEF_PARALLEL_WORKERS, 0, 1024);
+	}
+
+	static SettingsModelIntegerBounded createQueueSizeSettingsModel() {
+		return new SettingsModelIntegerBounded(CFG_QUEUE_SIZE, DEF_QUEUE_SIZE, 0, Integer.MAX_VALUE);
+	}
+
 	/**
 	 * Constructor for the node model.
 	 */
@@ -99,6 +160,11 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		LOGGER.debug("Audio Column: " + m_audioColumnSelectionSettingsModel.getSelectedColumn());
 		LOGGER.debug("Windows size: " + m_windowSizeSettingsModel.getIntValue());
 		LOGGER.debug("Window overlap: " + m_windowOverlapSettingsModel.getIntValue());
+		LOGGER.debug("Resample: " + m_resampleModel.getBooleanValue() + " - "
+				+ m_targetSampleRateModel.getIntValue() + " Hz");
+		LOGGER.debug("Analysis range: " + m_analysisRangeModel.getBooleanValue() + " - "
+				+ m_rangeStartModel.getDoubleValue() + " s to " + m_rangeEndModel.getDoubleValue() + " s");
+		LOGGER.debug("Parallel workers: " + getParallelWorkers() + " - queue size " + getQueueSize());
 		for (final SettingsModelBoolean model : m_aggregatorSettingsModel) {
 			LOGGER.debug("Aggregator: " + model.getConfigName() + " - " + model.getBooleanValue());
 		}
@@ -135,9 +201,15 @@ public class FeatureExtractorNodeModel extends NodeModel {
 			setWarningMessage("No feature is selected. Node returns the original unaltered table.");
 			resultTable = dataTable;
 		}else{
-			final ColumnRearranger rearranger = createColumnRearranger(
-					dataTable.getDataTableSpec());
-			resultTable = exec.createColumnRearrangeTable(dataTable, rearranger, exec);
+			/* Read the audio of the following rows ahead while the current rows are processed. The
+			 * rows processed in parallel may start in a different order than the one of the table. */
+			final int reordered = (getParallelWorkers() > 1) ? getQueueSize() : 0;
+			try (final AudioPrefetcher prefetcher = new AudioPrefetcher(dataTable,
+					m_audioColumnSelectionSettingsModel.getSelectedColumnIndex(), reordered)) {
+				final ColumnRearranger rearranger = createColumnRearranger(
+						dataTable.getDataTableSpec(), prefetcher);
+				resultTable = exec.createColumnRearrangeTable(dataTable, rearranger, exec);
+			}
 		}
 
 		return new BufferedDataTable[]{resultTable};
@@ -172,7 +244,12 @@ public class FeatureExtractorNodeModel extends NodeModel {
 
 		checkAggregatorSelected(m_aggregatorSettingsModel);
 
-		return new DataTableSpec[]{createColumnRearranger(inSpec).createSpec()};
+		if (m_analysisRangeModel.getBooleanValue() && (m_rangeEndModel.getDoubleValue() > 0)
+				&& (m_rangeEndModel.getDoubleValue() <= m_rangeStartModel.getDoubleValue())) {
+			throw new InvalidSettingsException("The end of the analysis range must be after its start.");
+		}
+
+		return new DataTableSpec[]{createColumnRearranger(inSpec, null).createSpec()};
 	}
 
 	/**
@@ -188,6 +265,13 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		}
 		m_firstDerivativeModel.saveSettingsTo(settings);
 		m_secondDerivativeModel.saveSettingsTo(settings);
+		m_resampleModel.saveSettingsTo(settings);
+		m_targetSampleRateModel.saveSettingsTo(settings);
+		m_analysisRangeModel.saveSettingsTo(settings);
+		m_rangeStartModel.saveSettingsTo(settings);
+		m_rangeEndModel.saveSettingsTo(settings);
+		m_parallelWorkersModel.saveSettingsTo(settings);
+		m_queueSizeModel.saveSettingsTo(settings);
 		m_settings.saveSettingsTo(settings);
 	}
 
@@ -205,6 +289,24 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		}
 		m_firstDerivativeModel.loadSettingsFrom(settings);
 		m_secondDerivativeModel.loadSettingsFrom(settings);
+		/* Settings of older versions don't contain the resampling, the analysis range and the
+		 * parallel processing, keep the defaults */
+		if (settings.containsKey(CFG_RESAMPLE)) {
+			m_resampleModel.loadSettingsFrom(settings);
+			m_targetSampleRateModel.loadSettingsFrom(settings);
+		}
+		m_targetSampleRateModel.setEnabled(m_resampleModel.getBooleanValue());
+		if (settings.containsKey(CFG_ANALYSIS_RANGE)) {
+			m_analysisRangeModel.loadSettingsFrom(settings);
+			m_rangeStartModel.loadSettingsFrom(settings);
+			m_rangeEndModel.loadSettingsFrom(settings);
+		}
+		m_rangeStartModel.setEnabled(m_analysisRangeModel.getBooleanValue());
+		m_rangeEndModel.setEnabled(m_analysisRangeModel.getBooleanValue());
+		if (settings.containsKey(CFG_PARALLEL_WORKERS)) {
+			m_parallelWorkersModel.loadSettingsFrom(settings);
+			m_queueSizeModel.loadSettingsFrom(settings);
+		}
 		m_settings.loadSettingsFrom(settings);
 	}
 
@@ -222,6 +324,26 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		}
 		m_firstDerivativeModel.validateSettings(settings);
 		m_secondDerivativeModel.validateSettings(settings);
+		/* Settings of older versions don't contain the resampling, the analysis range and the
+		 * parallel processing, the defaults are kept when they are loaded */
+		if (settings.containsKey(CFG_RESAMPLE)) {
+			m_resampleModel.validateSettings(settings);
+			m_targetSampleRateModel.validateSettings(settings);
+		}
+		if (settings.containsKey(CFG_ANALYSIS_RANGE)) {
+			m_analysisRangeModel.validateSettings(settings);
+			m_rangeStartModel.validateSettings(settings);
+			m_rangeEndModel.validateSettings(settings);
+			final double start = settings.getDouble(CFG_RANGE_START);
+			final double end = settings.getDouble(CFG_RANGE_END);
+			if (settings.getBoolean(CFG_ANALYSIS_RANGE) && (end > 0) && (end <= start)) {
+				throw new InvalidSettingsException("The end of the analysis range must be after its start.");
+			}
+		}
+		if (settings.containsKey(CFG_PARALLEL_WORKERS)) {
+			m_parallelWorkersModel.validateSettings(settings);
+			m_queueSizeModel.validateSettings(settings);
+		}
 		m_settings.validateSettings(settings);
 	}
 
@@ -245,7 +367,8 @@ public class FeatureExtractorNodeModel extends NodeModel {
 		// TODO: generated method stub
 	}
 
-	private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec) throws InvalidSettingsException {
+	private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec,
+			final AudioPrefetcher prefetcher) throws InvalidSettingsException {
 		final ColumnRearranger rearranger = new ColumnRearranger(inSpec);
 		final int colIdx = m_audioColumnSelectionSettingsModel.getSelectedColumnIndex();
 
@@ -321,13 +444,40 @@ public class FeatureExtractorNodeModel extends NodeModel {
 						featureExtractors, m_windowSizeSettingsModel.getIntValue(),
 						m_windowOverlapSettingsModel.getIntValue(),
 						selectedAggregators.toArray(new FeatureExtractor.Aggregator[selectedAggregators.size()]),
-						m_firstDerivativeModel.getBooleanValue(), m_secondDerivativeModel.getBooleanValue());
+						m_firstDerivativeModel.getBooleanValue(), m_secondDerivativeModel.getBooleanValue(),
+						m_resampleModel.getBooleanValue() ? m_targetSampleRateModel.getIntValue() : 0);
+		cellFactory.setPrefetcher(prefetcher);
+		final int workers = getParallelWorkers();
+		cellFactory.setParallelProcessing(workers > 1, workers, getQueueSize());
+		if (m_analysisRangeModel.getBooleanValue()) {
+			final double end = m_rangeEndModel.getDoubleValue();
+			cellFactory.setAnalysisRange(m_rangeStartModel.getDoubleValue(),
+					(end > 0) ? end : Double.POSITIVE_INFINITY);
+		}
 
 		rearranger.append(cellFactory);
 
 		return rearranger;
 	}
 
+	/**
+	 * @return the number of parallel workers, as many as there are
+	 * processors if the setting is 0
+	 */
+	private int getParallelWorkers() {
+		final int workers = m_parallelWorkersModel.getIntValue();
+		return (workers > 0) ? workers : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * @return the number of rows queued for the parallel workers, ten per
+	 * worker if the setting is 0
+	 */
+	private int getQueueSize() {
+		final int queueSize = m_queueSizeModel.getIntValue();
+		return (queueSize > 0) ? queueSize : (10 * getParallelWorkers());
+	}
+
 	private void addColSpecToList(final String colName, final int dimension, final DataType type,
 			final List<FeatureExtractor.Aggregator> aggregators, final Set<String> colNames,
 			final List<DataColumnSpec> colSpecsList) {
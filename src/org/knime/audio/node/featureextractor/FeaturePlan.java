@@ -0,0 +1,278 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.knime.audio.data.feature.FeatureExtractor;
+import org.knime.audio.data.feature.FeatureType;
+
+/**
+ * The compiled, immutable plan to extract a set of features. Each feature that
+ * is either extracted or needed as dependency gets a slot, the slots are
+ * sorted so that the dependencies of a slot come before it. The dependencies
+ * are resolved once to the slots and offsets of the windows they are taken
+ * from, so the extraction only works with array indices.
+ *
+ * The plan also knows how many previous windows of each slot are looked back
+ * at. Hence, only these windows have to be kept during the extraction,
+ * independent of the number of windows of an audio.
+ *
+ * @author agent
+ */
+final class FeaturePlan {
+
+	private final FeatureExtractor[] m_extractors;
+	/* The slots of the dependencies of each slot */
+	private final int[][] m_dependencies;
+	/* The offsets of the windows of the dependencies of each slot */
+	private final int[][] m_offsets;
+	/* The number of previous windows of each slot that other slots look back at */
+	private final int[] m_history;
+	/* The number of windows before a window the feature of each slot is needed for */
+	private final int[] m_lookback;
+	private final int m_maxLookback;
+	/* The slot of each extracted feature */
+	private final int[] m_outputs;
+	/* Whether each slot is derived from the shared time domain statistics of a window */
+	private final boolean[] m_timeDomain;
+	/* Whether the feature of each slot is extracted from consecutive windows at once */
+	private final boolean[] m_batches;
+
+	private FeaturePlan(final FeatureExtractor[] extractors, final int[][] dependencies,
+			final int[][] offsets, final int[] outputs) {
+		m_extractors = extractors;
+		m_dependencies = dependencies;
+		m_offsets = offsets;
+		m_outputs = outputs;
+		m_timeDomain = new boolean[extractors.length];
+		m_batches = new boolean[extractors.length];
+		for (int slot = 0; slot < extractors.length; slot++) {
+			m_timeDomain[slot] = extractors[slot].usesTimeDomainStatistics();
+			m_batches[slot] = !m_timeDomain[slot] && (dependencies[slot].length == 0)
+					&& extractors[slot].extractsBatches();
+		}
+		m_history = new int[extractors.length];
+		m_lookback = new int[extractors.length];
+		/* The dependencies come first, so the lookback of each slot is final
+		 * before it is passed on to its dependencies */
+		int maxLookback = 0;
+		for (int slot = extractors.length - 1; slot >= 0; slot--) {
+			maxLookback = Math.max(maxLookback, m_lookback[slot]);
+			for (int j = 0; j < dependencies[slot].length; j++) {
+				final int dependency = dependencies[slot][j];
+				m_history[dependency] = Math.max(m_history[dependency], -offsets[slot][j]);
+				m_lookback[dependency] = Math.max(m_lookback[dependency],
+						m_lookback[slot] - offsets[slot][j]);
+			}
+		}
+		m_maxLookback = maxLookback;
+	}
+
+	/**
+	 * Compiles the plan to extract the features of the given extractors. The
+	 * extractors of the dependencies that aren't given are created.
+	 * @param extractors the extractors of the features to extract
+	 * @return the plan
+	 */
+	static FeaturePlan compile(final FeatureExtractor[] extractors) {
+		final Map<FeatureType, FeatureExtractor> given =
+				new EnumMap<FeatureType, FeatureExtractor>(FeatureType.class);
+		final Set<FeatureType> orderedTypes = new LinkedHashSet<FeatureType>();
+		for (final FeatureExtractor extractor : extractors) {
+			given.put(extractor.getType(), extractor);
+			sortFeatureType(extractor.getType(), orderedTypes);
+		}
+
+		final Map<FeatureType, Integer> slots = new EnumMap<FeatureType, Integer>(FeatureType.class);
+		final FeatureExtractor[] slotExtractors = new FeatureExtractor[orderedTypes.size()];
+		final int[][] dependencies = new int[slotExtractors.length][];
+		final int[][] offsets = new int[slotExtractors.length][];
+		int slot = 0;
+		for (final FeatureType type : orderedTypes) {
+			final FeatureExtractor extractor = given.get(type);
+			slotExtractors[slot] = (extractor != null) ? extractor
+					: FeatureExtractor.getFeatureExtractor(type);
+			if (type.hasDependencies()) {
+				final FeatureType[] types = type.getDependencies();
+				dependencies[slot] = new int[types.length];
+				offsets[slot] = type.getOffsets().clone();
+				for (int j = 0; j < types.length; j++) {
+					if (offsets[slot][j] > 0) {
+						throw new IllegalArgumentException("The feature " + type.getName()
+								+ " cannot depend on the features of following windows.");
+					}
+					dependencies[slot][j] = slots.get(types[j]);
+				}
+			} else {
+				dependencies[slot] = new int[0];
+				offsets[slot] = new int[0];
+			}
+			slots.put(type, slot);
+			slot++;
+		}
+
+		final int[] outputs = new int[extractors.length];
+		for (int i = 0; i < extractors.length; i++) {
+			outputs[i] = slots.get(extractors[i].getType());
+		}
+		return new FeaturePlan(slotExtractors, dependencies, offsets, outputs);
+	}
+
+	private static void sortFeatureType(final FeatureType type, final Set<FeatureType> set) {
+		for (final FeatureType ft : type.getDependencies()) {
+			sortFeatureType(ft, set);
+		}
+		set.add(type);
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	int getNumberOfSlots() {
+		return m_extractors.length;
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return the extractor of the slot
+	 */
+	FeatureExtractor getExtractor(final int slot) {
+		return m_extractors[slot];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return <code>true</code> if the feature of the slot is derived from the
+	 * time domain statistics of a window, which are shared by all such slots
+	 */
+	boolean usesTimeDomainStatistics(final int slot) {
+		return m_timeDomain[slot];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return <code>true</code> if the feature of the slot doesn't have
+	 * dependencies and is extracted from consecutive windows at once
+	 */
+	boolean extractsBatches(final int slot) {
+		return m_batches[slot];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return the number of dependencies of the slot
+	 */
+	int getNumberOfDependencies(final int slot) {
+		return m_dependencies[slot].length;
+	}
+
+	/**
+	 * @param slot the slot
+	 * @param idx the index of the dependency
+	 * @return the slot of the dependency
+	 */
+	int getDependency(final int slot, final int idx) {
+		return m_dependencies[slot][idx];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @param idx the index of the dependency
+	 * @return the offset of the window of the dependency, zero or negative
+	 */
+	int getOffset(final int slot, final int idx) {
+		return m_offsets[slot][idx];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return the number of previous windows of the slot that other slots
+	 * look back at
+	 */
+	int getHistory(final int slot) {
+		return m_history[slot];
+	}
+
+	/**
+	 * @param slot the slot
+	 * @return the number of windows before a window the feature of the slot
+	 * is needed for, directly or through other slots
+	 */
+	int getLookback(final int slot) {
+		return m_lookback[slot];
+	}
+
+	/**
+	 * @return the maximal number of previous windows a feature depends on
+	 */
+	int getMaxLookback() {
+		return m_maxLookback;
+	}
+
+	/**
+	 * @return the number of extracted features, i.e. the number of the
+	 * extractors the plan has been compiled with
+	 */
+	int getNumberOfOutputs() {
+		return m_outputs.length;
+	}
+
+	/**
+	 * @param output the index of the extracted feature
+	 * @return the slot of the extracted feature
+	 */
+	int getOutputSlot(final int output) {
+		return m_outputs[output];
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import java.util.Arrays;
+
+import org.knime.audio.data.feature.FeatureValues;
+
+/**
+ * The values of a feature for consecutive windows, stored one after
+ * another in a single array. Windows whose feature couldn't be extracted,
+ * e.g. because there aren't enough previous windows, are missing.
+ *
+ * @author agent
+ */
+class FeatureSeries {
+
+	private double[] m_values;
+	/* The values of window i range from m_offsets[i] to m_offsets[i + 1] */
+	private int[] m_offsets;
+	private boolean[] m_missing;
+	private int m_size;
+
+	/**
+	 * @param numberOfWindows the expected number of windows
+	 * @param dimension the expected number of values per window
+	 */
+	FeatureSeries(final int numberOfWindows, final int dimension) {
+		final int windows = Math.max(1, numberOfWindows);
+		m_values = new double[(int)Math.min(Integer.MAX_VALUE - 8,
+				(long)windows * Math.max(1, dimension))];
+		m_offsets = new int[windows + 1];
+		m_missing = new boolean[windows];
+	}
+
+	/**
+	 * Appends the values of the next window.
+	 * @param values the values to append, they are copied
+	 */
+	void add(final FeatureValues values) {
+		add(values.getValues(), values.getOffset(), values.getLength());
+	}
+
+	private void add(final double[] values, final int offset, final int length) {
+		final int start = m_offsets[m_size];
+		if ((start + length) > m_values.length) {
+			m_values = Arrays.copyOf(m_values, Math.max(start + length,
+					(int)Math.min(Integer.MAX_VALUE - 8, 2L * m_values.length)));
+		}
+		System.arraycopy(values, offset, m_values, start, length);
+		next(length, false);
+	}
+
+	/**
+	 * Appends a window whose feature is missing.
+	 */
+	void addMissing() {
+		next(0, true);
+	}
+
+	private void next(final int length, final boolean missing) {
+		if (m_size == m_missing.length) {
+			m_missing = Arrays.copyOf(m_missing, 2 * m_missing.length);
+			m_offsets = Arrays.copyOf(m_offsets, m_missing.length + 1);
+		}
+		m_missing[m_size] = missing;
+		m_offsets[m_size + 1] = m_offsets[m_size] + length;
+		m_size++;
+	}
+
+	/**
+	 * @return the number of windows
+	 */
+	int size() {
+		return m_size;
+	}
+
+	/**
+	 * @param window the index of the window
+	 * @return <code>true</code> if the feature of the window is missing
+	 */
+	boolean isMissing(final int window) {
+		return m_missing[window];
+	}
+
+	/**
+	 * Lets the given values refer to the values of the given window, nothing
+	 * is copied. The values are valid until the next window is appended.
+	 * @param window the index of the window
+	 * @param values the values to set
+	 */
+	void get(final int window, final FeatureValues values) {
+		values.set(m_values, m_offsets[window], m_offsets[window + 1] - m_offsets[window]);
+	}
+
+}
@@ -48,18 +48,17 @@
  */
 package org.knime.audio.node.mpeg7featureextractor;
 
-import java.io.File;
 import java.util.Map;
 
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-
+import org.knime.audio.data.Audio;
 import org.knime.audio.data.cell.AudioCell;
 import org.knime.audio.data.cell.AudioValue;
 import org.knime.audio.data.feature.FeatureExtractor;
 import org.knime.audio.data.feature.mpeg7.MPEG7AudioDescriptor;
 import org.knime.audio.data.feature.mpeg7.MPEG7DocumentBuilder;
 import org.knime.audio.data.feature.mpeg7.MPEG7FeatureType;
+import org.knime.audio.data.io.AudioSampleReader;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
@@ -79,6 +78,7 @@ public class MPEG7FeatureExtractorCellFactory extends AbstractCellFactory {
 	private final FeatureExtractor.Aggregator m_aggregator;
 	private final Config m_config;
 	private final MPEG7FeatureType[] m_selectedFeatures;
+	private AudioPrefetcher m_prefetcher;
 
 	MPEG7FeatureExtractorCellFactory(final int audioColIdx, final String aggregator, final Config config,
 			final MPEG7FeatureType[] selectedFeatures, final DataColumnSpec[] colSpecs) {
@@ -89,6 +89,14 @@ public class MPEG7FeatureExtractorCellFactory extends AbstractCellFactory {
 		m_selectedFeatures = selectedFeatures;
 	}
 
+	/**
+	 * @param prefetcher the prefetcher that reads the audio of the following
+	 * rows ahead, <code>null</code> if the rows shouldn't be read ahead
+	 */
+	void setPrefetcher(final AudioPrefetcher prefetcher) {
+		m_prefetcher = prefetcher;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -100,11 +108,13 @@ public class MPEG7FeatureExtractorCellFactory extends AbstractCellFactory {
 			throw new IllegalStateException("Invalid column type");
 		}
 
-		final File file = ((AudioCell) cell).getAudio().getFile();
-		try{
-			final AudioInputStream ais = AudioSystem.getAudioInputStream(file);
+		final Audio audio = ((AudioCell) cell).getAudio();
+		if (m_prefetcher != null) {
+			m_prefetcher.await(row);
+		}
+		try (final AudioSampleReader reader = AudioSampleReader.open(audio)) {
 			final MPEG7DocumentBuilder builder = new MPEG7DocumentBuilder();
-			builder.encode(ais, m_config, false);
+			builder.encode(reader, m_config, false);
 			final Map<String, MPEG7AudioDescriptor> descriptors = builder.getDescriptors();
 			int cellIdx = 0;
 			for (final MPEG7FeatureType type : m_selectedFeatures) {
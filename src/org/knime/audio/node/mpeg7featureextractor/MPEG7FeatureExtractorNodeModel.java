@@ -8,6 +8,7 @@ import java.util.Set;
 
 import org.knime.audio.data.feature.mpeg7.MPEG7FeatureType;
 import org.knime.audio.dialogcomponent.AudioColumnSelection;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.ColumnRearranger;
@@ -74,8 +75,13 @@ public class MPEG7FeatureExtractorNodeModel extends NodeModel {
 			setWarningMessage("No feature is selected. Node returns the original unaltered table.");
 			resultTable = dataTable;
 		} else {
-			final ColumnRearranger rearranger = createColumnRearranger(dataTable.getDataTableSpec());
-			resultTable = exec.createColumnRearrangeTable(dataTable, rearranger, exec);
+			/* Read the audio of the following rows ahead while the current row is processed */
+			try (final AudioPrefetcher prefetcher = new AudioPrefetcher(dataTable,
+					m_audioColumnSelectionModel.getSelectedColumnIndex())) {
+				final ColumnRearranger rearranger = createColumnRearranger(
+						dataTable.getDataTableSpec(), prefetcher);
+				resultTable = exec.createColumnRearrangeTable(dataTable, rearranger, exec);
+			}
 		}
 
 		return new BufferedDataTable[] { resultTable };
@@ -108,7 +114,7 @@ public class MPEG7FeatureExtractorNodeModel extends NodeModel {
 		final DataTableSpec inSpec = inSpecs[0];
 		m_audioColumnSelectionModel.configure(inSpec);
 
-		return new DataTableSpec[] { createColumnRearranger(inSpec).createSpec() };
+		return new DataTableSpec[] { createColumnRearranger(inSpec, null).createSpec() };
 	}
 
 	/**
@@ -163,7 +169,8 @@ public class MPEG7FeatureExtractorNodeModel extends NodeModel {
 		// TODO: generated method stub
 	}
 
-	private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec) {
+	private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec,
+			final AudioPrefetcher prefetcher) {
 		final ColumnRearranger rearranger = new ColumnRearranger(inSpec);
 		final int colIdx = m_audioColumnSelectionModel.getSelectedColumnIndex();
 		final Set<MPEG7FeatureType> selectedFeatures = m_settings.getSelectedFeatures();
@@ -175,13 +182,14 @@ public class MPEG7FeatureExtractorNodeModel extends NodeModel {
 			}
 		}
 
-		rearranger.append(
+		final MPEG7FeatureExtractorCellFactory cellFactory =
 				new MPEG7FeatureExtractorCellFactory(colIdx, m_aggregatorModel.getStringValue(),
 						m_settings.getMpeg7Config(),
 						selectedFeatures.toArray(new MPEG7FeatureType[selectedFeatures.size()]),
 						colSpecList.toArray(new DataColumnSpec[colSpecList.size()])
-						)
-				);
+						);
+		cellFactory.setPrefetcher(prefetcher);
+		rearranger.append(cellFactory);
 
 		return rearranger;
 	}
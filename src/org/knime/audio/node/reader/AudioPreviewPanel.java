@@ -201,10 +201,8 @@ public class AudioPreviewPanel extends JPanel{
                 audioFormat.getSampleSizeInBits());
             final int samplesLength = samples.length;
             float[] newSamples = new float[samplesLength / normalizedBytes];
-            long[] transfer = new long[samplesLength / normalizedBytes];
 
-            newSamples = AudioUtils.unpack(samples, transfer, newSamples,
-                samplesLength, audioFormat);
+            newSamples = AudioUtils.unpack(samples, newSamples, samplesLength, audioFormat);
             newSamples = AudioUtils.window(newSamples, samplesLength / normalizedBytes, audioFormat);
 
             m_displayPanel.makePath(nrOfChannels, newSamples, samplesLength / normalizedBytes);
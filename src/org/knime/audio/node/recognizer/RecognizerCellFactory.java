@@ -55,6 +55,7 @@ import org.knime.audio.data.cell.AudioCellFactory;
 import org.knime.audio.data.cell.AudioValue;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.audio.data.recognizer.Recognizer;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
@@ -70,6 +71,9 @@ public class RecognizerCellFactory extends AbstractCellFactory{
 
     private final int m_audioColIdx;
     private final Recognizer m_recognizer;
+    private AudioPrefetcher m_prefetcher;
+    private double m_startTime = 0;
+    private double m_endTime = Double.POSITIVE_INFINITY;
 
     /**
      *
@@ -84,6 +88,28 @@ public class RecognizerCellFactory extends AbstractCellFactory{
         m_recognizer = recognizer;
     }
 
+    /**
+     * @param prefetcher the prefetcher that reads the audio of the following
+     * rows ahead, <code>null</code> if the rows shouldn't be read ahead
+     */
+    public void setPrefetcher(final AudioPrefetcher prefetcher){
+        m_prefetcher = prefetcher;
+    }
+
+    /**
+     * Restricts the recognition to the given time range of each audio.
+     * @param startTime the start of the range in seconds
+     * @param endTime the end of the range in seconds,
+     * {@link Double#POSITIVE_INFINITY} to recognize until the end of the audio
+     */
+    public void setAnalysisRange(final double startTime, final double endTime){
+        if(startTime < 0 || endTime <= startTime){
+            throw new IllegalArgumentException("Invalid analysis range");
+        }
+        m_startTime = startTime;
+        m_endTime = endTime;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,6 +120,9 @@ public class RecognizerCellFactory extends AbstractCellFactory{
         if(!audioCell.getType().isCompatible(AudioValue.class)){
             throw new IllegalStateException("Invalid column type");
         }
+        if(m_prefetcher != null){
+            m_prefetcher.await(row);
+        }
 
         if(audioCell.isMissing()){
             for(int i = 0; i < cells.length; i++){
@@ -104,7 +133,8 @@ public class RecognizerCellFactory extends AbstractCellFactory{
              * to replace the old one */
             final Audio newAudio = AudioBuilder.createAudio(
                 ((AudioCell) audioCell).getAudio());
-            final RecognitionResult result = m_recognizer.recognize(newAudio);
+            final RecognitionResult result = m_recognizer.recognize(newAudio,
+                m_startTime, m_endTime);
 
 //            final RecognitionResult result = new RecognitionResult(
 //                m_recognizer.getName(),
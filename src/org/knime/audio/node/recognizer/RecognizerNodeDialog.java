@@ -48,9 +48,15 @@
  */
 package org.knime.audio.node.recognizer;
 
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
 import org.knime.audio.dialogcomponent.AudioColumnSelection;
 import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumberEdit;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
 
 /**
  *
@@ -68,6 +74,25 @@ public class RecognizerNodeDialog extends DefaultNodeSettingsPane{
             RecognizerNodeModel.createAppendTranscriptionModel(),
             "Append transcription"));
         closeCurrentGroup();
+
+        createNewGroup("Analysis Range");
+        setHorizontalPlacement(true);
+        final SettingsModelBoolean analysisRangeModel = RecognizerNodeModel.createAnalysisRangeModel();
+        final SettingsModelDoubleBounded rangeStartModel = RecognizerNodeModel.createRangeStartModel();
+        final SettingsModelDoubleBounded rangeEndModel = RecognizerNodeModel.createRangeEndModel();
+        analysisRangeModel.addChangeListener(new ChangeListener() {
+
+            @Override
+            public void stateChanged(final ChangeEvent e) {
+                rangeStartModel.setEnabled(analysisRangeModel.getBooleanValue());
+                rangeEndModel.setEnabled(analysisRangeModel.getBooleanValue());
+            }
+        });
+        addDialogComponent(new DialogComponentBoolean(analysisRangeModel, "Recognize only a range"));
+        addDialogComponent(new DialogComponentNumberEdit(rangeStartModel, "Start (s): ", 8));
+        addDialogComponent(new DialogComponentNumberEdit(rangeEndModel, "End (s, 0 = end of audio): ", 8));
+        setHorizontalPlacement(false);
+        closeCurrentGroup();
     }
 
 }
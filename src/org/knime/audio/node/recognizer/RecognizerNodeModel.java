@@ -54,17 +54,21 @@ import java.io.IOException;
 import org.knime.audio.node.recognizer.RecognizerCellFactory;
 import org.knime.audio.dialogcomponent.AudioColumnSelection;
 import org.knime.audio.data.recognizer.Recognizer;
+import org.knime.audio.util.AudioPrefetcher;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.ColumnRearranger;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
 import org.knime.core.util.UniqueNameGenerator;
 
 /**
@@ -75,12 +79,34 @@ public class RecognizerNodeModel extends NodeModel{
 
     private final AudioColumnSelection m_audioColumnSelection = new AudioColumnSelection();
     private final SettingsModelBoolean m_appendTranscriptionModel = createAppendTranscriptionModel();
+    private final SettingsModelBoolean m_analysisRangeModel = createAnalysisRangeModel();
+    private final SettingsModelDoubleBounded m_rangeStartModel = createRangeStartModel();
+    private final SettingsModelDoubleBounded m_rangeEndModel = createRangeEndModel();
     private final Recognizer m_recognizer;
 
     static SettingsModelBoolean createAppendTranscriptionModel(){
         return new SettingsModelBoolean("AppendTranscription", true);
     }
 
+    static SettingsModelBoolean createAnalysisRangeModel(){
+        return new SettingsModelBoolean("AnalysisRange", false);
+    }
+
+    static SettingsModelDoubleBounded createRangeStartModel(){
+        final SettingsModelDoubleBounded model = new SettingsModelDoubleBounded(
+            "AnalysisRangeStart", 0, 0, Double.MAX_VALUE);
+        model.setEnabled(false);
+        return model;
+    }
+
+    /* An end of 0 recognizes until the end of the audio */
+    static SettingsModelDoubleBounded createRangeEndModel(){
+        final SettingsModelDoubleBounded model = new SettingsModelDoubleBounded(
+            "AnalysisRangeEnd", 0, 0, Double.MAX_VALUE);
+        model.setEnabled(false);
+        return model;
+    }
+
     /**
      * Constructor for the node model.
      * @param recognizer
@@ -117,6 +143,9 @@ public class RecognizerNodeModel extends NodeModel{
     protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_audioColumnSelection.saveSettingsTo(settings);
         m_appendTranscriptionModel.saveSettingsTo(settings);
+        m_analysisRangeModel.saveSettingsTo(settings);
+        m_rangeStartModel.saveSettingsTo(settings);
+        m_rangeEndModel.saveSettingsTo(settings);
     }
 
     /**
@@ -135,6 +164,15 @@ public class RecognizerNodeModel extends NodeModel{
     protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
         m_audioColumnSelection.loadSettingsFrom(settings);
         m_appendTranscriptionModel.loadSettingsFrom(settings);
+        try{
+            m_analysisRangeModel.loadSettingsFrom(settings);
+            m_rangeStartModel.loadSettingsFrom(settings);
+            m_rangeEndModel.loadSettingsFrom(settings);
+        } catch(final InvalidSettingsException ex){
+            /* Settings of older versions don't contain the analysis range, keep the defaults */
+        }
+        m_rangeStartModel.setEnabled(m_analysisRangeModel.getBooleanValue());
+        m_rangeEndModel.setEnabled(m_analysisRangeModel.getBooleanValue());
     }
 
     /**
@@ -165,6 +203,11 @@ public class RecognizerNodeModel extends NodeModel{
         }
 
         m_audioColumnSelection.configure(inSpec);
+
+        if(m_analysisRangeModel.getBooleanValue() && m_rangeEndModel.getDoubleValue() > 0
+                && m_rangeEndModel.getDoubleValue() <= m_rangeStartModel.getDoubleValue()){
+            throw new InvalidSettingsException("The end of the analysis range must be after its start.");
+        }
     }
 
     /**
@@ -173,6 +216,28 @@ public class RecognizerNodeModel extends NodeModel{
      * @return a <code>ColumnRearranger</code>
      */
     protected ColumnRearranger createColumnRearranger(final DataTableSpec inSpec){
+        return createColumnRearranger(inSpec, null);
+    }
+
+    /**
+     * Recognizes the audio of the given table. The audio of the following
+     * rows is read ahead while the current row is recognized.
+     * @param table the input table
+     * @param exec the execution context
+     * @return the table containing the recognition results
+     * @throws CanceledExecutionException
+     */
+    protected BufferedDataTable recognize(final BufferedDataTable table,
+            final ExecutionContext exec) throws CanceledExecutionException{
+        try(final AudioPrefetcher prefetcher = new AudioPrefetcher(table,
+                m_audioColumnSelection.getSelectedColumnIndex())){
+            return exec.createColumnRearrangeTable(table,
+                createColumnRearranger(table.getDataTableSpec(), prefetcher), exec);
+        }
+    }
+
+    private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec,
+            final AudioPrefetcher prefetcher){
         final ColumnRearranger rearranger = new ColumnRearranger(inSpec);
         final int colIdx = m_audioColumnSelection.getSelectedColumnIndex();
 
@@ -187,8 +252,15 @@ public class RecognizerNodeModel extends NodeModel{
         }
 
         rearranger.remove(colIdx);
-        rearranger.append(new RecognizerCellFactory(colIdx,
-            m_recognizer, newSpecs));
+        final RecognizerCellFactory cellFactory = new RecognizerCellFactory(colIdx,
+            m_recognizer, newSpecs);
+        cellFactory.setPrefetcher(prefetcher);
+        if(m_analysisRangeModel.getBooleanValue()){
+            final double end = m_rangeEndModel.getDoubleValue();
+            cellFactory.setAnalysisRange(m_rangeStartModel.getDoubleValue(),
+                (end > 0) ? end : Double.POSITIVE_INFINITY);
+        }
+        rearranger.append(cellFactory);
         rearranger.move(audioSpec.getName(), 0);
 
         return rearranger;
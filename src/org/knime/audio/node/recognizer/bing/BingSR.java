@@ -48,11 +48,17 @@
  */
 package org.knime.audio.node.recognizer.bing;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.UUID;
 
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
@@ -69,6 +75,7 @@ import org.glassfish.jersey.jackson.JacksonFeature;
 import org.knime.audio.data.Audio;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.audio.data.recognizer.Recognizer;
+import org.knime.audio.util.AudioUtils;
 import org.knime.core.node.NodeLogger;
 
 /**
@@ -111,6 +118,12 @@ public class BingSR implements Recognizer {
 
 	private static final String DEVICE_OS = "Linux";
 
+	// The sample rate the service expects
+	private static final int SAMPLE_RATE = 16000;
+
+	// The size of the header written by AudioSystem for a PCM WAV file
+	private static final int WAV_HEADER_SIZE = 44;
+
 	private final String INSTANCE_ID = UUID.randomUUID().toString();
 
 	private String m_subscriptionKey;
@@ -334,6 +347,15 @@ public class BingSR implements Recognizer {
 	 */
 	@Override
 	public RecognitionResult recognize(final Audio audio) {
+		return recognize(audio, 0, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecognitionResult recognize(final Audio audio, final double startTime,
+			final double endTime) {
 		if((m_subscriptionKey == null) || m_subscriptionKey.isEmpty()){
 			throw new NullPointerException("Subscription key must be set.");
 		}
@@ -368,13 +390,20 @@ public class BingSR implements Recognizer {
 			builder.header(HttpHeaders.AUTHORIZATION, authToken);
 
 			InputStream stream = null;
-			try{
-				stream = new FileInputStream(audio.getFile());
-			} catch(final FileNotFoundException ex){
+			try(final AudioInputStream audioStream = AudioUtils.getResampledAudioInputStream(
+					audio, SAMPLE_RATE, AudioUtils.getFramePosition(audio, startTime),
+					AudioUtils.getFramePosition(audio, endTime))){
+				/* Resample the audio to the format the service expects */
+				final ByteArrayOutputStream wav = new ByteArrayOutputStream(
+						getWavSize(audioStream));
+				AudioSystem.write(audioStream, AudioFileFormat.Type.WAVE, wav);
+				stream = new ByteArrayInputStream(wav.toByteArray());
+			} catch(final UnsupportedAudioFileException | IOException ex){
 				LOGGER.error(ex);
 			}
 
-			final Response response = builder.post(Entity.entity(stream, "audio/wav; samplerate=16000"));
+			final Response response = builder.post(Entity.entity(stream,
+					"audio/wav; samplerate=" + SAMPLE_RATE));
 
 			if(response.getStatusInfo().getFamily() == Family.SUCCESSFUL){
 				LOGGER.info("Successfully recognized audio file.");
@@ -391,4 +420,16 @@ public class BingSR implements Recognizer {
 		return result;
 	}
 
+	/**
+	 * Estimates the size of the resampled 16-bit mono WAV file from the
+	 * length of the stream, so the buffer doesn't need to grow while writing.
+	 */
+	private static int getWavSize(final AudioInputStream audioStream) {
+		final long frames = audioStream.getFrameLength();
+		if ((frames < 0) || (frames > ((Integer.MAX_VALUE - WAV_HEADER_SIZE) / 2))) {
+			return WAV_HEADER_SIZE;
+		}
+		return (int)(WAV_HEADER_SIZE + (frames * 2));
+	}
+
 }
@@ -79,11 +79,7 @@ public class BingSpeechSRNodeModel extends RecognizerNodeModel {
         recognizer.setProfanityMarkup(m_profinityMarkupModel.getIntValue());
 
         final BufferedDataTable dataTable = inData[0];
-        final ColumnRearranger rearranger = createColumnRearranger(
-            dataTable.getDataTableSpec());
-
-        return new BufferedDataTable[]{
-            exec.createColumnRearrangeTable(dataTable, rearranger, exec)};
+        return new BufferedDataTable[]{recognize(dataTable, exec)};
 
     }
 
@@ -50,14 +50,15 @@ package org.knime.audio.node.recognizer.cmusphinx;
 
 import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import org.knime.audio.data.Audio;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.audio.data.recognizer.Recognizer;
+import org.knime.audio.util.AudioUtils;
 import org.knime.core.node.NodeLogger;
 
 import edu.cmu.sphinx.api.AbstractSpeechRecognizer;
@@ -157,11 +158,22 @@ public class CMUSphinxSR implements Recognizer {
 	 */
 	@Override
 	public RecognitionResult recognize(final Audio audio) {
+		return recognize(audio, 0, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecognitionResult recognize(final Audio audio, final double startTime,
+			final double endTime) {
 		InputStream inStream = null;
 		try{
-			inStream = new BufferedInputStream(
-					new FileInputStream(audio.getFile()));
-		} catch(final FileNotFoundException ex){
+			/* Sphinx expects raw 16-bit mono PCM at the sample rate of its acoustic model */
+			inStream = new BufferedInputStream(AudioUtils.getResampledAudioInputStream(
+					audio, m_config.getSampleRate(), AudioUtils.getFramePosition(audio, startTime),
+					AudioUtils.getFramePosition(audio, endTime)));
+		} catch(final UnsupportedAudioFileException | IOException ex){
 			LOGGER.error(ex);
 		}
 
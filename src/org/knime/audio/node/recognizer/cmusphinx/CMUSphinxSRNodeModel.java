@@ -67,10 +67,7 @@ public class CMUSphinxSRNodeModel extends RecognizerNodeModel {
         recognizer.setDictionaryPath(m_dictionaryPath.getStringValue());
 
         final BufferedDataTable dataTable = inData[0];
-        final ColumnRearranger rearranger = createColumnRearranger(
-            dataTable.getDataTableSpec());
-
-        return new BufferedDataTable[]{exec.createColumnRearrangeTable(dataTable, rearranger, exec)};
+        return new BufferedDataTable[]{recognize(dataTable, exec)};
     }
 
     /**
@@ -48,12 +48,17 @@
  */
 package org.knime.audio.node.recognizer.ibmwatson;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
+import javax.sound.sampled.UnsupportedAudioFileException;
+
 import org.apache.commons.lang3.StringUtils;
 import org.knime.audio.data.Audio;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.audio.data.recognizer.Recognizer;
+import org.knime.audio.util.AudioUtils;
 
 import com.ibm.watson.developer_cloud.speech_to_text.v1.RecognizeOptions;
 import com.ibm.watson.developer_cloud.speech_to_text.v1.SpeechToText;
@@ -104,6 +109,15 @@ public class IBMWatsonSR implements Recognizer{
 	 */
 	@Override
 	public RecognitionResult recognize(final Audio audio) {
+		return recognize(audio, 0, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecognitionResult recognize(final Audio audio, final double startTime,
+			final double endTime) {
 		if(StringUtils.isBlank(m_userName) || StringUtils.isBlank(m_password)){
 			throw new IllegalArgumentException("Username and password cannot be empty.");
 		}
@@ -111,7 +125,12 @@ public class IBMWatsonSR implements Recognizer{
 		service.setUsernameAndPassword(m_userName, m_password);
 		service.setEndPoint(END_POINT);
 		final RecognizeOptions options = new RecognizeOptions().continuous(true);
-		final SpeechResults results = service.recognize(audio.getFile(), options);
+		final SpeechResults results;
+		if((startTime <= 0) && Double.isInfinite(endTime)){
+			results = service.recognize(audio.getFile(), options);
+		} else {
+			results = recognizeRange(service, options, audio, startTime, endTime);
+		}
 		final StringBuilder builder = new StringBuilder();
 		final int totalResults = results.getResults().size();
 		double confidence = 0.0;
@@ -131,6 +150,27 @@ public class IBMWatsonSR implements Recognizer{
 		return new RecognitionResult(getName(), builder.toString(), confidence);
 	}
 
+	/**
+	 * Uploads only the given time range of the audio as temporary 16-bit mono
+	 * WAV file instead of the whole file.
+	 */
+	private static SpeechResults recognizeRange(final SpeechToText service,
+			final RecognizeOptions options, final Audio audio, final double startTime,
+			final double endTime) {
+		File rangeFile = null;
+		try{
+			rangeFile = AudioUtils.writeTemporaryWavFile(audio, startTime, endTime);
+			return service.recognize(rangeFile, options);
+		} catch(final UnsupportedAudioFileException | IOException ex){
+			throw new IllegalStateException("Cannot read the analysis range of "
+					+ audio.getName() + ": " + ex.getMessage(), ex);
+		} finally {
+			if(rangeFile != null){
+				rangeFile.delete();
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
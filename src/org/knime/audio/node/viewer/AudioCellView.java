@@ -55,9 +55,7 @@ import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.Set;
 
-import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -80,6 +78,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioMetadata;
 import org.knime.audio.data.recognizer.RecognitionResult;
 import org.knime.audio.util.AudioErrorUtils;
 import org.knime.audio.util.AudioUtils;
@@ -100,8 +99,6 @@ class AudioCellView extends JPanel{
 
     private Audio m_audio;
 
-    private int m_totalSamples;
-
     AudioCellView(final Audio audio){
         m_audio = audio;
         setLayout(new BorderLayout());
@@ -133,7 +130,6 @@ class AudioCellView extends JPanel{
 
         try {
             final double[][] samples = AudioUtils.getSamples(m_audio);
-            m_totalSamples = samples[0].length;
             for(int channel = 0; channel < samples.length; channel++){
                 final XYSeriesCollection dataset = new XYSeriesCollection();
                 final XYSeries series = new XYSeries("Audio Wave");
@@ -175,23 +171,20 @@ class AudioCellView extends JPanel{
             }
         };
 
-        AudioFileFormat fileFormat = null;
-
-        try {
-            fileFormat = AudioSystem.getAudioFileFormat(m_audio.getFile());
-        } catch (UnsupportedAudioFileException | IOException ex) {
-            AudioErrorUtils.showError(this, ex.getMessage(), "Cannot open file.");
+        /* The metadata is stored with the audio, the file doesn't need to be opened */
+        final AudioMetadata metadata = m_audio.getMetadata();
+        if (metadata == null) {
+            AudioErrorUtils.showError(this, "Cannot read the header of " + m_audio.getName() + ".",
+                "Cannot open file.");
             return null;
         }
-
-        final AudioFormat format = fileFormat.getFormat();
+        final AudioFormat format = metadata.getAudioFormat();
         model.addRow(new Object[]{"Name", m_audio.getName()});
         model.addRow(new Object[]{"Path", m_audio.getFile().getAbsolutePath()});
-        model.addRow(new Object[]{"Length in Bytes", fileFormat.getByteLength()});
-        model.addRow(new Object[]{"Length in Seconds",
-            AudioUtils.convertSamplesToTime(m_totalSamples, format.getSampleRate())});
-        model.addRow(new Object[]{"Length in Frames", fileFormat.getFrameLength()});
-        model.addRow(new Object[]{"Type", fileFormat.getType()});
+        model.addRow(new Object[]{"Length in Bytes", metadata.getByteLength()});
+        model.addRow(new Object[]{"Length in Seconds", metadata.getDuration()});
+        model.addRow(new Object[]{"Length in Frames", metadata.getFrameLength()});
+        model.addRow(new Object[]{"Type", metadata.getType()});
 
         // Audio Format
         model.addRow(new Object[]{"Encoding", format.getEncoding()});
@@ -0,0 +1,448 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+
+import org.knime.audio.data.io.JavaSoundSampleReader;
+import org.knime.audio.data.io.SampleConverter;
+import org.knime.audio.data.io.WavHeader;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A persistent cache of decoded audio files, so that compressed files, e.g.
+ * MP3 files, are only decoded once across several runs of a workflow. The
+ * decoded PCM samples are stored as uncompressed WAV files, which are memory
+ * mapped when the audio is read again. The samples are stored in the format
+ * produced by the decoder, hence the cached samples are identical to the
+ * decoded ones.
+ *
+ * The entries are identified by a fingerprint of the content of the original
+ * file and the version of the decoding, hence a modified file is decoded
+ * again, and a moved or copied file is found in the cache. If the entries
+ * exceed the capacity, the least recently used entries are deleted.
+ *
+ * The cache is disabled unless a directory is set, either with
+ * {@link #setDirectory(File)} or with the system property
+ * {@value #DIRECTORY_PROPERTY}. The capacity can be set with the system
+ * property {@value #CAPACITY_PROPERTY} (in bytes).
+ *
+ * @author agent
+ */
+public class AudioDiskCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(AudioDiskCache.class);
+
+    /** The system property that defines the directory of the cache */
+    public static final String DIRECTORY_PROPERTY = "knime.audio.diskcache.dir";
+
+    /** The system property that defines the capacity of the cache in bytes */
+    public static final String CAPACITY_PROPERTY = "knime.audio.diskcache.size";
+
+    /** The default capacity of 4 GB */
+    private static final long DEFAULT_CAPACITY = 4L << 30;
+
+    /** Changes whenever the decoding changes, so older entries aren't used anymore */
+    private static final int DECODING_VERSION = 1;
+
+    private static final String SUFFIX = ".wav";
+
+    private static final int HEADER_SIZE = 44;
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private static final AudioDiskCache INSTANCE = new AudioDiskCache(
+        (System.getProperty(DIRECTORY_PROPERTY) == null) ? null
+            : new File(System.getProperty(DIRECTORY_PROPERTY)),
+        Long.getLong(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+
+    /* The fingerprints of the files seen so far, the content of a file is only
+     * read again if its size or modification time changes */
+    private final Map<String, String> m_fingerprints = new HashMap<String, String>();
+    private File m_directory;
+    private long m_capacity;
+
+    /**
+     * @param directory the directory of the cache, <code>null</code> to
+     * disable the cache
+     * @param capacity the capacity in bytes
+     */
+    public AudioDiskCache(final File directory, final long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        m_directory = directory;
+        m_capacity = capacity;
+    }
+
+    /**
+     * @return the process-wide cache
+     */
+    public static AudioDiskCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return <code>true</code> if a directory is set
+     */
+    public synchronized boolean isEnabled() {
+        return m_directory != null;
+    }
+
+    /**
+     * @return the directory of the cache, or <code>null</code> if the cache is
+     * disabled
+     */
+    public synchronized File getDirectory() {
+        return m_directory;
+    }
+
+    /**
+     * @param directory the directory of the cache, <code>null</code> to
+     * disable the cache
+     */
+    public synchronized void setDirectory(final File directory) {
+        m_directory = directory;
+    }
+
+    /**
+     * @return the capacity in bytes
+     */
+    public synchronized long getCapacity() {
+        return m_capacity;
+    }
+
+    /**
+     * @param capacity the capacity in bytes
+     */
+    public synchronized void setCapacity(final long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        m_capacity = capacity;
+        deleteLeastRecentlyUsed(null);
+    }
+
+    /**
+     * Returns the cached decoding of the given file.
+     * @param file the original file
+     * @return the WAV file containing the decoded samples, or <code>null</code>
+     * if the cache is disabled or the file hasn't been decoded yet
+     * @throws IOException
+     */
+    public File get(final File file) throws IOException {
+        final File entry = getEntry(file);
+        if (entry == null || !entry.isFile()) {
+            return null;
+        }
+        /* The modification time marks the last access */
+        entry.setLastModified(System.currentTimeMillis());
+        return entry;
+    }
+
+    /**
+     * Decodes the given stream and stores the samples in the cache. The stream
+     * is read completely but not closed.
+     * @param file the original file
+     * @param stream the stream of the original file
+     * @return the WAV file containing the decoded samples, or <code>null</code>
+     * if the cache is disabled or the decoded samples exceed the capacity
+     * @throws IOException
+     */
+    public File put(final File file, final AudioInputStream stream) throws IOException {
+        final File entry = getEntry(file);
+        if (entry == null) {
+            return null;
+        }
+        final AudioInputStream decoded = JavaSoundSampleReader.getDecodedStream(stream);
+        final AudioFormat format = decoded.getFormat();
+        if (!SampleConverter.isSupported(format)) {
+            return null;
+        }
+        final long frameLength = decoded.getFrameLength();
+        if (frameLength > 0 && HEADER_SIZE + frameLength * format.getFrameSize() > getCapacity()) {
+            return null;
+        }
+
+        final File directory = entry.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create cache directory " + directory);
+        }
+        final File temp = File.createTempFile("decoding-", ".tmp", directory);
+        try {
+            final long size = write(decoded, temp);
+            if (size > getCapacity()) {
+                return null;
+            }
+            try {
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+        synchronized (this) {
+            deleteLeastRecentlyUsed(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Deletes all entries.
+     */
+    public synchronized void clear() {
+        for (final File entry : listEntries()) {
+            if (!entry.delete()) {
+                LOGGER.debug("Cannot delete cache entry " + entry);
+            }
+        }
+    }
+
+    /**
+     * @return the total size of the entries in bytes
+     */
+    public synchronized long getSize() {
+        long size = 0;
+        for (final File entry : listEntries()) {
+            size += entry.length();
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public synchronized int getEntryCount() {
+        return listEntries().length;
+    }
+
+    private File getEntry(final File file) throws IOException {
+        final File directory = getDirectory();
+        if (directory == null) {
+            return null;
+        }
+        return new File(directory, getFingerprint(file) + SUFFIX);
+    }
+
+    private String getFingerprint(final File file) throws IOException {
+        final String key = file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified();
+        synchronized (m_fingerprints) {
+            final String fingerprint = m_fingerprints.get(key);
+            if (fingerprint != null) {
+                return fingerprint;
+            }
+        }
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+        final byte[] buffer = new byte[BLOCK_SIZE];
+        try (final InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update((byte)DECODING_VERSION);
+        final StringBuilder builder = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            builder.append(String.format("%02x", b & 0xff));
+        }
+        final String fingerprint = builder.toString();
+        synchronized (m_fingerprints) {
+            m_fingerprints.put(key, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Writes the samples of the given stream into a WAV file. Big endian
+     * samples are swapped and the signedness is adapted to the WAV format,
+     * both without changing the sample values.
+     * @return the size of the written file
+     */
+    private static long write(final AudioInputStream stream, final File file) throws IOException {
+        final AudioFormat format = stream.getFormat();
+        final int channels = format.getChannels();
+        final int frameSize = format.getFrameSize();
+        final int bytesPerSample = frameSize / channels;
+        final boolean floatingPoint = AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding());
+        final boolean unsigned = AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding());
+        /* WAV stores 8-bit samples unsigned and all other integer samples signed */
+        final boolean flipSign = !floatingPoint && ((bytesPerSample == 1) != unsigned);
+        final boolean swap = format.isBigEndian() && bytesPerSample > 1;
+
+        final byte[] block = new byte[(BLOCK_SIZE / frameSize) * frameSize];
+        final ByteBuffer buffer = ByteBuffer.wrap(block);
+        long dataLength = 0;
+        try (final FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(createHeader(format, 0), 0);
+            int length = 0;
+            int read;
+            while ((read = stream.read(block, length, block.length - length)) >= 0) {
+                length += read;
+                final int complete = length - (length % frameSize);
+                if (complete == 0) {
+                    continue;
+                }
+                for (int i = 0; i < complete; i += bytesPerSample) {
+                    if (swap) {
+                        for (int j = 0; j < bytesPerSample / 2; j++) {
+                            final byte b = block[i + j];
+                            block[i + j] = block[i + bytesPerSample - 1 - j];
+                            block[i + bytesPerSample - 1 - j] = b;
+                        }
+                    }
+                    if (flipSign) {
+                        /* The most significant byte comes last in little endian order */
+                        block[i + bytesPerSample - 1] ^= 0x80;
+                    }
+                }
+                buffer.clear().limit(complete);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, HEADER_SIZE + dataLength + buffer.position());
+                }
+                dataLength += complete;
+                /* Keep an incomplete frame for the next block */
+                System.arraycopy(block, complete, block, 0, length - complete);
+                length -= complete;
+            }
+            channel.write(createHeader(format, dataLength), 0);
+        }
+        return HEADER_SIZE + dataLength;
+    }
+
+    private static ByteBuffer createHeader(final AudioFormat format, final long dataLength) {
+        final int channels = format.getChannels();
+        final int frameSize = format.getFrameSize();
+        final int sampleRate = Math.round(format.getSampleRate());
+        final boolean floatingPoint = AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding());
+        final int size = (int)Math.min(dataLength, 0xffffffffL - HEADER_SIZE);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[]{'R', 'I', 'F', 'F'});
+        header.putInt(HEADER_SIZE - 8 + size);
+        header.put(new byte[]{'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        header.putInt(16);
+        header.putShort((short)(floatingPoint ? WavHeader.WAVE_FORMAT_IEEE_FLOAT
+            : WavHeader.WAVE_FORMAT_PCM));
+        header.putShort((short)channels);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * frameSize);
+        header.putShort((short)frameSize);
+        header.putShort((short)(8 * frameSize / channels));
+        header.put(new byte[]{'d', 'a', 't', 'a'});
+        header.putInt(size);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Deletes the least recently used entries until the entries fit into the
+     * capacity. The given entry is deleted last.
+     */
+    private void deleteLeastRecentlyUsed(final File keep) {
+        final File[] entries = listEntries();
+        long size = 0;
+        for (final File entry : entries) {
+            size += entry.length();
+        }
+        if (size <= m_capacity) {
+            return;
+        }
+        Arrays.sort(entries, new Comparator<File>() {
+
+            @Override
+            public int compare(final File f1, final File f2) {
+                if (f1.equals(keep) != f2.equals(keep)) {
+                    return f1.equals(keep) ? 1 : -1;
+                }
+                return Long.compare(f1.lastModified(), f2.lastModified());
+            }
+        });
+        for (int i = 0; i < entries.length && size > m_capacity; i++) {
+            final long length = entries[i].length();
+            if (entries[i].delete()) {
+                size -= length;
+            } else {
+                LOGGER.debug("Cannot delete cache entry " + entries[i]);
+            }
+        }
+    }
+
+    private File[] listEntries() {
+        if (m_directory == null) {
+            return new File[0];
+        }
+        final File[] entries = m_directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return (entries == null) ? new File[0] : entries;
+    }
+
+}
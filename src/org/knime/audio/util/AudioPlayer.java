@@ -61,6 +61,7 @@ import javax.sound.sampled.SourceDataLine;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioMetadata;
 import org.knime.core.node.NodeLogger;
 
 import jAudioFeatureExtractor.jAudioTools.AudioMethods;
@@ -197,9 +198,10 @@ public class AudioPlayer implements Runnable{
 
     private void openSourceDataLine() throws LineUnavailableException,
             UnsupportedAudioFileException, IOException{
-//        final AudioFormat audioFormat = m_audio.getAudioFileFormat().getFormat();
-        final AudioFormat audioFormat = AudioSystem.getAudioFileFormat(
-            m_audio.getFile()).getFormat();
+        final AudioMetadata metadata = m_audio.getMetadata();
+        /* The header couldn't be read in advance, read the format from the file */
+        final AudioFormat audioFormat = (metadata != null) ? metadata.getAudioFormat()
+            : AudioSystem.getAudioFileFormat(m_audio.getFile()).getFormat();
         final DataLine.Info info = new DataLine.Info(SourceDataLine.class,
             audioFormat);
         m_line = (SourceDataLine) AudioSystem.getLine(info);
@@ -0,0 +1,399 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.util;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sound.sampled.AudioSystem;
+
+import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioMetadata;
+import org.knime.audio.data.cell.AudioValue;
+import org.knime.audio.data.io.AudioSampleReader;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Reads the audio of the following rows of a table ahead while the current
+ * row is processed. The prefetched audio is decoded on a small thread pool and
+ * put into the {@link AudioSampleCache}, where
+ * {@link AudioSampleReader#open(Audio)} picks it up. Hence, the latency of
+ * reading the files, e.g. from a network share, overlaps with the processing
+ * of the previous rows.
+ *
+ * Each row is announced with {@link #await(DataRow)} before it is processed,
+ * in the order of the table. Rows that are processed in parallel may be
+ * announced up to the given number of rows out of order, the rows before an
+ * announced row are only considered skipped beyond that. At most the given
+ * number of rows plus the ones that may be announced out of order are read
+ * ahead, and the decoded samples of the rows read
+ * ahead but not processed yet take at most the given number of bytes. Audio
+ * that doesn't fit into the cache isn't read ahead.
+ *
+ * The defaults can be set with the system properties {@value #DEPTH_PROPERTY},
+ * {@value #MEMORY_PROPERTY} (in bytes) and {@value #THREADS_PROPERTY}.
+ *
+ * @author agent
+ */
+public class AudioPrefetcher implements Closeable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(AudioPrefetcher.class);
+
+    /** The system property that defines the number of rows read ahead */
+    public static final String DEPTH_PROPERTY = "knime.audio.prefetch.depth";
+
+    /** The system property that defines the memory the prefetched samples may take in bytes */
+    public static final String MEMORY_PROPERTY = "knime.audio.prefetch.memory";
+
+    /** The system property that defines the number of threads reading ahead */
+    public static final String THREADS_PROPERTY = "knime.audio.prefetch.threads";
+
+    /** The default number of rows read ahead */
+    public static final int DEF_DEPTH = 4;
+
+    /** The default number of threads reading ahead */
+    public static final int DEF_THREADS = 2;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final CloseableRowIterator m_iterator;
+    private final int m_audioColIdx;
+    private final int m_depth;
+    private final int m_reordered;
+    /* The maximal number of rows that are read ahead or may still be announced */
+    private final long m_maxPrefetches;
+    private final long m_memoryLimit;
+    private final ThreadPoolExecutor m_executor;
+    private final ArrayDeque<Prefetch> m_prefetches = new ArrayDeque<Prefetch>();
+    private long m_memory;
+    private boolean m_closed;
+
+    /**
+     * Creates a prefetcher with the default depth, memory limit and number of
+     * threads.
+     * @param table the table whose rows are processed
+     * @param audioColIdx the index of the audio column
+     */
+    public AudioPrefetcher(final BufferedDataTable table, final int audioColIdx) {
+        this(table, audioColIdx, 0);
+    }
+
+    /**
+     * Creates a prefetcher with the default depth, memory limit and number of
+     * threads for rows that may be announced out of order.
+     * @param table the table whose rows are processed
+     * @param audioColIdx the index of the audio column
+     * @param reordered the number of rows a row may be announced before the
+     * previous rows, e.g. the number of rows processed in parallel
+     */
+    public AudioPrefetcher(final BufferedDataTable table, final int audioColIdx,
+            final int reordered) {
+        this(table, audioColIdx, Integer.getInteger(DEPTH_PROPERTY, DEF_DEPTH),
+            Long.getLong(MEMORY_PROPERTY, AudioSampleCache.getInstance().getCapacity() / 2),
+            Integer.getInteger(THREADS_PROPERTY, DEF_THREADS), reordered);
+    }
+
+    /**
+     * @param table the table whose rows are processed
+     * @param audioColIdx the index of the audio column
+     * @param depth the maximal number of rows read ahead, 0 disables the prefetching
+     * @param memoryLimit the maximal number of bytes the samples of the rows
+     * read ahead may take
+     * @param threads the number of threads reading ahead
+     */
+    public AudioPrefetcher(final BufferedDataTable table, final int audioColIdx,
+            final int depth, final long memoryLimit, final int threads) {
+        this(table, audioColIdx, depth, memoryLimit, threads, 0);
+    }
+
+    /**
+     * @param table the table whose rows are processed
+     * @param audioColIdx the index of the audio column
+     * @param depth the maximal number of rows read ahead, 0 disables the prefetching
+     * @param memoryLimit the maximal number of bytes the samples of the rows
+     * read ahead may take
+     * @param threads the number of threads reading ahead
+     * @param reordered the number of rows a row may be announced before the
+     * previous rows, e.g. the number of rows processed in parallel
+     */
+    public AudioPrefetcher(final BufferedDataTable table, final int audioColIdx,
+            final int depth, final long memoryLimit, final int threads, final int reordered) {
+        if (table == null) {
+            throw new IllegalArgumentException("The table cannot be null.");
+        }
+        if (audioColIdx < 0) {
+            throw new IllegalArgumentException("Invalid audio column");
+        }
+        if (depth < 0) {
+            throw new IllegalArgumentException("The depth cannot be negative.");
+        }
+        if (memoryLimit < 0) {
+            throw new IllegalArgumentException("The memory limit cannot be negative.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        if (reordered < 0) {
+            throw new IllegalArgumentException("The number of reordered rows cannot be negative.");
+        }
+        m_audioColIdx = audioColIdx;
+        m_depth = depth;
+        m_reordered = reordered;
+        m_maxPrefetches = (long)depth + reordered;
+        m_memoryLimit = memoryLimit;
+        m_iterator = table.iterator();
+        m_executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r,
+                        "KNIME-Audio-Prefetcher-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        m_executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Announces that the given row is processed next. Starts reading the
+     * following rows and waits until the audio of the row has been read if it
+     * is being read ahead. The waiting doesn't block the announcement of
+     * other rows.
+     * @param row the row that is processed next
+     */
+    public void await(final DataRow row) {
+        final Prefetch prefetch = take(row);
+        if (prefetch != null) {
+            prefetch.await();
+        }
+    }
+
+    /**
+     * Removes the given row from the rows read ahead and starts reading the
+     * following rows.
+     * @return the row read ahead, <code>null</code> if it isn't read ahead
+     */
+    private synchronized Prefetch take(final DataRow row) {
+        if (m_closed || m_depth == 0) {
+            return null;
+        }
+        final RowKey key = row.getKey();
+        Prefetch taken = null;
+        if (m_prefetches.isEmpty()) {
+            /* The row hasn't been read from the table yet, skip ahead to it */
+            while (m_iterator.hasNext()) {
+                if (m_iterator.next().getKey().equals(key)) {
+                    break;
+                }
+            }
+        } else {
+            int index = 0;
+            for (final Iterator<Prefetch> iter = m_prefetches.iterator(); iter.hasNext(); index++) {
+                final Prefetch prefetch = iter.next();
+                if (prefetch.m_key.equals(key)) {
+                    iter.remove();
+                    m_memory -= prefetch.m_size;
+                    taken = prefetch;
+                    break;
+                }
+            }
+            /* The rows before it have been skipped unless they may still be announced. If the
+             * row isn't found, it has been announced too late and is read when it is processed. */
+            for (int i = m_reordered; (taken != null) && (i < index); i++) {
+                final Prefetch skipped = m_prefetches.poll();
+                m_memory -= skipped.m_size;
+                skipped.cancel();
+            }
+        }
+        fill();
+        return taken;
+    }
+
+    /**
+     * Reads rows ahead until the depth or the memory limit is reached.
+     */
+    private void fill() {
+        /* Start the rows that have been held back by the memory limit first */
+        for (final Prefetch prefetch : m_prefetches) {
+            if (!prefetch.isStarted() && !start(prefetch)) {
+                return;
+            }
+        }
+        while (m_prefetches.size() < m_maxPrefetches && m_iterator.hasNext()) {
+            final DataRow row = m_iterator.next();
+            final Prefetch prefetch = new Prefetch(row.getKey(), getAudio(row));
+            m_prefetches.add(prefetch);
+            if (!start(prefetch)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Starts reading the audio of the given row if it fits into the memory limit.
+     * @return <code>false</code> if the memory limit is reached
+     */
+    private boolean start(final Prefetch prefetch) {
+        if (prefetch.m_audio == null) {
+            prefetch.m_skipped = true;
+            return true;
+        }
+        final AudioMetadata metadata = prefetch.m_audio.getMetadata();
+        final long size = (metadata == null) ? AudioSystem.NOT_SPECIFIED
+            : metadata.getDecodedSizeInBytes();
+        if (size < 0 || size > Integer.MAX_VALUE
+                || !AudioSampleCache.getInstance().fits(size)) {
+            /* The audio is streamed anyway, reading it ahead doesn't help */
+            prefetch.m_skipped = true;
+            return true;
+        }
+        if (m_memory + size > m_memoryLimit) {
+            return false;
+        }
+        m_memory += size;
+        prefetch.m_size = size;
+        final Audio audio = prefetch.m_audio;
+        prefetch.m_future = m_executor.submit(new Runnable() {
+
+            @Override
+            public void run() {
+                /* Opening the reader decodes the audio into the cache */
+                try {
+                    AudioSampleReader.open(audio).close();
+                } catch (final Exception ex) {
+                    LOGGER.debug("Could not read ahead " + audio.getName() + ": " + ex.getMessage());
+                }
+            }
+        });
+        return true;
+    }
+
+    private Audio getAudio(final DataRow row) {
+        final DataCell cell = row.getCell(m_audioColIdx);
+        if (cell.isMissing() || !(cell instanceof AudioValue)) {
+            return null;
+        }
+        return ((AudioValue)cell).getAudio();
+    }
+
+    /**
+     * Cancels the reading ahead and releases the threads.
+     */
+    @Override
+    public synchronized void close() {
+        if (m_closed) {
+            return;
+        }
+        m_closed = true;
+        for (final Prefetch prefetch : m_prefetches) {
+            prefetch.cancel();
+        }
+        m_prefetches.clear();
+        m_memory = 0;
+        m_executor.shutdownNow();
+        m_iterator.close();
+    }
+
+    /**
+     * A row that is read ahead.
+     */
+    private static final class Prefetch {
+
+        private final RowKey m_key;
+        private final Audio m_audio;
+        private long m_size;
+        private Future<?> m_future;
+        private boolean m_skipped;
+
+        private Prefetch(final RowKey key, final Audio audio) {
+            m_key = key;
+            m_audio = audio;
+        }
+
+        private boolean isStarted() {
+            return m_skipped || m_future != null;
+        }
+
+        private void await() {
+            if (m_future == null) {
+                return;
+            }
+            try {
+                m_future.get();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException | CancellationException ex) {
+                /* The row is read again when it is processed */
+            }
+        }
+
+        private void cancel() {
+            if (m_future != null) {
+                m_future.cancel(false);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,399 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.util;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.knime.audio.data.AudioSamples;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A process-wide cache of decoded audio samples, so that an audio that goes
+ * through several nodes is only decoded once. The entries are identified by
+ * the path, the size and the modification time of the file, hence a modified
+ * file is decoded again.
+ *
+ * The capacity of the cache is given in bytes. If the decoded samples exceed
+ * the capacity, the least recently used entries are evicted. The mixed down
+ * samples of a cached entry are charged once they are computed. Optionally, the
+ * evicted entries are kept as soft references, which the garbage collector
+ * clears when the heap runs low.
+ *
+ * The default capacity can be set with the system property
+ * {@value #CAPACITY_PROPERTY} (in bytes), the soft references can be enabled
+ * with the system property {@value #SOFT_REFERENCES_PROPERTY}.
+ *
+ * @author agent
+ */
+public class AudioSampleCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(AudioSampleCache.class);
+
+    /** The system property that defines the capacity of the cache in bytes */
+    public static final String CAPACITY_PROPERTY = "knime.audio.samplecache.size";
+
+    /** The system property that enables the soft references for evicted entries */
+    public static final String SOFT_REFERENCES_PROPERTY = "knime.audio.samplecache.softreferences";
+
+    /** The default capacity, an eighth of the heap but at most 256 MB */
+    private static final long DEFAULT_CAPACITY = Math.min(256L << 20,
+        Runtime.getRuntime().maxMemory() / 8);
+
+    private static final AudioSampleCache INSTANCE = new AudioSampleCache(
+        Long.getLong(CAPACITY_PROPERTY, DEFAULT_CAPACITY),
+        Boolean.getBoolean(SOFT_REFERENCES_PROPERTY));
+
+    private final LinkedHashMap<Key, Entry> m_entries =
+            new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+    private final Map<Key, SoftReference<AudioSamples>> m_softEntries =
+            new HashMap<Key, SoftReference<AudioSamples>>();
+    private long m_capacity;
+    private boolean m_softReferences;
+    private long m_size;
+    private long m_hitCount;
+    private long m_softHitCount;
+    private long m_missCount;
+    private long m_evictionCount;
+
+    /**
+     * @param capacity the capacity in bytes
+     * @param softReferences <code>true</code> if evicted entries should be
+     * kept as soft references
+     */
+    public AudioSampleCache(final long capacity, final boolean softReferences) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        m_capacity = capacity;
+        m_softReferences = softReferences;
+    }
+
+    /**
+     * @return the process-wide cache
+     */
+    public static AudioSampleCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached samples of the given file.
+     * @param file the decoded file
+     * @return the cached samples or <code>null</code> if the samples of the
+     * file aren't cached
+     */
+    public synchronized AudioSamples get(final File file) {
+        final Key key = new Key(file);
+        final Entry entry = m_entries.get(key);
+        if (entry != null) {
+            m_hitCount++;
+            return entry.m_samples;
+        }
+        final SoftReference<AudioSamples> ref = m_softEntries.remove(key);
+        final AudioSamples samples = (ref == null) ? null : ref.get();
+        if (samples != null) {
+            /* Move the entry back into the cache */
+            m_softHitCount++;
+            insert(key, samples);
+            return samples;
+        }
+        m_missCount++;
+        return null;
+    }
+
+    /**
+     * Puts the decoded samples of the given file into the cache. Samples that
+     * exceed the capacity of the cache are not cached.
+     * @param file the decoded file
+     * @param samples the samples of the file
+     */
+    public synchronized void put(final File file, final AudioSamples samples) {
+        if (samples == null) {
+            throw new IllegalArgumentException("The samples cannot be null.");
+        }
+        if (!fits(samples.getSizeInBytes())) {
+            return;
+        }
+        final Key key = new Key(file);
+        m_softEntries.remove(key);
+        insert(key, samples);
+    }
+
+    /**
+     * @param sizeInBytes the size of some decoded samples
+     * @return <code>true</code> if samples of the given size can be cached
+     */
+    public synchronized boolean fits(final long sizeInBytes) {
+        return sizeInBytes >= 0 && sizeInBytes <= m_capacity;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public synchronized void clear() {
+        m_entries.clear();
+        m_softEntries.clear();
+        m_size = 0;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public synchronized void resetStatistics() {
+        m_hitCount = 0;
+        m_softHitCount = 0;
+        m_missCount = 0;
+        m_evictionCount = 0;
+    }
+
+    /**
+     * @return the capacity in bytes
+     */
+    public synchronized long getCapacity() {
+        return m_capacity;
+    }
+
+    /**
+     * Sets the capacity of the cache and evicts entries if necessary.
+     * @param capacity the capacity in bytes
+     */
+    public synchronized void setCapacity(final long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        m_capacity = capacity;
+        evict();
+    }
+
+    /**
+     * @return <code>true</code> if evicted entries are kept as soft references
+     */
+    public synchronized boolean isSoftReferences() {
+        return m_softReferences;
+    }
+
+    /**
+     * @param softReferences <code>true</code> if evicted entries should be
+     * kept as soft references
+     */
+    public synchronized void setSoftReferences(final boolean softReferences) {
+        m_softReferences = softReferences;
+        if (!softReferences) {
+            m_softEntries.clear();
+        }
+    }
+
+    /**
+     * @return the number of bytes of the cached samples, not counting the
+     * entries that are only kept as soft references
+     */
+    public synchronized long getSize() {
+        return m_size;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public synchronized int getEntryCount() {
+        return m_entries.size();
+    }
+
+    /**
+     * @return the number of lookups that found the samples in the cache
+     */
+    public synchronized long getHitCount() {
+        return m_hitCount;
+    }
+
+    /**
+     * @return the number of lookups that found the samples in the soft
+     * references of evicted entries
+     */
+    public synchronized long getSoftHitCount() {
+        return m_softHitCount;
+    }
+
+    /**
+     * @return the number of lookups that didn't find the samples
+     */
+    public synchronized long getMissCount() {
+        return m_missCount;
+    }
+
+    /**
+     * @return the number of entries that have been evicted
+     */
+    public synchronized long getEvictionCount() {
+        return m_evictionCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "AudioSampleCache[size=" + m_size + "/" + m_capacity + " bytes, entries="
+                + m_entries.size() + ", hits=" + m_hitCount + ", softHits=" + m_softHitCount
+                + ", misses=" + m_missCount + ", evictions=" + m_evictionCount + "]";
+    }
+
+    private void insert(final Key key, final AudioSamples samples) {
+        /* The listener is set before the size is taken, so a later mixdown is charged as well */
+        samples.setSizeListener(new AudioSamples.SizeListener() {
+
+            @Override
+            public void sizeChanged(final AudioSamples changed) {
+                resize(key, changed);
+            }
+        });
+        final Entry entry = new Entry(samples);
+        final Entry old = m_entries.put(key, entry);
+        if (old != null) {
+            m_size -= old.m_size;
+        }
+        m_size += entry.m_size;
+        evict();
+    }
+
+    /**
+     * Charges the current size of the cached samples, e.g. once their mixed
+     * down samples have been computed. The size is measured again, hence
+     * repeated notifications don't charge it twice.
+     */
+    private synchronized void resize(final Key key, final AudioSamples samples) {
+        final Entry entry = m_entries.get(key);
+        if (entry == null || entry.m_samples != samples) {
+            return;
+        }
+        final long size = samples.getSizeInBytes();
+        m_size += size - entry.m_size;
+        entry.m_size = size;
+        evict();
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<Key, Entry>> it = m_entries.entrySet().iterator();
+        while (m_size > m_capacity && it.hasNext()) {
+            final Map.Entry<Key, Entry> eldest = it.next();
+            it.remove();
+            m_size -= eldest.getValue().m_size;
+            m_evictionCount++;
+            if (m_softReferences) {
+                m_softEntries.put(eldest.getKey(),
+                    new SoftReference<AudioSamples>(eldest.getValue().m_samples));
+            }
+            LOGGER.debug("Evicted decoded samples of " + eldest.getKey().m_path + " from cache.");
+        }
+        if (m_softReferences) {
+            /* Drop the references that have been cleared by the garbage collector */
+            final Iterator<SoftReference<AudioSamples>> refs = m_softEntries.values().iterator();
+            while (refs.hasNext()) {
+                if (refs.next().get() == null) {
+                    refs.remove();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final AudioSamples m_samples;
+        private long m_size;
+
+        Entry(final AudioSamples samples) {
+            m_samples = samples;
+            m_size = samples.getSizeInBytes();
+        }
+    }
+
+    /**
+     * Identifies a file by its path, size and modification time.
+     */
+    private static final class Key {
+
+        private final String m_path;
+        private final long m_length;
+        private final long m_lastModified;
+
+        Key(final File file) {
+            if (file == null) {
+                throw new IllegalArgumentException("The file cannot be null.");
+            }
+            m_path = file.getAbsolutePath();
+            m_length = file.length();
+            m_lastModified = file.lastModified();
+        }
+
+        @Override
+        public int hashCode() {
+            int result = m_path.hashCode();
+            result = 31 * result + (int)(m_length ^ (m_length >>> 32));
+            result = 31 * result + (int)(m_lastModified ^ (m_lastModified >>> 32));
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return m_length == other.m_length && m_lastModified == other.m_lastModified
+                    && m_path.equals(other.m_path);
+        }
+    }
+
+}
@@ -49,17 +49,30 @@
 package org.knime.audio.util;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioMetadata;
 import org.knime.audio.data.AudioSamples;
+import org.knime.audio.data.io.AudioSampleReader;
+import org.knime.audio.data.io.AudioSamplesReader;
+import org.knime.audio.data.io.MappedWavSampleReader;
+import org.knime.audio.data.io.ResamplingSampleReader;
+import org.knime.audio.data.io.SampleReaderInputStream;
+import org.knime.audio.data.io.SampleConverter;
 import org.knime.core.node.NodeLogger;
 
 import jAudioFeatureExtractor.jAudioTools.AudioMethods;
@@ -73,6 +86,19 @@ public class AudioUtils {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(AudioUtils.class);
 
+    /**
+     * The system property that defines the minimal size in bytes of the sample
+     * data of an uncompressed file that is decoded on several threads
+     */
+    public static final String PARALLEL_DECODING_THRESHOLD_PROPERTY =
+            "knime.audio.decoding.parallel.threshold";
+
+    /** The default minimal size in bytes of the sample data that is decoded on several threads */
+    public static final long DEF_PARALLEL_DECODING_THRESHOLD = 32L * 1024 * 1024;
+
+    /* The minimal number of frames decoded by one task */
+    private static final int MIN_FRAMES_PER_TASK = 64 * 1024;
+
     /**
      * Prevent to directly create a new instance.
      * Only use the static methods
@@ -113,166 +139,107 @@ public class AudioUtils {
     }
 
     /**
-     * The {@link AudioInputStream} must have Big-Endian signed linear
-     * PCM Encoding and bit depth of 8 or 16 bits. If not, it will be converted
-     * automatically to the supported {@link AudioFormat}
+     * Returns the value that is used to scale integer samples of the given bit
+     * depth to the range of -1 to +1. This is the same value used by jAudio, so
+     * that samples decoded by this plugin match the ones decoded by jAudio.
+     * @param bitsPerSample the bit depth of the samples
+     * @return the maximal sample value of the given bit depth
+     */
+    public static double getMaximumSampleValue(final int bitsPerSample){
+        return (1L << (bitsPerSample - 1)) - 1.0;
+    }
+
+    /**
+     * Returns a stream whose samples can be decoded by a {@link SampleConverter},
+     * i.e. linear PCM with 8, 16, 24 or 32-bit integers or 32 or 64-bit floats
+     * of any endianness and signedness. Other streams are converted to signed
+     * Big-Endian PCM with a bit depth that is a multiple of 8.
      * @param inStream the <code>AudioInputStream</code> to convert
      * @return a converted <code>AudioInputStream</code> if it is necessary,
      * otherwise returns the original <code>AudioInputStream</code>
      */
     public static AudioInputStream convertUnsupportedFormat(final AudioInputStream inStream){
-        AudioInputStream newStream = inStream;
         final AudioFormat inFormat = inStream.getFormat();
-        int bitsPerSample = inFormat.getSampleSizeInBits();
-        if(bitsPerSample > 16){
-            throw new IllegalArgumentException(
-                "The maximal bit depth supported is 16 bits.");
-        }
-        boolean isSupportedBitsSize = true;
-        if(bitsPerSample != 8 && bitsPerSample != 16){
-            isSupportedBitsSize = false;
+        if(SampleConverter.isSupported(inFormat)){
+            return inStream;
         }
-
-        if(inFormat.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
-                || !inFormat.isBigEndian() || !isSupportedBitsSize){
-            bitsPerSample = normalizeBitDepthFromBits(bitsPerSample);
-            final AudioFormat newFormat = new AudioFormat(
-                AudioFormat.Encoding.PCM_SIGNED,
-                inFormat.getSampleRate(),
-                bitsPerSample,
-                inFormat.getChannels(),
-                inFormat.getChannels() * (bitsPerSample / 8),
-                inFormat.getSampleRate(),
-                true);
-            newStream = AudioSystem.getAudioInputStream(newFormat, inStream);
+        int bitsPerSample = inFormat.getSampleSizeInBits();
+        if(bitsPerSample == AudioSystem.NOT_SPECIFIED || bitsPerSample > 32){
+            bitsPerSample = 16;
         }
-        return newStream;
+        bitsPerSample = normalizeBitDepthFromBits(bitsPerSample);
+        final AudioFormat newFormat = new AudioFormat(
+            AudioFormat.Encoding.PCM_SIGNED,
+            inFormat.getSampleRate(),
+            bitsPerSample,
+            inFormat.getChannels(),
+            inFormat.getChannels() * (bitsPerSample / 8),
+            inFormat.getSampleRate(),
+            true);
+        return AudioSystem.getAudioInputStream(newFormat, inStream);
     }
 
     /**
-    *
-    * @param bytes
-    * @param transfer
-    * @param samples
-    * @param bvalid
-    * @param fmt
+    * Converts interleaved PCM bytes into float samples in the range of -1 to +1.
+    * @param bytes the bytes to convert
+    * @param transfer the array to convert the samples in, not needed anymore
+    * @param samples the array to write the interleaved samples into
+    * @param bvalid the number of valid bytes
+    * @param fmt the format of the bytes
     * @return samples
+    * @deprecated the transfer array isn't needed anymore, use
+    * {@link #unpack(byte[], float[], int, AudioFormat)} instead
     */
+   @Deprecated
    public static float[] unpack(final byte[] bytes, final long[] transfer,
            final float[] samples, final int bvalid, final AudioFormat fmt) {
-       if(fmt.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
-               && fmt.getEncoding() != AudioFormat.Encoding.PCM_UNSIGNED) {
-           return samples;
-       }
+       return unpack(bytes, samples, bvalid, fmt);
+   }
 
+   /**
+    * Converts interleaved PCM bytes into float samples in the range of -1 to +1.
+    * Integer samples are divided by 2^(bitsPerSample - 1). The formats
+    * supported by a {@link SampleConverter} are converted with it, other
+    * integer formats are assembled bit by bit from the bytes of each sample.
+    * @param bytes the bytes to convert
+    * @param samples the array to write the interleaved samples into
+    * @param bvalid the number of valid bytes
+    * @param fmt the format of the bytes
+    * @return samples
+    * @throws IllegalArgumentException if the samples are neither linear PCM
+    * integers nor supported by a {@link SampleConverter}, see
+    * {@link #convertUnsupportedFormat(AudioInputStream)}
+    */
+   public static float[] unpack(final byte[] bytes, final float[] samples, final int bvalid,
+           final AudioFormat fmt) {
        final int bitsPerSample = fmt.getSampleSizeInBits();
        final int normalBytes = normalizeBytesFromBits(bitsPerSample);
-
-       /*
-        * not the most DRY way to do this but it's a bit more efficient.
-        * otherwise there would either have to be 4 separate methods for
-        * each combination of endianness/signedness or do it all in one
-        * loop and check the format for each sample.
-        *
-        * a helper array (transfer) allows the logic to be split up
-        * but without being too repetetive.
-        *
-        * here there are two loops converting bytes to raw long samples.
-        * integral primitives in Java get sign extended when they are
-        * promoted to a larger type so the & 0xffL mask keeps them intact.
-        *
-        */
-
-       if(fmt.isBigEndian()) {
-           for(int i = 0, k = 0, b; i < bvalid; i += normalBytes, k++) {
-               transfer[k] = 0L;
-
-               int least = i + normalBytes - 1;
-               for(b = 0; b < normalBytes; b++) {
-                   transfer[k] |= (bytes[least - b] & 0xffL) << (8 * b);
-               }
-           }
-       } else {
-           for(int i = 0, k = 0, b; i < bvalid; i += normalBytes, k++) {
-               transfer[k] = 0L;
-
-               for(b = 0; b < normalBytes; b++) {
-                   transfer[k] |= (bytes[i + b] & 0xffL) << (8 * b);
-               }
-           }
+       if(SampleConverter.isSupported(fmt)) {
+           final SampleConverter converter = SampleConverter.create(fmt,
+               1L << (bitsPerSample - 1));
+           converter.convertInterleaved(ByteBuffer.wrap(bytes), 0, samples, 0, bvalid / normalBytes);
+           return samples;
        }
-
-       final long fullScale = (long)Math.pow(2.0, bitsPerSample - 1);
-
-       /*
-        * the OR is not quite enough to convert,
-        * the signage needs to be corrected.
-        *
-        */
-
-       if(fmt.getEncoding() == AudioFormat.Encoding.PCM_SIGNED) {
-
-           /*
-            * if the samples were signed, they must be
-            * extended to the 64-bit long.
-            *
-            * the arithmetic right shift in Java  will fill
-            * the left bits with 1's if the MSB is set.
-            *
-            * so sign extend by first shifting left so that
-            * if the sample is supposed to be negative,
-            * it will shift the sign bit in to the 64-bit MSB
-            * then shift back and fill with 1's.
-            *
-            * as an example, imagining these were 4-bit samples originally
-            * and the destination is 8-bit, if we have a hypothetical
-            * sample -5 that ought to be negative, the left shift looks
-            * like this:
-            *
-            *     00001011
-            *  <<  (8 - 4)
-            *  ===========
-            *     10110000
-            *
-            * (except the destination is 64-bit and the original
-            * bit depth from the file could be anything.)
-            *
-            * and the right shift now fills with 1's:
-            *
-            *     10110000
-            *  >>  (8 - 4)
-            *  ===========
-            *     11111011
-            *
-            */
-
-           final long signShift = 64L - bitsPerSample;
-
-           for(int i = 0; i < transfer.length; i++) {
-               transfer[i] = (
-                       (transfer[i] << signShift) >> signShift
-                       );
-           }
-       } else {
-           /*
-            * unsigned samples are easier since they
-            * will be read correctly in to the long.
-            *
-            * so just sign them:
-            * subtract 2^(bits - 1) so the center is 0.
-            *
-            */
-
-           for(int i = 0; i < transfer.length; i++) {
-               transfer[i] -= fullScale;
-           }
+       final boolean signed = AudioFormat.Encoding.PCM_SIGNED.equals(fmt.getEncoding());
+       if((!signed && !AudioFormat.Encoding.PCM_UNSIGNED.equals(fmt.getEncoding()))
+               || bitsPerSample < 1 || bitsPerSample > 64) {
+           throw new IllegalArgumentException("Unsupported audio format: " + fmt);
        }
-       /* finally normalize to range of -1.0f to 1.0f */
 
-       for(int i = 0; i < transfer.length; i++) {
-           samples[i] = (float)transfer[i] / (float)fullScale;
+       /* The bytes of each sample are assembled into a long, the & 0xffL mask keeps them
+        * from being sign extended. Signed samples are sign extended by shifting their sign
+        * bit into the MSB of the long and back, unsigned samples are centered around 0. */
+       final long fullScale = 1L << (bitsPerSample - 1);
+       final int signShift = 64 - bitsPerSample;
+       for(int i = 0, k = 0; i + normalBytes <= bvalid; i += normalBytes, k++) {
+           long sample = 0L;
+           for(int b = 0; b < normalBytes; b++) {
+               final int idx = fmt.isBigEndian() ? (i + normalBytes - 1 - b) : (i + b);
+               sample |= (bytes[idx] & 0xffL) << (8 * b);
+           }
+           sample = signed ? ((sample << signShift) >> signShift) : (sample - fullScale);
+           samples[k] = (float)sample / (float)fullScale;
        }
-
        return samples;
    }
 
@@ -305,6 +272,17 @@ public class AudioUtils {
    }
 
    public static AudioSamples getAudioSamples(final Audio audio) throws UnsupportedAudioFileException, IOException{
+       try(final AudioSampleReader reader = AudioSampleReader.open(audio)){
+           if(reader instanceof AudioSamplesReader){
+               return ((AudioSamplesReader)reader).getAudioSamples();
+           }
+           final long frameLength = reader.getFrameLength();
+           if(frameLength >= 0 && frameLength <= Integer.MAX_VALUE){
+               return readAudioSamples(reader);
+           }
+       }
+
+       /* The length of the audio is unknown, let jAudio collect the samples */
        final AudioInputStream originalStream = AudioSystem.getAudioInputStream(
            audio.getFile());
        AudioInputStream convertedStream = AudioMethods.getConvertedAudioStream(originalStream);
@@ -336,24 +314,388 @@ public class AudioUtils {
     * @throws IOException
     */
    public static double[][] getSamples(final Audio audio) throws UnsupportedAudioFileException, IOException{
-       final AudioInputStream originalStream = AudioSystem.getAudioInputStream(
-           audio.getFile());
-       AudioInputStream convertedStream = AudioMethods.getConvertedAudioStream(originalStream);
+       final AudioSamples samples = getAudioSamples(audio);
+       return (samples == null) ? null : samples.getSamples();
+   }
 
-       double[][] channelSamples = null;
+   /**
+    * Returns the samples of the given audio from the start frame (inclusive)
+    * to the end frame (exclusive). Only the frames within the range are read,
+    * uncompressed files seek directly to the start frame.
+    * @param audio the audio to read
+    * @param startFrame the first frame to read
+    * @param endFrame the frame after the last frame to read, {@link Long#MAX_VALUE}
+    * to read until the end of the audio
+    * @return the samples within the range
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static AudioSamples getAudioSamples(final Audio audio, final long startFrame,
+           final long endFrame) throws UnsupportedAudioFileException, IOException{
+       try(final AudioSampleReader reader = AudioSampleReader.open(audio, startFrame, endFrame)){
+           if(reader instanceof AudioSamplesReader){
+               return ((AudioSamplesReader)reader).getAudioSamples();
+           }
+           return readAudioSamples(reader);
+       }
+   }
+
+   /**
+    * Returns the samples of the given audio from the start time (inclusive)
+    * to the end time (exclusive).
+    * @param audio the audio to read
+    * @param startTime the start of the range in seconds
+    * @param endTime the end of the range in seconds,
+    * {@link Double#POSITIVE_INFINITY} to read until the end of the audio
+    * @return the samples within the range
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    * @see #getAudioSamples(Audio, long, long)
+    */
+   public static AudioSamples getAudioSamples(final Audio audio, final double startTime,
+           final double endTime) throws UnsupportedAudioFileException, IOException{
+       return getAudioSamples(audio, getFramePosition(audio, startTime),
+           getFramePosition(audio, endTime));
+   }
+
+   /**
+    * Converts the given time to the position of the frame of the given audio
+    * at that time. The sample rate is taken from the metadata of the audio,
+    * if its header couldn't be read it is taken from the file instead.
+    * @param audio the audio
+    * @param seconds the time in seconds, {@link Double#POSITIVE_INFINITY} for
+    * the end of the audio
+    * @return the frame position, {@link Long#MAX_VALUE} for the end of the audio
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    * @see AudioMetadata#getFramePosition(double)
+    */
+   public static long getFramePosition(final Audio audio, final double seconds)
+           throws UnsupportedAudioFileException, IOException{
+       if(seconds <= 0 || Double.isInfinite(seconds)){
+           return AudioMetadata.getFramePosition(seconds, 0);
+       }
+       final AudioMetadata metadata = audio.getMetadata();
+       if(metadata != null){
+           return metadata.getFramePosition(seconds);
+       }
+       try(final AudioSampleReader reader = AudioSampleReader.open(audio)){
+           return AudioMetadata.getFramePosition(seconds, reader.getAudioFormat().getSampleRate());
+       }
+   }
+
+   /**
+    * @param audio the audio to read
+    * @param startFrame the first frame to read
+    * @param endFrame the frame after the last frame to read
+    * @return the 2D array containing the audio samples within the range, see
+    * {@link #getSamples(Audio)}
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static double[][] getSamples(final Audio audio, final long startFrame,
+           final long endFrame) throws UnsupportedAudioFileException, IOException{
+       return getAudioSamples(audio, startFrame, endFrame).getSamples();
+   }
+
+   /**
+    * @param audio the audio to read
+    * @param startTime the start of the range in seconds
+    * @param endTime the end of the range in seconds
+    * @return the 2D array containing the audio samples within the range, see
+    * {@link #getSamples(Audio)}
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static double[][] getSamples(final Audio audio, final double startTime,
+           final double endTime) throws UnsupportedAudioFileException, IOException{
+       return getAudioSamples(audio, startTime, endTime).getSamples();
+   }
+
+   /**
+    * Returns the samples of the given audio mixed down into one channel and
+    * resampled to the given sample rate as signed 16-bit little-endian PCM
+    * stream. This is the format most speech recognizers expect.
+    * @param audio the audio to read
+    * @param sampleRate the sample rate of the returned stream
+    * @return the resampled mono stream
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static AudioInputStream getResampledAudioInputStream(final Audio audio,
+           final float sampleRate) throws UnsupportedAudioFileException, IOException{
+       return getResampledAudioInputStream(audio, sampleRate, 0, Long.MAX_VALUE);
+   }
+
+   /**
+    * Returns the samples of the given audio from the start frame (inclusive)
+    * to the end frame (exclusive) mixed down into one channel and resampled
+    * to the given sample rate as signed 16-bit little-endian PCM stream.
+    * @param audio the audio to read
+    * @param sampleRate the sample rate of the returned stream, values less or
+    * equal 0 keep the sample rate of the audio
+    * @param startFrame the first frame to read, in the original sample rate
+    * @param endFrame the frame after the last frame to read, in the original
+    * sample rate
+    * @return the resampled mono stream
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static AudioInputStream getResampledAudioInputStream(final Audio audio,
+           final float sampleRate, final long startFrame, final long endFrame)
+                   throws UnsupportedAudioFileException, IOException{
+       final AudioSampleReader reader = ResamplingSampleReader.resample(
+           AudioSampleReader.open(audio, startFrame, endFrame), sampleRate);
+       final AudioFormat format = new AudioFormat(reader.getAudioFormat().getSampleRate(),
+           16, 1, true, false);
+       final long frameLength = reader.getFrameLength();
+       return new AudioInputStream(new SampleReaderInputStream(reader), format,
+           (frameLength < 0) ? AudioSystem.NOT_SPECIFIED : frameLength);
+   }
+
+   /**
+    * Writes the given time range of the audio into a temporary WAV file, mixed
+    * down into one channel as signed 16-bit PCM in the sample rate of the
+    * audio, see {@link #getResampledAudioInputStream(Audio, float, long, long)}.
+    * The caller has to delete the file.
+    * @param audio the audio to read
+    * @param startTime the start of the range in seconds
+    * @param endTime the end of the range in seconds,
+    * {@link Double#POSITIVE_INFINITY} to read until the end of the audio
+    * @return the temporary file
+    * @throws UnsupportedAudioFileException
+    * @throws IOException
+    */
+   public static File writeTemporaryWavFile(final Audio audio, final double startTime,
+           final double endTime) throws UnsupportedAudioFileException, IOException{
+       final File file = File.createTempFile("knime-audio-range", ".wav");
+       try(final AudioInputStream stream = getResampledAudioInputStream(audio, 0,
+               getFramePosition(audio, startTime), getFramePosition(audio, endTime))){
+           AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file);
+       } catch(final UnsupportedAudioFileException | IOException | RuntimeException ex){
+           file.delete();
+           throw ex;
+       }
+       return file;
+   }
+
+   /**
+    * Reads all remaining samples of the given reader into an {@link AudioSamples}
+    * object. The samples are stored in the smallest backing that doesn't lose
+    * precision, e.g. 8-bit and 16-bit samples are kept as 16-bit integers.
+    * @param reader the reader to read the samples from
+    * @return the samples of the reader
+    * @throws IOException
+    */
+   public static AudioSamples readAudioSamples(final AudioSampleReader reader) throws IOException{
+       final AudioFormat format = reader.getAudioFormat();
+       final boolean floatingPoint = AudioFormat.Encoding.PCM_FLOAT.equals(format.getEncoding());
+       final AudioSamples.Backing backing = AudioSamples.getLosslessBacking(
+           format.getSampleSizeInBits(), floatingPoint);
+       if(isDecodedInParallel(reader)){
+           return readAudioSamplesInParallel((MappedWavSampleReader)reader, backing);
+       }
+       if(backing == AudioSamples.Backing.FLOAT){
+           return new AudioSamples(readAllFloatSamples(reader), format);
+       }
+       if(backing != AudioSamples.Backing.INT16 || !reader.supportsShortSamples()){
+           return new AudioSamples(readAllSamples(reader), format);
+       }
+       final int frameLength = getRemainingFrames(reader);
+       final short[][] samples = new short[reader.getNumberOfChannels()][frameLength];
+       int position = 0;
+       while(position < frameLength){
+           final int read = reader.read(samples, position, frameLength - position);
+           if(read < 0){
+               break;
+           }
+           position += read;
+       }
+       return new AudioSamples(samples, reader.getSampleScale(), format);
+   }
+
+   /**
+    * Reads all remaining samples of the given reader.
+    * @param reader the reader to read the samples from
+    * @return the 2D array containing the samples, the first indices indicate
+    * the channel and the second indices indicate the samples
+    * @throws IOException
+    */
+   public static double[][] readAllSamples(final AudioSampleReader reader) throws IOException{
+       final int frameLength = getRemainingFrames(reader);
+       final double[][] samples = new double[reader.getNumberOfChannels()][frameLength];
+       int position = 0;
+       while(position < frameLength){
+           final int read = reader.read(samples, position, frameLength - position);
+           if(read < 0){
+               break;
+           }
+           position += read;
+       }
+       return samples;
+   }
+
+   /**
+    * Reads all remaining samples of the given reader into floats, the values
+    * are only exact if the source samples are 32-bit floats.
+    */
+   private static float[][] readAllFloatSamples(final AudioSampleReader reader) throws IOException{
+       final int frameLength = getRemainingFrames(reader);
+       final int channels = reader.getNumberOfChannels();
+       final float[][] samples = new float[channels][frameLength];
+       final double[][] block = new double[channels][Math.min(frameLength,
+           AudioSampleReader.DEFAULT_BLOCK_SIZE)];
+       int position = 0;
+       while(position < frameLength){
+           final int read = reader.read(block, 0, Math.min(block[0].length, frameLength - position));
+           if(read < 0){
+               break;
+           }
+           for(int ch = 0; ch < channels; ch++){
+               for(int i = 0; i < read; i++){
+                   samples[ch][position + i] = (float)block[ch][i];
+               }
+           }
+           position += read;
+       }
+       return samples;
+   }
+
+   /**
+    * Uncompressed files are split into ranges of frames whose byte offsets
+    * follow from the header, so they can be decoded independently. This only
+    * pays off for large files and if there are several processors.
+    */
+   private static boolean isDecodedInParallel(final AudioSampleReader reader){
+       if(!(reader instanceof MappedWavSampleReader)
+               || ForkJoinPool.getCommonPoolParallelism() < 2){
+           return false;
+       }
+       final long bytes = (reader.getFrameLength() - reader.getFramePosition())
+               * reader.getAudioFormat().getFrameSize();
+       return bytes >= Long.getLong(PARALLEL_DECODING_THRESHOLD_PROPERTY,
+           DEF_PARALLEL_DECODING_THRESHOLD);
+   }
+
+   /**
+    * Reads all remaining samples of the given reader on the common fork/join
+    * pool. Each task decodes its own range of frames directly into the
+    * preallocated arrays, so the result is the same as reading sequentially.
+    */
+   private static AudioSamples readAudioSamplesInParallel(final MappedWavSampleReader reader,
+           final AudioSamples.Backing backing) throws IOException{
+       final AudioFormat format = reader.getAudioFormat();
+       final int frameLength = getRemainingFrames(reader);
+       final int channels = reader.getNumberOfChannels();
+       final long start = reader.getFramePosition();
+       final AudioSamples samples;
+       if(backing == AudioSamples.Backing.INT16 && reader.supportsShortSamples()){
+           final short[][] shortSamples = new short[channels][frameLength];
+           decodeInParallel(frameLength, reader.getMaxFramesPerRead(), new FrameDecoder() {
+
+               @Override
+               public void decode(final int from, final int length) throws IOException {
+                   reader.read(start + from, shortSamples, from, length);
+               }
+           });
+           samples = new AudioSamples(shortSamples, reader.getSampleScale(), format);
+       } else if(backing == AudioSamples.Backing.FLOAT){
+           final float[][] floatSamples = new float[channels][frameLength];
+           decodeInParallel(frameLength, reader.getMaxFramesPerRead(), new FrameDecoder() {
+
+               @Override
+               public void decode(final int from, final int length) throws IOException {
+                   final double[][] block = new double[channels][Math.min(length,
+                       AudioSampleReader.DEFAULT_BLOCK_SIZE)];
+                   for(int position = 0; position < length; position += block[0].length){
+                       final int frames = Math.min(block[0].length, length - position);
+                       reader.read(start + from + position, block, 0, frames);
+                       for(int ch = 0; ch < channels; ch++){
+                           for(int i = 0; i < frames; i++){
+                               floatSamples[ch][from + position + i] = (float)block[ch][i];
+                           }
+                       }
+                   }
+               }
+           });
+           samples = new AudioSamples(floatSamples, format);
+       } else {
+           final double[][] doubleSamples = new double[channels][frameLength];
+           decodeInParallel(frameLength, reader.getMaxFramesPerRead(), new FrameDecoder() {
+
+               @Override
+               public void decode(final int from, final int length) throws IOException {
+                   reader.read(start + from, doubleSamples, from, length);
+               }
+           });
+           samples = new AudioSamples(doubleSamples, format);
+       }
+       reader.skip(frameLength);
+       return samples;
+   }
+
+   /**
+    * Splits the frames into ranges of roughly equal size, a few per processor
+    * to balance the load, and decodes them on the common fork/join pool.
+    */
+   private static void decodeInParallel(final int frameLength, final int maxFramesPerTask,
+           final FrameDecoder decoder) throws IOException{
+       final long tasks = 4L * ForkJoinPool.getCommonPoolParallelism();
+       final int framesPerTask = (int)Math.min(maxFramesPerTask, Math.max(MIN_FRAMES_PER_TASK,
+           (frameLength + tasks - 1) / tasks));
        try{
-           channelSamples = AudioMethods.extractSampleValues(convertedStream);
-       } catch(Exception ex){
-           LOGGER.error(ex.getMessage());
+           ForkJoinPool.commonPool().invoke(new DecodingTask(decoder, 0, frameLength, framesPerTask));
+       } catch(final UncheckedIOException ex){
+           throw ex.getCause();
        }
+   }
 
-       originalStream.close();
+   /**
+    * Decodes a range of frames into the corresponding range of the output.
+    */
+   private interface FrameDecoder {
+       void decode(final int from, final int length) throws IOException;
+   }
+
+   private static final class DecodingTask extends RecursiveAction {
+
+       private static final long serialVersionUID = 1L;
+
+       private final FrameDecoder m_decoder;
+       private final int m_from;
+       private final int m_length;
+       private final int m_framesPerTask;
+
+       private DecodingTask(final FrameDecoder decoder, final int from, final int length,
+               final int framesPerTask){
+           m_decoder = decoder;
+           m_from = from;
+           m_length = length;
+           m_framesPerTask = framesPerTask;
+       }
 
-       if(convertedStream != null){
-           convertedStream.close();
+       @Override
+       protected void compute() {
+           if(m_length <= m_framesPerTask){
+               try{
+                   m_decoder.decode(m_from, m_length);
+               } catch(final IOException ex){
+                   throw new UncheckedIOException(ex);
+               }
+               return;
+           }
+           final int half = m_length / 2;
+           invokeAll(new DecodingTask(m_decoder, m_from, half, m_framesPerTask),
+               new DecodingTask(m_decoder, m_from + half, m_length - half, m_framesPerTask));
        }
+   }
 
-       return channelSamples;
+   private static int getRemainingFrames(final AudioSampleReader reader){
+       final long frameLength = reader.getFrameLength() - reader.getFramePosition();
+       if(reader.getFrameLength() < 0 || frameLength > Integer.MAX_VALUE){
+           throw new IllegalArgumentException("The number of frames must be known and fit into an array.");
+       }
+       return (int)frameLength;
    }
 
    /**
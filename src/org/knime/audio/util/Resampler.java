@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A streaming polyphase resampler with a windowed-sinc low-pass filter. The
+ * ratio of the target and source sample rate is reduced to L/M. Each output
+ * sample is computed from the input samples around its position with one of L
+ * precomputed filter phases, hence no upsampled signal is ever built. The
+ * filter tables only depend on the ratio and are shared by all resamplers with
+ * the same ratio.
+ *
+ * The input can be fed in blocks of any size, the resampler keeps the input
+ * samples that are still needed by the following output samples.
+ *
+ * @author agent
+ */
+public class Resampler {
+
+    /** The number of zero crossings of the sinc function on each side */
+    private static final int ZERO_CROSSINGS = 16;
+
+    /** The cutoff frequency relative to the lower Nyquist frequency */
+    private static final double ROLLOFF = 0.95;
+
+    /** The maximal number of filter phases, i.e. the maximal reduced upsampling factor */
+    private static final int MAX_PHASES = 4096;
+
+    private static final ConcurrentMap<Long, double[][]> FILTERS =
+            new ConcurrentHashMap<Long, double[][]>();
+
+    private final int m_up;
+    private final int m_down;
+    private final double[][] m_filter;
+    private final int m_halfWidth;
+    private double[] m_buffer;
+    /* The input index of the first sample in the buffer, can be negative due to the zero padding */
+    private long m_bufferStart;
+    private int m_bufferLength;
+    private long m_inputLength;
+    private long m_outputIndex;
+
+    /**
+     * @param sourceRate the sample rate of the input
+     * @param targetRate the sample rate of the output
+     */
+    public Resampler(final float sourceRate, final float targetRate) {
+        if (sourceRate <= 0 || targetRate <= 0) {
+            throw new IllegalArgumentException("The sample rates must be positive.");
+        }
+        final long source = Math.round(sourceRate);
+        final long target = Math.round(targetRate);
+        final long gcd = gcd(source, target);
+        if (target / gcd > MAX_PHASES) {
+            throw new IllegalArgumentException("The ratio of the sample rates " + target + "/"
+                + source + " is too complex.");
+        }
+        m_up = (int)(target / gcd);
+        m_down = (int)(source / gcd);
+        m_filter = getFilter(m_up, m_down);
+        m_halfWidth = m_filter[0].length / 2;
+        m_buffer = new double[Math.max(1024, 4 * m_halfWidth)];
+        reset();
+    }
+
+    /**
+     * Clears the state, so that a new stream can be resampled.
+     */
+    public void reset() {
+        /* The signal is preceded by zeros */
+        m_bufferStart = -m_halfWidth;
+        m_bufferLength = m_halfWidth;
+        for (int i = 0; i < m_bufferLength; i++) {
+            m_buffer[i] = 0;
+        }
+        m_inputLength = 0;
+        m_outputIndex = 0;
+    }
+
+    /**
+     * @return the reduced upsampling factor L
+     */
+    public int getUpsamplingFactor() {
+        return m_up;
+    }
+
+    /**
+     * @return the reduced downsampling factor M
+     */
+    public int getDownsamplingFactor() {
+        return m_down;
+    }
+
+    /**
+     * @param inputLength the total number of input samples
+     * @return the total number of output samples
+     */
+    public long getOutputLength(final long inputLength) {
+        return (inputLength * m_up + m_down - 1) / m_down;
+    }
+
+    /**
+     * @param inputLength the total number of input samples
+     * @param sourceRate the sample rate of the input
+     * @param targetRate the sample rate of the output
+     * @return the total number of output samples a resampler for the given
+     * sample rates produces
+     */
+    public static long getOutputLength(final long inputLength, final float sourceRate,
+            final float targetRate) {
+        final long source = Math.round(sourceRate);
+        final long target = Math.round(targetRate);
+        final long gcd = gcd(source, target);
+        return (inputLength * (target / gcd) + source / gcd - 1) / (source / gcd);
+    }
+
+    /**
+     * @param inputLength the number of input samples fed at once
+     * @return the maximal number of output samples that are produced by
+     * {@link #process(double[], int, int, double[], int)} or
+     * {@link #flush(double[], int)}
+     */
+    public int getMaxOutputLength(final int inputLength) {
+        return (int)(((long)inputLength + 2 * m_halfWidth + 1) * m_up / m_down) + 1;
+    }
+
+    /**
+     * Feeds input samples and writes all output samples that can be computed.
+     * @param input the input samples
+     * @param offset the position of the first input sample
+     * @param length the number of input samples
+     * @param output the array to write the output samples into, must have room
+     * for {@link #getMaxOutputLength(int)} samples
+     * @param outputOffset the position in the output array to start writing
+     * @return the number of output samples written
+     */
+    public int process(final double[] input, final int offset, final int length,
+            final double[] output, final int outputOffset) {
+        append(input, offset, length);
+        m_inputLength += length;
+        return produce(output, outputOffset, m_bufferStart + m_bufferLength, false);
+    }
+
+    /**
+     * Writes the remaining output samples at the end of the stream. The input
+     * is assumed to be followed by zeros.
+     * @param output the array to write the output samples into
+     * @param outputOffset the position in the output array to start writing
+     * @return the number of output samples written
+     */
+    public int flush(final double[] output, final int outputOffset) {
+        final double[] zeros = new double[m_halfWidth + 1];
+        append(zeros, 0, zeros.length);
+        return produce(output, outputOffset, m_bufferStart + m_bufferLength, true);
+    }
+
+    private void append(final double[] input, final int offset, final int length) {
+        if (m_bufferLength + length > m_buffer.length) {
+            final double[] buffer = new double[Math.max(2 * m_buffer.length, m_bufferLength + length)];
+            System.arraycopy(m_buffer, 0, buffer, 0, m_bufferLength);
+            m_buffer = buffer;
+        }
+        System.arraycopy(input, offset, m_buffer, m_bufferLength, length);
+        m_bufferLength += length;
+    }
+
+    private int produce(final double[] output, final int outputOffset, final long available,
+            final boolean last) {
+        final long outputLength = getOutputLength(m_inputLength);
+        int count = 0;
+        while (!last || m_outputIndex < outputLength) {
+            final long time = m_outputIndex * m_down;
+            final long center = time / m_up;
+            final int phase = (int)(time % m_up);
+            /* The filter covers the input samples center - halfWidth + 1 ... center + halfWidth */
+            if (center + m_halfWidth >= available) {
+                break;
+            }
+            final double[] coefficients = m_filter[phase];
+            final int start = (int)(center - m_halfWidth + 1 - m_bufferStart);
+            double sum = 0;
+            for (int k = 0; k < coefficients.length; k++) {
+                sum += m_buffer[start + k] * coefficients[k];
+            }
+            output[outputOffset + count++] = sum;
+            m_outputIndex++;
+        }
+
+        /* Drop the input samples that aren't needed anymore */
+        final long nextCenter = m_outputIndex * m_down / m_up;
+        final int drop = (int)Math.min(m_bufferLength,
+            Math.max(0, nextCenter - m_halfWidth + 1 - m_bufferStart));
+        if (drop > 0) {
+            System.arraycopy(m_buffer, drop, m_buffer, 0, m_bufferLength - drop);
+            m_bufferLength -= drop;
+            m_bufferStart += drop;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the filter table for the given ratio, the table is computed on
+     * the first request and cached.
+     */
+    private static double[][] getFilter(final int up, final int down) {
+        final Long key = Long.valueOf(((long)up << 32) | down);
+        double[][] filter = FILTERS.get(key);
+        if (filter == null) {
+            filter = createFilter(up, down);
+            final double[][] existing = FILTERS.putIfAbsent(key, filter);
+            if (existing != null) {
+                filter = existing;
+            }
+        }
+        return filter;
+    }
+
+    private static double[][] createFilter(final int up, final int down) {
+        /* Cutoff relative to the input Nyquist frequency, lowered when downsampling */
+        final double cutoff = ROLLOFF * Math.min(1.0, (double)up / down);
+        final int halfWidth = (int)Math.ceil(ZERO_CROSSINGS / cutoff);
+        final double[][] filter = new double[up][2 * halfWidth];
+        for (int phase = 0; phase < up; phase++) {
+            final double fraction = (double)phase / up;
+            double sum = 0;
+            for (int k = 0; k < 2 * halfWidth; k++) {
+                /* Distance of the input sample to the output position */
+                final double t = (k - halfWidth + 1) - fraction;
+                final double value = cutoff * sinc(cutoff * t) * blackman(t / halfWidth);
+                filter[phase][k] = value;
+                sum += value;
+            }
+            /* Normalize the gain of each phase to 1 */
+            for (int k = 0; k < 2 * halfWidth; k++) {
+                filter[phase][k] /= sum;
+            }
+        }
+        return filter;
+    }
+
+    private static double sinc(final double x) {
+        if (x == 0) {
+            return 1;
+        }
+        final double px = Math.PI * x;
+        return Math.sin(px) / px;
+    }
+
+    /**
+     * @param x the position relative to the half width of the window, between -1 and 1
+     */
+    private static double blackman(final double x) {
+        if (x <= -1 || x >= 1) {
+            return 0;
+        }
+        final double phase = Math.PI * (x + 1);
+        return 0.42 - 0.5 * Math.cos(phase) + 0.08 * Math.cos(2 * phase);
+    }
+
+    private static long gcd(final long a, final long b) {
+        return (b == 0) ? a : gcd(b, a % b);
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.audio.data.io.BufferedDataInputStream;
+import org.knime.audio.data.io.BufferedDataOutputStream;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+
+/**
+ * Checks that the {@link Audio} and its {@link AudioMetadata} survive the
+ * serialization of the cells and the saving of the tables, and that the
+ * older formats without the metadata are still read.
+ *
+ * @author agent
+ */
+public class AudioSerializationTest {
+
+    private File m_wav;
+    private File m_broken;
+
+    /**
+     * Writes a short WAV file and a file that isn't audio.
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        m_wav = File.createTempFile("knime-audio-test", ".wav");
+        final AudioFormat format = new AudioFormat(8000, 16, 2, true, false);
+        final byte[] bytes = new byte[400 * format.getFrameSize()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)(i * 7);
+        }
+        try (final AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(bytes),
+            format, 400)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, m_wav);
+        }
+        m_broken = File.createTempFile("knime-audio-test", ".wav");
+        try (final OutputStream out = new FileOutputStream(m_broken)) {
+            out.write("not audio".getBytes("US-ASCII"));
+        }
+    }
+
+    /**
+     * Deletes the files.
+     */
+    @After
+    public void tearDown() {
+        m_wav.delete();
+        m_broken.delete();
+    }
+
+    /**
+     * The metadata is read from the header of the file.
+     * @throws Exception
+     */
+    @Test
+    public void testMetadata() throws Exception {
+        final AudioMetadata metadata = AudioBuilder.createAudio(m_wav).getMetadata();
+        assertNotNull(metadata);
+        assertEquals(AudioFileFormat.Type.WAVE, metadata.getType());
+        assertEquals(8000, metadata.getSampleRate(), 0);
+        assertEquals(16, metadata.getSampleSizeInBits());
+        assertEquals(2, metadata.getNumberOfChannels());
+        assertEquals(400, metadata.getFrameLength());
+        assertEquals(0.05, metadata.getDuration(), 1e-9);
+        assertEquals(m_wav.length(), metadata.getByteLength());
+    }
+
+    /**
+     * The cells are serialized with their metadata.
+     * @throws Exception
+     */
+    @Test
+    public void testSerialize() throws Exception {
+        final Audio audio = AudioBuilder.createAudio(m_wav);
+        final AudioMetadata metadata = audio.getMetadata();
+        final Audio copy = deserialize(serialize(audio));
+        assertEquals(audio, copy);
+        assertEquals(metadata, copy.getReadMetadata());
+    }
+
+    /**
+     * Cells of the format without the metadata read it from the file when it
+     * is needed.
+     * @throws Exception
+     */
+    @Test
+    public void testDeserializeOldFormat() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeUTF(m_wav.getAbsolutePath());
+        output.writeBoolean(false);
+        output.close();
+        final Audio audio = deserialize(bytes.toByteArray());
+        assertEquals(m_wav.getAbsoluteFile(), audio.getFile().getAbsoluteFile());
+        assertNull(audio.getReadMetadata());
+        assertEquals(AudioMetadata.read(m_wav), audio.getMetadata());
+    }
+
+    /**
+     * Metadata that hasn't been read isn't read for the serialization, the
+     * format without the metadata is written instead.
+     * @throws Exception
+     */
+    @Test
+    public void testSerializeUnreadMetadata() throws Exception {
+        final Audio audio = AudioBuilder.createAudio(m_wav);
+        final byte[] bytes = serialize(audio);
+        assertEquals(m_wav.getAbsolutePath(), new DataInputStream(new ByteArrayInputStream(bytes)).readUTF());
+        final Audio copy = deserialize(bytes);
+        assertNull(copy.getReadMetadata());
+        assertEquals(AudioMetadata.read(m_wav), copy.getMetadata());
+    }
+
+    /**
+     * An audio whose header can't be read is still created, it doesn't have
+     * metadata.
+     * @throws Exception
+     */
+    @Test
+    public void testUnreadableHeader() throws Exception {
+        final Audio audio = AudioBuilder.createAudio(m_broken);
+        assertNull(audio.getMetadata());
+        assertNull(audio.getMetadata());
+        final Audio copy = deserialize(serialize(audio));
+        assertEquals(audio, copy);
+        assertNull(copy.getMetadata());
+    }
+
+    /**
+     * The tables are saved with the metadata.
+     * @throws Exception
+     */
+    @Test
+    public void testSaveInternals() throws Exception {
+        final Audio audio = AudioBuilder.createAudio(m_wav);
+        final AudioMetadata metadata = audio.getMetadata();
+        final Audio copy = loadInternals(saveInternals(audio));
+        assertEquals(audio, copy);
+        assertEquals(metadata, copy.getReadMetadata());
+    }
+
+    /**
+     * Tables saved without the metadata read it from the file when it is
+     * needed.
+     * @throws Exception
+     */
+    @Test
+    public void testLoadOldInternals() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final String path = m_wav.getAbsolutePath();
+        try (final BufferedDataOutputStream output = new BufferedDataOutputStream(bytes)) {
+            output.writeInt(path.length());
+            output.writeChars(path);
+            output.writeBoolean(false);
+        }
+        final Audio audio = loadInternals(bytes.toByteArray());
+        assertEquals(path, audio.getFile().getAbsolutePath());
+        assertNull(audio.getReadMetadata());
+        assertEquals(AudioMetadata.read(m_wav), audio.getMetadata());
+
+        final Audio unread = loadInternals(saveInternals(AudioBuilder.createAudio(m_wav)));
+        assertNull(unread.getReadMetadata());
+        assertNotNull(unread.getMetadata());
+    }
+
+    private static byte[] serialize(final Audio audio) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final CellOutput output = new CellOutput(bytes)) {
+            AudioBuilder.serialize(audio, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Audio deserialize(final byte[] bytes) throws Exception {
+        try (final CellInput input = new CellInput(new ByteArrayInputStream(bytes))) {
+            return AudioBuilder.deserialize(input);
+        }
+    }
+
+    private static byte[] saveInternals(final Audio audio) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BufferedDataOutputStream output = new BufferedDataOutputStream(bytes)) {
+            AudioBuilder.saveInternals(audio, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Audio loadInternals(final byte[] bytes) throws Exception {
+        try (final BufferedDataInputStream input = new BufferedDataInputStream(
+            new ByteArrayInputStream(bytes))) {
+            return AudioBuilder.loadInternals(input);
+        }
+    }
+
+    private static final class CellOutput extends DataOutputStream implements DataCellDataOutput {
+
+        private CellOutput(final OutputStream out) {
+            super(out);
+        }
+
+        public void writeDataCell(final DataCell cell) throws IOException {
+            throw new IOException("Audio cells don't contain other cells.");
+        }
+    }
+
+    private static final class CellInput extends DataInputStream implements DataCellDataInput {
+
+        private CellInput(final InputStream in) {
+            super(in);
+        }
+
+        public DataCell readDataCell() throws IOException {
+            throw new IOException("Audio cells don't contain other cells.");
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the {@link FFT} against a plain discrete Fourier transform and the
+ * batched transforms against the ones of single frames.
+ *
+ * @author agent
+ */
+public class FFTTest {
+
+    private static final int[] SIZES = {1, 2, 4, 8, 64, 512, 1024};
+
+    /**
+     * The complex transform is the discrete Fourier transform.
+     */
+    @Test
+    public void testTransform() {
+        final Random random = new Random(42);
+        for (final int size : SIZES) {
+            final double[] real = new double[size];
+            final double[] imag = new double[size];
+            for (int i = 0; i < size; i++) {
+                real[i] = random.nextGaussian();
+                imag[i] = random.nextGaussian();
+            }
+            final double[][] expected = dft(real, imag);
+            FFT.getInstance(size).transform(real, imag);
+            for (int k = 0; k < size; k++) {
+                assertEquals("real part of bin " + k + " of " + size, expected[0][k], real[k], 1e-9);
+                assertEquals("imaginary part of bin " + k + " of " + size, expected[1][k], imag[k], 1e-9);
+            }
+        }
+    }
+
+    /**
+     * The spectra are the first half of the bins of the zero-padded samples
+     * with a Hanning window, divided by the size of the transform.
+     */
+    @Test
+    public void testSpectra() {
+        final Random random = new Random(7);
+        for (final int length : new int[]{2, 3, 100, 512, 1000}) {
+            final FFT fft = FFT.getInstance(FFT.getPaddedSize(length));
+            final int size = fft.getSize();
+            final double[] samples = new double[length];
+            final double[] real = new double[size];
+            final double[] imag = new double[size];
+            for (int i = 0; i < length; i++) {
+                samples[i] = random.nextGaussian();
+                real[i] = samples[i] * (0.5 - 0.5 * Math.cos(2 * Math.PI * i / size));
+            }
+            final double[][] bins = dft(real, imag);
+            final double[] magnitudes = fft.getMagnitudeSpectrum(samples);
+            final double[] powers = fft.getPowerSpectrum(samples);
+            assertEquals(size / 2, magnitudes.length);
+            for (int k = 0; k < size / 2; k++) {
+                final double squared = bins[0][k] * bins[0][k] + bins[1][k] * bins[1][k];
+                assertEquals("magnitude of bin " + k + " of " + length, Math.sqrt(squared) / size,
+                    magnitudes[k], 1e-12);
+                assertEquals("power of bin " + k + " of " + length, squared / size, powers[k], 1e-12);
+            }
+        }
+    }
+
+    /**
+     * The frames of a batch are transformed exactly like single frames.
+     */
+    @Test
+    public void testBatchedTransform() {
+        final Random random = new Random(3);
+        final int size = 256;
+        final int frames = 5;
+        final double[] real = new double[frames * size];
+        final double[] imag = new double[frames * size];
+        for (int i = 0; i < real.length; i++) {
+            real[i] = random.nextGaussian();
+            imag[i] = random.nextGaussian();
+        }
+        final double[][] expected = new double[2 * frames][];
+        for (int f = 0; f < frames; f++) {
+            expected[2 * f] = copy(real, f * size, size);
+            expected[2 * f + 1] = copy(imag, f * size, size);
+            FFT.getInstance(size).transform(expected[2 * f], expected[2 * f + 1]);
+        }
+        FFT.getInstance(size).transform(real, imag, frames);
+        for (int f = 0; f < frames; f++) {
+            assertArrayEquals(expected[2 * f], copy(real, f * size, size), 0);
+            assertArrayEquals(expected[2 * f + 1], copy(imag, f * size, size), 0);
+        }
+    }
+
+    /**
+     * The spectra of frames stored back to back are exactly the ones of the
+     * single frames, also if the frames are shorter than the transform.
+     */
+    @Test
+    public void testBatchedSpectra() {
+        final Random random = new Random(11);
+        for (final int length : new int[]{1, 64, 1000}) {
+            final FFT fft = FFT.getInstance(FFT.getPaddedSize(length));
+            final int frames = 7;
+            final int offset = 13;
+            final double[] samples = new double[offset + frames * length];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = random.nextGaussian();
+            }
+            final double[][] magnitudes = new double[frames][fft.getSize() / 2];
+            final double[][] powers = new double[frames][fft.getSize() / 2];
+            fft.getMagnitudeSpectra(samples, offset, length, magnitudes);
+            fft.getPowerSpectra(samples, offset, length, powers);
+            for (int f = 0; f < frames; f++) {
+                final int start = offset + f * length;
+                assertArrayEquals(fft.getMagnitudeSpectrum(samples, start, length,
+                    new double[fft.getSize() / 2]), magnitudes[f], 0);
+                assertArrayEquals(fft.getPowerSpectrum(samples, start, length,
+                    new double[fft.getSize() / 2]), powers[f], 0);
+            }
+        }
+    }
+
+    /**
+     * The spectrum extractors give the same values for consecutive windows
+     * as for each window on its own.
+     * @throws Exception
+     */
+    @Test
+    public void testExtractFeatures() throws Exception {
+        final Random random = new Random(5);
+        final int windowSize = 300;
+        final int windows = 4;
+        final double[] samples = new double[windows * windowSize];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = random.nextGaussian();
+        }
+        for (final FeatureExtractor extractor : new FeatureExtractor[]{new MagnitudeSpectrum(),
+            new PowerSpectrum()}) {
+            final FeatureValues[] results = new FeatureValues[windows];
+            for (int w = 0; w < windows; w++) {
+                results[w] = new FeatureValues(0);
+            }
+            extractor.extractFeatures(samples, 0, windowSize, 44100, results);
+            for (int w = 0; w < windows; w++) {
+                final FeatureValues expected = new FeatureValues(0);
+                extractor.extractFeature(samples, w * windowSize, windowSize, 44100, null, expected);
+                assertArrayEquals(expected.toArray(), results[w].toArray(), 0);
+            }
+        }
+    }
+
+    private static double[] copy(final double[] values, final int offset, final int length) {
+        final double[] copy = new double[length];
+        System.arraycopy(values, offset, copy, 0, length);
+        return copy;
+    }
+
+    private static double[][] dft(final double[] real, final double[] imag) {
+        final int size = real.length;
+        final double[][] bins = new double[2][size];
+        for (int k = 0; k < size; k++) {
+            for (int n = 0; n < size; n++) {
+                final double angle = -2 * Math.PI * ((long)k * n % size) / size;
+                bins[0][k] += real[n] * Math.cos(angle) - imag[n] * Math.sin(angle);
+                bins[1][k] += real[n] * Math.sin(angle) + imag[n] * Math.cos(angle);
+            }
+        }
+        return bins;
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.feature;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the {@link LinearPrediction} against a plain implementation of the
+ * warped autocorrelation and the Levinson-Durbin recursion of the WarpTB
+ * toolbox, which jAudio's LPC ports, for sweeps of the parameters and
+ * degenerate windows.
+ *
+ * @author agent
+ */
+public class LinearPredictionTest {
+
+    private static final int[] ORDERS = {1, 2, 5, 10, 20, 40};
+    private static final double[] LAMBDAS = {0, 0.3, -0.5, 0.9};
+    private static final int[] LENGTHS = {1, 3, 10, 256, 1024, 4096};
+
+    /**
+     * Tones and noise.
+     */
+    @Test
+    public void testSignals() {
+        final Random random = new Random(42);
+        for (final int length : LENGTHS) {
+            final double[] samples = new double[length];
+            for (int i = 0; i < length; i++) {
+                samples[i] = 0.5 * Math.sin(0.05 * i) + 0.2 * Math.sin(0.7 * i)
+                        + 0.1 * random.nextGaussian();
+            }
+            checkSweep(samples, "signal of " + length);
+        }
+    }
+
+    /**
+     * Silent windows give zeros.
+     */
+    @Test
+    public void testSilence() {
+        for (final int length : LENGTHS) {
+            checkSweep(new double[length], "silence of " + length);
+        }
+        final double[] coefficients = new double[10];
+        coefficients[3] = 1;
+        LinearPrediction.getInstance(10, 0).compute(new double[512], 0, 512, coefficients);
+        for (final double coefficient : coefficients) {
+            assertEquals(0, coefficient, 0);
+        }
+    }
+
+    /**
+     * Constant windows, an impulse and an alternating signal.
+     */
+    @Test
+    public void testDegenerateWindows() {
+        for (final int length : LENGTHS) {
+            final double[] dc = new double[length];
+            final double[] impulse = new double[length];
+            final double[] alternating = new double[length];
+            for (int i = 0; i < length; i++) {
+                dc[i] = 0.25;
+                alternating[i] = (i % 2 == 0) ? 1 : -1;
+            }
+            impulse[length / 2] = 1;
+            checkSweep(dc, "dc of " + length);
+            checkSweep(impulse, "impulse of " + length);
+            checkSweep(alternating, "alternating of " + length);
+        }
+    }
+
+    /**
+     * The windows may start anywhere in the sample array.
+     */
+    @Test
+    public void testOffset() {
+        final Random random = new Random(7);
+        final double[] samples = new double[1100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = random.nextGaussian();
+        }
+        final double[] window = new double[1024];
+        System.arraycopy(samples, 50, window, 0, window.length);
+        final double[] expected = new double[10];
+        final double[] actual = new double[10];
+        LinearPrediction.getInstance(10, 0.3).compute(window, 0, window.length, expected);
+        LinearPrediction.getInstance(10, 0.3).compute(samples, 50, window.length, actual);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 0);
+        }
+    }
+
+    /**
+     * High orders take the autocorrelation from the FFT, which only differs
+     * in rounding.
+     */
+    @Test
+    public void testFFTAutocorrelation() {
+        final Random random = new Random(3);
+        final double[] samples = new double[512];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = Math.sin(0.1 * i) + 0.3 * random.nextGaussian();
+        }
+        final int order = 400;
+        final double[] expected = reference(samples, order, 0);
+        final double[] actual = new double[order];
+        LinearPrediction.getInstance(order, 0).compute(samples, 0, samples.length, actual);
+        for (int i = 0; i < order; i++) {
+            assertEquals("coefficient " + i, expected[i], actual[i], 1e-8 * (1 + Math.abs(expected[i])));
+        }
+    }
+
+    private static void checkSweep(final double[] samples, final String name) {
+        for (final int order : ORDERS) {
+            for (final double lambda : LAMBDAS) {
+                final double[] expected = reference(samples, order, lambda);
+                final double[] actual = new double[order];
+                LinearPrediction.getInstance(order, lambda).compute(samples, 0, samples.length, actual);
+                for (int i = 0; i < order; i++) {
+                    assertEquals(name + ", order " + order + ", lambda " + lambda + ", coefficient " + i,
+                        expected[i], actual[i], 1e-12 * (1 + Math.abs(expected[i])));
+                }
+            }
+        }
+    }
+
+    /**
+     * The warped autocorrelation and Levinson-Durbin recursion as in WarpTB,
+     * returning the predictor coefficients A[1..order].
+     */
+    private static double[] reference(final double[] x, final int order, final double lambda) {
+        final double[] r = new double[order + 1];
+        final double[] dl = new double[x.length];
+        double r1 = 0;
+        double r2 = 0;
+        for (int k = 0; k < x.length; k++) {
+            r[0] += x[k] * x[k];
+            dl[k] = r1 - lambda * (x[k] - r2);
+            r1 = x[k];
+            r2 = dl[k];
+        }
+        for (int i = 1; i <= order; i++) {
+            r1 = 0;
+            r2 = 0;
+            for (int k = 0; k < x.length; k++) {
+                r[i] += dl[k] * x[k];
+                final double t = dl[k];
+                dl[k] = r1 - lambda * (t - r2);
+                r1 = t;
+                r2 = dl[k];
+            }
+        }
+        final double[] a = new double[order + 1];
+        if (r[0] == 0) {
+            return new double[order];
+        }
+        final double[] am1 = new double[order + 1];
+        a[0] = 1;
+        am1[0] = 1;
+        double e = r[0];
+        for (int m = 1; m <= order; m++) {
+            double err = 0;
+            for (int k = 1; k < m; k++) {
+                err += am1[k] * r[m - k];
+            }
+            final double km = (r[m] - err) / e;
+            a[m] = km;
+            for (int k = 1; k < m; k++) {
+                a[k] = am1[k] - km * am1[m - k];
+            }
+            e = (1 - km * km) * e;
+            System.arraycopy(a, 0, am1, 0, order + 1);
+        }
+        final double[] result = new double[order];
+        System.arraycopy(a, 1, result, 0, order);
+        return result;
+    }
+
+}
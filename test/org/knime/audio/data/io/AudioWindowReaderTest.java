@@ -0,0 +1,165 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.Test;
+import org.knime.audio.data.AudioSamples;
+
+/**
+ * Checks the windows of the {@link AudioWindowReader} against the chunking of
+ * the whole mixed down samples the feature extractor used before.
+ *
+ * @author agent
+ */
+public class AudioWindowReaderTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(8000, 16, 2, true, false);
+
+    /**
+     * The number, positions and padding of the windows are the ones of the
+     * chunks for any length, window size and overlap.
+     * @throws Exception
+     */
+    @Test
+    public void testWindows() throws Exception {
+        for (final int length : new int[]{0, 1, 7, 64, 100, 1000, 4097}) {
+            for (final int windowSize : new int[]{1, 4, 64, 100, 512}) {
+                for (final int percent : new int[]{0, 10, 50, 75, 90}) {
+                    final int overlap = (int)((percent / 100f) * windowSize);
+                    checkWindows(length, windowSize, overlap);
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of windows can be computed from the number of frames.
+     */
+    @Test
+    public void testNumberOfWindows() {
+        assertEquals(0, AudioWindowReader.getNumberOfWindows(0, 10, 5));
+        assertEquals(1, AudioWindowReader.getNumberOfWindows(1, 10, 5));
+        assertEquals(1, AudioWindowReader.getNumberOfWindows(10, 10, 5));
+        assertEquals(2, AudioWindowReader.getNumberOfWindows(11, 10, 5));
+        assertEquals(2, AudioWindowReader.getNumberOfWindows(15, 10, 5));
+        assertEquals(3, AudioWindowReader.getNumberOfWindows(16, 10, 5));
+        assertEquals(1 + (3L * Integer.MAX_VALUE - 1024 + 511) / 512,
+            AudioWindowReader.getNumberOfWindows(3L * Integer.MAX_VALUE, 1024, 512));
+    }
+
+    /**
+     * The overlap must be less than the window size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOverlap() {
+        new AudioWindowReader(new AudioSamplesReader(new AudioSamples(new double[1], FORMAT)),
+            10, 10);
+    }
+
+    private static void checkWindows(final int length, final int windowSize, final int overlap)
+            throws Exception {
+        final double[][] samples = new double[2][length];
+        final double[] mixedDown = new double[length];
+        for (int i = 0; i < length; i++) {
+            samples[0][i] = i % 13;
+            samples[1][i] = -(i % 7);
+            mixedDown[i] = (samples[0][i] + samples[1][i]) / 2;
+        }
+        final List<Integer> starts = getChunkStartIndices(length, windowSize, overlap);
+        final String message = length + " samples, window size " + windowSize + ", overlap "
+                + overlap;
+        assertEquals(message, starts.size(),
+            AudioWindowReader.getNumberOfWindows(length, windowSize, overlap));
+        try (final AudioWindowReader reader = new AudioWindowReader(
+            new AudioSamplesReader(new AudioSamples(samples, FORMAT)), windowSize, overlap)) {
+            for (int w = 0; w < starts.size(); w++) {
+                final int start = starts.get(w);
+                final int valid = Math.min(windowSize, length - start);
+                final double[] expected = new double[windowSize];
+                System.arraycopy(mixedDown, start, expected, 0, valid);
+                reader.next();
+                assertEquals(message, w, reader.getWindowIndex());
+                assertEquals(message, start, reader.getWindowStart());
+                assertEquals(message, valid, reader.getValidLength());
+                assertArrayEquals(message + ", window " + w, expected, reader.getWindow(), 0);
+            }
+            assertFalse(message, reader.next());
+            assertFalse(message, reader.next());
+        }
+    }
+
+    /**
+     * The chunking of the feature extractor before the samples were read
+     * window by window.
+     */
+    private static List<Integer> getChunkStartIndices(final int length, final int chunkSize,
+            final int chunkOverlapOffset) {
+        final List<Integer> result = new ArrayList<Integer>();
+        int position = 0;
+        while (position < length) {
+            position -= chunkOverlapOffset;
+            if (position < 0) {
+                position = 0;
+            }
+            result.add(position);
+            position += chunkSize;
+        }
+        return result;
+    }
+
+}
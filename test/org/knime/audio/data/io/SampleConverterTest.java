@@ -0,0 +1,227 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.Test;
+import org.knime.audio.util.AudioUtils;
+
+/**
+ * Checks the sign and the byte order of the samples converted by the
+ * {@link SampleConverter} and by {@link AudioUtils#unpack(byte[], float[], int, AudioFormat)}.
+ *
+ * @author agent
+ */
+public class SampleConverterTest {
+
+    /**
+     * Signed 16-bit samples are read in both byte orders.
+     */
+    @Test
+    public void testInt16Signed() {
+        final double[] expected = {-1, -2 / 32768.0, 0, 1 / 32768.0, 32767 / 32768.0};
+        assertArrayEquals(expected, convert(format(16, 1, true, false), 32768,
+            0x00, 0x80, 0xfe, 0xff, 0x00, 0x00, 0x01, 0x00, 0xff, 0x7f), 0);
+        assertArrayEquals(expected, convert(format(16, 1, true, true), 32768,
+            0x80, 0x00, 0xff, 0xfe, 0x00, 0x00, 0x00, 0x01, 0x7f, 0xff), 0);
+    }
+
+    /**
+     * Unsigned samples are centered around 0.
+     */
+    @Test
+    public void testUnsigned() {
+        assertArrayEquals(new double[]{-1, 0, 127 / 128.0}, convert(format(8, 1, false, false),
+            128, 0x00, 0x80, 0xff), 0);
+        assertArrayEquals(new double[]{-1, 0, 1 / 32768.0}, convert(format(16, 1, false, true),
+            32768, 0x00, 0x00, 0x80, 0x00, 0x80, 0x01), 0);
+        assertArrayEquals(new double[]{-1, 0, 1 / 32768.0}, convert(format(16, 1, false, false),
+            32768, 0x00, 0x00, 0x00, 0x80, 0x01, 0x80), 0);
+    }
+
+    /**
+     * The 24 and 32-bit samples are sign extended.
+     */
+    @Test
+    public void testInt24AndInt32() {
+        final double scale = 1 << 23;
+        assertArrayEquals(new double[]{-1, -1 / scale, (scale - 1) / scale},
+            convert(format(24, 1, true, false), scale,
+                0x00, 0x00, 0x80, 0xff, 0xff, 0xff, 0xff, 0xff, 0x7f), 0);
+        assertArrayEquals(new double[]{-1, -1 / scale, (scale - 1) / scale},
+            convert(format(24, 1, true, true), scale,
+                0x80, 0x00, 0x00, 0xff, 0xff, 0xff, 0x7f, 0xff, 0xff), 0);
+        assertArrayEquals(new double[]{-1, -2 / 2147483648.0},
+            convert(format(32, 1, true, true), 2147483648.0,
+                0x80, 0x00, 0x00, 0x00, 0xff, 0xff, 0xff, 0xfe), 0);
+        assertArrayEquals(new double[]{0, 1 / 2147483648.0},
+            convert(format(32, 1, false, false), 2147483648.0,
+                0x00, 0x00, 0x00, 0x80, 0x01, 0x00, 0x00, 0x80), 0);
+    }
+
+    /**
+     * Floating point samples aren't scaled.
+     */
+    @Test
+    public void testFloat() {
+        final AudioFormat little = new AudioFormat(AudioFormat.Encoding.PCM_FLOAT, 8000, 32, 1,
+            4, 8000, false);
+        final AudioFormat big = new AudioFormat(AudioFormat.Encoding.PCM_FLOAT, 8000, 32, 1,
+            4, 8000, true);
+        final int bits = Float.floatToIntBits(-0.25f);
+        assertArrayEquals(new double[]{-0.25}, convert(little, 1, bits & 0xff, (bits >> 8) & 0xff,
+            (bits >> 16) & 0xff, bits >>> 24), 0);
+        assertArrayEquals(new double[]{-0.25}, convert(big, 1, bits >>> 24, (bits >> 16) & 0xff,
+            (bits >> 8) & 0xff, bits & 0xff), 0);
+    }
+
+    /**
+     * The channels are separated, mixed down and read as raw 16-bit values.
+     */
+    @Test
+    public void testChannels() {
+        final AudioFormat format = format(16, 2, false, false);
+        final SampleConverter converter = SampleConverter.create(format, 32768);
+        final ByteBuffer bytes = bytes(0x00, 0x00, 0x00, 0xc0, 0x00, 0x80, 0x00, 0x40);
+        final double[][] channels = new double[2][3];
+        converter.convert(bytes, 0, channels, 1, 2);
+        assertArrayEquals(new double[]{0, -1, 0}, channels[0], 0);
+        assertArrayEquals(new double[]{0, 0.5, -0.5}, channels[1], 0);
+
+        final double[] mixed = new double[2];
+        converter.convertMixedDown(bytes, 0, mixed, 0, 2);
+        assertArrayEquals(new double[]{-0.25, -0.25}, mixed, 0);
+
+        assertTrue(converter.supportsShortSamples());
+        final short[][] raw = new short[2][2];
+        converter.convert(bytes, 0, raw, 0, 2);
+        assertArrayEquals(new short[]{-32768, 0}, raw[0]);
+        assertArrayEquals(new short[]{16384, -16384}, raw[1]);
+    }
+
+    /**
+     * Samples of more than 16 bits can't be read as 16-bit integers.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testShortSamplesNotSupported() {
+        final SampleConverter converter = SampleConverter.create(format(24, 1, true, false));
+        assertFalse(converter.supportsShortSamples());
+        converter.convert(bytes(0x00, 0x00, 0x00), 0, new short[1][1], 0, 1);
+    }
+
+    /**
+     * The bytes are unpacked by the converters, other integer sizes bit by
+     * bit, in both byte orders.
+     */
+    @Test
+    public void testUnpack() {
+        assertArrayEquals(new float[]{-1, -2 / 32768f, 0.5f}, AudioUtils.unpack(
+            toBytes(0x00, 0x80, 0xfe, 0xff, 0x00, 0x40), new float[3], 6,
+            format(16, 1, true, false)), 0);
+
+        final AudioFormat little = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, 8000, 12, 1,
+            2, 8000, false);
+        final AudioFormat big = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, 8000, 12, 1,
+            2, 8000, true);
+        assertFalse(SampleConverter.isSupported(little));
+        final float[] expected = {-5 / 2048f, -1, 2047 / 2048f};
+        assertArrayEquals(expected, AudioUtils.unpack(toBytes(0xfb, 0x0f, 0x00, 0x08, 0xff, 0x07),
+            new float[3], 6, little), 0);
+        assertArrayEquals(expected, AudioUtils.unpack(toBytes(0x0f, 0xfb, 0x08, 0x00, 0x07, 0xff),
+            new float[3], 6, big), 0);
+
+        final AudioFormat unsigned = new AudioFormat(AudioFormat.Encoding.PCM_UNSIGNED, 8000, 12,
+            1, 2, 8000, false);
+        assertArrayEquals(new float[]{-1, 0}, AudioUtils.unpack(toBytes(0x00, 0x00, 0x00, 0x08),
+            new float[2], 4, unsigned), 0);
+    }
+
+    /**
+     * Encodings that aren't linear PCM can't be unpacked.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpackUnsupported() {
+        AudioUtils.unpack(new byte[2], new float[2], 2,
+            new AudioFormat(AudioFormat.Encoding.ULAW, 8000, 8, 1, 1, 8000, false));
+    }
+
+    private static AudioFormat format(final int bits, final int channels, final boolean signed,
+            final boolean bigEndian) {
+        return new AudioFormat(8000, bits, channels, signed, bigEndian);
+    }
+
+    private static double[] convert(final AudioFormat format, final double scale,
+            final int... values) {
+        final SampleConverter converter = SampleConverter.create(format, scale);
+        final double[][] samples = new double[1][values.length / converter.getFrameSize()];
+        converter.convert(bytes(values), 0, samples, 0, samples[0].length);
+        return samples[0];
+    }
+
+    private static ByteBuffer bytes(final int... values) {
+        return ByteBuffer.wrap(toBytes(values));
+    }
+
+    private static byte[] toBytes(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte)values[i];
+        }
+        return bytes;
+    }
+
+}
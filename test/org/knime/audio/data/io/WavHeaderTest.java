@@ -0,0 +1,259 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the parsing of the {@link WavHeader}.
+ *
+ * @author agent
+ */
+public class WavHeaderTest {
+
+    private File m_file;
+
+    /**
+     * Creates the file to write the headers into.
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        m_file = File.createTempFile("knime-audio-test", ".wav");
+    }
+
+    /**
+     * Deletes the file.
+     */
+    @After
+    public void tearDown() {
+        m_file.delete();
+    }
+
+    /**
+     * Chunks before the data chunk are skipped, including their padding byte.
+     * @throws Exception
+     */
+    @Test
+    public void testPcm() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        riff(bytes, 0);
+        chunk(bytes, "fmt ", format(WavHeader.WAVE_FORMAT_PCM, 2, 44100, 16));
+        chunk(bytes, "LIST", new byte[5]);
+        chunk(bytes, "data", new byte[40]);
+        final WavHeader header = write(bytes);
+        assertEquals(WavHeader.WAVE_FORMAT_PCM, header.getFormatCode());
+        assertTrue(header.isPcm());
+        assertFalse(header.isFloat());
+        assertEquals(2, header.getChannels());
+        assertEquals(44100, header.getSampleRate(), 0);
+        assertEquals(4, header.getBlockAlign());
+        assertEquals(16, header.getBitsPerSample());
+        assertEquals(12 + 24 + 14 + 8, header.getDataOffset());
+        assertEquals(40, header.getDataLength());
+        assertEquals(10, header.getFrameLength());
+        final AudioFormat format = header.getAudioFormat();
+        assertEquals(AudioFormat.Encoding.PCM_SIGNED, format.getEncoding());
+        assertEquals(4, format.getFrameSize());
+        assertFalse(format.isBigEndian());
+    }
+
+    /**
+     * 8-bit samples are unsigned.
+     * @throws Exception
+     */
+    @Test
+    public void testUnsigned() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        riff(bytes, 0);
+        chunk(bytes, "fmt ", format(WavHeader.WAVE_FORMAT_PCM, 1, 8000, 8));
+        chunk(bytes, "data", new byte[3]);
+        final WavHeader header = write(bytes);
+        assertEquals(AudioFormat.Encoding.PCM_UNSIGNED, header.getAudioFormat().getEncoding());
+        assertEquals(3, header.getFrameLength());
+    }
+
+    /**
+     * The extensible format is reported with the code of its sub format.
+     * @throws Exception
+     */
+    @Test
+    public void testExtensible() throws Exception {
+        for (final int subFormat : new int[]{WavHeader.WAVE_FORMAT_PCM,
+            WavHeader.WAVE_FORMAT_IEEE_FLOAT}) {
+            final int bits = (subFormat == WavHeader.WAVE_FORMAT_PCM) ? 24 : 32;
+            final ByteBuffer fmt = ByteBuffer.allocate(40).order(ByteOrder.LITTLE_ENDIAN);
+            fmt.put(format(WavHeader.WAVE_FORMAT_EXTENSIBLE, 6, 48000, bits));
+            fmt.putShort((short)22);
+            fmt.putShort((short)bits);
+            fmt.putInt(0x3f);
+            fmt.putShort((short)subFormat);
+            /* the rest of the GUID */
+            fmt.put(new byte[]{0x00, 0x00, 0x00, 0x00, 0x10, 0x00, (byte)0x80, 0x00, 0x00,
+                (byte)0xaa, 0x00, 0x38, (byte)0x9b, 0x71});
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            riff(bytes, 0);
+            chunk(bytes, "fmt ", fmt.array());
+            chunk(bytes, "data", new byte[6 * bits / 8 * 5]);
+            final WavHeader header = write(bytes);
+            assertEquals(subFormat, header.getFormatCode());
+            assertEquals(6, header.getChannels());
+            assertEquals(bits, header.getBitsPerSample());
+            assertEquals(5, header.getFrameLength());
+            assertEquals((subFormat == WavHeader.WAVE_FORMAT_PCM) ? AudioFormat.Encoding.PCM_SIGNED
+                : AudioFormat.Encoding.PCM_FLOAT, header.getAudioFormat().getEncoding());
+        }
+    }
+
+    /**
+     * Data chunks whose size has been left open or is larger than the file
+     * end with the last complete frame of the file.
+     * @throws Exception
+     */
+    @Test
+    public void testOpenDataSize() throws Exception {
+        for (final int size : new int[]{0xffffffff, 1000}) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            riff(bytes, 0xffffffff);
+            chunk(bytes, "fmt ", format(WavHeader.WAVE_FORMAT_PCM, 2, 8000, 16));
+            bytes.write("data".getBytes("US-ASCII"));
+            bytes.write(le(size));
+            bytes.write(new byte[43]);
+            final WavHeader header = write(bytes);
+            assertEquals(44, header.getDataOffset());
+            assertEquals(40, header.getDataLength());
+            assertEquals(10, header.getFrameLength());
+        }
+    }
+
+    /**
+     * Files that aren't RIFF/WAVE files or whose data chunk precedes the format
+     * chunk or is missing aren't read.
+     * @throws Exception
+     */
+    @Test
+    public void testInvalid() throws Exception {
+        final ByteArrayOutputStream notWave = new ByteArrayOutputStream();
+        notWave.write("RIFF".getBytes("US-ASCII"));
+        notWave.write(le(4));
+        notWave.write("AVI ".getBytes("US-ASCII"));
+        assertNull(write(notWave));
+
+        final ByteArrayOutputStream dataFirst = new ByteArrayOutputStream();
+        riff(dataFirst, 0);
+        chunk(dataFirst, "data", new byte[4]);
+        chunk(dataFirst, "fmt ", format(WavHeader.WAVE_FORMAT_PCM, 1, 8000, 16));
+        assertNull(write(dataFirst));
+
+        final ByteArrayOutputStream noData = new ByteArrayOutputStream();
+        riff(noData, 0);
+        chunk(noData, "fmt ", format(WavHeader.WAVE_FORMAT_PCM, 1, 8000, 16));
+        assertNull(write(noData));
+
+        final ByteArrayOutputStream shortFormat = new ByteArrayOutputStream();
+        riff(shortFormat, 0);
+        chunk(shortFormat, "fmt ", new byte[14]);
+        chunk(shortFormat, "data", new byte[4]);
+        assertNull(write(shortFormat));
+    }
+
+    private WavHeader write(final ByteArrayOutputStream bytes) throws IOException {
+        try (final OutputStream out = new FileOutputStream(m_file)) {
+            bytes.writeTo(out);
+        }
+        return WavHeader.read(m_file);
+    }
+
+    private static void riff(final ByteArrayOutputStream bytes, final int size)
+            throws IOException {
+        bytes.write("RIFF".getBytes("US-ASCII"));
+        bytes.write(le(size));
+        bytes.write("WAVE".getBytes("US-ASCII"));
+    }
+
+    private static void chunk(final ByteArrayOutputStream bytes, final String id,
+            final byte[] content) throws IOException {
+        bytes.write(id.getBytes("US-ASCII"));
+        bytes.write(le(content.length));
+        bytes.write(content);
+        if ((content.length & 1) != 0) {
+            bytes.write(0);
+        }
+    }
+
+    private static byte[] format(final int formatCode, final int channels, final int sampleRate,
+            final int bits) {
+        final int blockAlign = channels * bits / 8;
+        return ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putShort((short)formatCode)
+            .putShort((short)channels).putInt(sampleRate).putInt(sampleRate * blockAlign)
+            .putShort((short)blockAlign).putShort((short)bits).array();
+    }
+
+    private static byte[] le(final int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.data.recognizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.audio.data.Audio;
+import org.knime.audio.data.AudioBuilder;
+import org.knime.audio.data.AudioMetadata;
+
+/**
+ * Checks that the default {@link Recognizer#recognize(Audio, double, double)}
+ * passes on only the given range of the audio.
+ *
+ * @author agent
+ */
+public class RecognizerTest {
+
+    private File m_wav;
+
+    /**
+     * Writes a stereo WAV file of one second.
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        m_wav = File.createTempFile("knime-audio-test", ".wav");
+        final AudioFormat format = new AudioFormat(8000, 16, 2, true, false);
+        final byte[] bytes = new byte[8000 * format.getFrameSize()];
+        try (final AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(bytes),
+            format, 8000)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, m_wav);
+        }
+    }
+
+    /**
+     * Deletes the file.
+     */
+    @After
+    public void tearDown() {
+        m_wav.delete();
+    }
+
+    /**
+     * The whole audio is passed on as it is.
+     * @throws Exception
+     */
+    @Test
+    public void testWholeAudio() throws Exception {
+        final Audio audio = AudioBuilder.createAudio(m_wav);
+        final RangeRecognizer recognizer = new RangeRecognizer();
+        recognizer.recognize(audio, 0, Double.POSITIVE_INFINITY);
+        assertSame(audio, recognizer.m_audio);
+    }
+
+    /**
+     * A range is passed on as temporary mono file, which is deleted
+     * afterwards.
+     * @throws Exception
+     */
+    @Test
+    public void testRange() throws Exception {
+        final RangeRecognizer recognizer = new RangeRecognizer();
+        final RecognitionResult result = recognizer.recognize(AudioBuilder.createAudio(m_wav),
+            0.25, 0.5);
+        assertEquals("2000", result.getTranscript());
+        assertEquals(8000, recognizer.m_metadata.getSampleRate(), 0);
+        assertEquals(1, recognizer.m_metadata.getNumberOfChannels());
+        assertEquals(16, recognizer.m_metadata.getSampleSizeInBits());
+        assertFalse(recognizer.m_audio.getFile().exists());
+
+        recognizer.recognize(AudioBuilder.createAudio(m_wav), 0.75, Double.POSITIVE_INFINITY);
+        assertEquals(2000, recognizer.m_metadata.getFrameLength());
+    }
+
+    private static final class RangeRecognizer implements Recognizer {
+
+        private Audio m_audio;
+
+        private AudioMetadata m_metadata;
+
+        @Override
+        public RecognitionResult recognize(final Audio audio) {
+            m_audio = audio;
+            m_metadata = audio.getMetadata();
+            return new RecognitionResult(getName(), Long.toString(m_metadata.getFrameLength()), 1);
+        }
+
+        @Override
+        public String getName() {
+            return "Range Recognizer";
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.audio.data.feature.FeatureExtractor.Aggregator;
+
+/**
+ * Checks the {@link FeatureAggregator} against the statistics of all windows
+ * computed in two passes, like the feature extractor did before.
+ *
+ * @author agent
+ */
+public class FeatureAggregatorTest {
+
+	/**
+	 * The statistics are the ones of the windows.
+	 */
+	@Test
+	public void testStatistics() {
+		final Random random = new Random(17);
+		final List<double[]> windows = new ArrayList<double[]>();
+		for (int w = 0; w < 500; w++) {
+			final double[] values = new double[4];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = 1000 + random.nextGaussian() * (i + 1);
+			}
+			windows.add(values);
+		}
+		check(windows);
+	}
+
+	/**
+	 * Shorter windows are padded with zeros, also if the longer windows come
+	 * later.
+	 */
+	@Test
+	public void testVariableLength() {
+		final List<double[]> windows = new ArrayList<double[]>();
+		windows.add(new double[]{1});
+		windows.add(new double[]{2, 5, -3});
+		windows.add(new double[]{});
+		windows.add(new double[]{4, 1});
+		windows.add(new double[]{-2, 0, 7, 9});
+		check(windows);
+	}
+
+	/**
+	 * The variance of a single window is 0.
+	 */
+	@Test
+	public void testSingleWindow() {
+		final FeatureAggregator aggregator = new FeatureAggregator(Aggregator.values(), 2);
+		aggregator.add(new double[]{9, 3, -1}, 1, 2);
+		final Map<Aggregator, double[]> result = aggregator.getResult();
+		assertEquals(1, aggregator.getCount());
+		assertArrayEquals(new double[]{3, -1}, result.get(Aggregator.MEAN), 0);
+		assertArrayEquals(new double[]{3, -1}, result.get(Aggregator.MIN), 0);
+		assertArrayEquals(new double[]{3, -1}, result.get(Aggregator.MAX), 0);
+		assertArrayEquals(new double[]{0, 0}, result.get(Aggregator.VARIANCE), 0);
+		assertArrayEquals(new double[]{0, 0}, result.get(Aggregator.STD_DEVIATION), 0);
+	}
+
+	/**
+	 * Without windows, the result of each aggregator is <code>null</code>, in
+	 * the order of the aggregators.
+	 */
+	@Test
+	public void testNoWindows() {
+		final Aggregator[] aggregators = {Aggregator.MAX, Aggregator.MEAN};
+		final Map<Aggregator, double[]> result = new FeatureAggregator(aggregators, 3).getResult();
+		assertEquals(Arrays.asList(aggregators), new ArrayList<Aggregator>(result.keySet()));
+		assertNull(result.get(Aggregator.MAX));
+		assertNull(result.get(Aggregator.MEAN));
+	}
+
+	private static void check(final List<double[]> windows) {
+		int dimension = 0;
+		for (final double[] window : windows) {
+			dimension = Math.max(dimension, window.length);
+		}
+		final FeatureAggregator aggregator = new FeatureAggregator(Aggregator.values(), 1);
+		for (final double[] window : windows) {
+			aggregator.add(window, 0, window.length);
+		}
+		final Map<Aggregator, double[]> result = aggregator.getResult();
+		assertEquals(windows.size(), aggregator.getCount());
+		for (final Aggregator agg : Aggregator.values()) {
+			assertEquals(agg.toString(), dimension, result.get(agg).length);
+		}
+		for (int i = 0; i < dimension; i++) {
+			final double[] column = new double[windows.size()];
+			for (int w = 0; w < column.length; w++) {
+				column[w] = (i < windows.get(w).length) ? windows.get(w)[i] : 0;
+			}
+			double mean = 0;
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (final double value : column) {
+				mean += value;
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+			mean /= column.length;
+			double variance = 0;
+			for (final double value : column) {
+				variance += (value - mean) * (value - mean);
+			}
+			variance /= column.length - 1;
+			assertEquals("mean " + i, mean, result.get(Aggregator.MEAN)[i], 1e-9);
+			assertEquals("variance " + i, variance, result.get(Aggregator.VARIANCE)[i], 1e-9);
+			assertEquals("standard deviation " + i, Math.sqrt(variance),
+				result.get(Aggregator.STD_DEVIATION)[i], 1e-9);
+			assertEquals("min " + i, min, result.get(Aggregator.MIN)[i], 0);
+			assertEquals("max " + i, max, result.get(Aggregator.MAX)[i], 0);
+		}
+	}
+
+}
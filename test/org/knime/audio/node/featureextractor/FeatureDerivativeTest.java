@@ -0,0 +1,197 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.audio.data.feature.FeatureExtractor.Aggregator;
+
+/**
+ * Checks the derivatives of the {@link FeatureDerivative}, which are computed
+ * while the windows are added, against the regression over all windows the
+ * feature extractor used before.
+ *
+ * @author agent
+ */
+public class FeatureDerivativeTest {
+
+	/**
+	 * The first and second derivatives are the ones of the regression, for
+	 * less and more windows than the ring buffer holds.
+	 */
+	@Test
+	public void testDerivatives() {
+		final Random random = new Random(23);
+		for (final int regressionWindow : new int[]{1, 2, 3}) {
+			for (final int count : new int[]{1, 2, 3, 5, 7, 8, 50}) {
+				final List<double[]> windows = new ArrayList<double[]>();
+				for (int w = 0; w < count; w++) {
+					final double[] values = new double[3];
+					for (int i = 0; i < values.length; i++) {
+						values[i] = random.nextGaussian() + w * i;
+					}
+					windows.add(values);
+				}
+				check(windows, regressionWindow);
+			}
+		}
+	}
+
+	/**
+	 * Shorter windows are padded with zeros, the derivative of a window has
+	 * the length of the window.
+	 */
+	@Test
+	public void testVariableLength() {
+		final List<double[]> windows = new ArrayList<double[]>();
+		windows.add(new double[]{1, 2});
+		windows.add(new double[]{3});
+		windows.add(new double[]{-1, 4, 2});
+		windows.add(new double[]{0, 1});
+		windows.add(new double[]{5, 5, 5});
+		windows.add(new double[]{2, -3, 1});
+		check(windows, 2);
+	}
+
+	/**
+	 * The derivative of a constant feature is 0.
+	 */
+	@Test
+	public void testConstant() {
+		final FeatureAggregator aggregator = new FeatureAggregator(
+			new Aggregator[]{Aggregator.MIN, Aggregator.MAX}, 2);
+		final FeatureDerivative derivative = new FeatureDerivative(2, aggregator, null);
+		for (int w = 0; w < 10; w++) {
+			derivative.add(new double[]{7, -1}, 0, 2);
+		}
+		derivative.finish();
+		assertEquals(10, aggregator.getCount());
+		assertArrayEquals(new double[]{0, 0}, aggregator.getResult().get(Aggregator.MIN), 0);
+		assertArrayEquals(new double[]{0, 0}, aggregator.getResult().get(Aggregator.MAX), 0);
+	}
+
+	/**
+	 * The regression window must not be empty.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRegressionWindow() {
+		new FeatureDerivative(0, null, null);
+	}
+
+	private static void check(final List<double[]> windows, final int regressionWindow) {
+		final FeatureAggregator firstAggregator = new FeatureAggregator(Aggregator.values(), 0);
+		final FeatureAggregator secondAggregator = new FeatureAggregator(Aggregator.values(), 0);
+		final FeatureDerivative second = new FeatureDerivative(regressionWindow, secondAggregator,
+			null);
+		final FeatureDerivative first = new FeatureDerivative(regressionWindow, firstAggregator,
+			second);
+		for (final double[] window : windows) {
+			first.add(window, 0, window.length);
+		}
+		first.finish();
+
+		final String message = windows.size() + " windows, regression window " + regressionWindow;
+		final List<double[]> firstExpected = derivative(windows, regressionWindow);
+		assertEquals(message, windows.size(), firstAggregator.getCount());
+		assertStatistics(message + ", first derivative", firstExpected,
+			firstAggregator.getResult());
+		final List<double[]> secondExpected = derivative(firstExpected, regressionWindow);
+		assertEquals(message, windows.size(), secondAggregator.getCount());
+		assertStatistics(message + ", second derivative", secondExpected,
+			secondAggregator.getResult());
+	}
+
+	private static void assertStatistics(final String message, final List<double[]> windows,
+			final Map<Aggregator, double[]> result) {
+		final FeatureAggregator expected = new FeatureAggregator(Aggregator.values(), 0);
+		for (final double[] window : windows) {
+			expected.add(window, 0, window.length);
+		}
+		for (final Map.Entry<Aggregator, double[]> entry : expected.getResult().entrySet()) {
+			assertArrayEquals(message + ", " + entry.getKey(), entry.getValue(),
+				result.get(entry.getKey()), 1e-12);
+		}
+	}
+
+	/**
+	 * The regression over all windows, the first and the last window are
+	 * repeated at the borders.
+	 */
+	private static List<double[]> derivative(final List<double[]> data,
+			final int regressionWindow) {
+		final List<double[]> result = new ArrayList<double[]>(data.size());
+		for (int i = 0; i < data.size(); i++) {
+			final double[] derivative = new double[data.get(i).length];
+			double sumDenominator = 0;
+			for (int n = 1; n <= regressionWindow; n++) {
+				final double[] prev = data.get(Math.max(i - n, 0));
+				final double[] next = data.get(Math.min(i + n, data.size() - 1));
+				for (int k = 0; k < derivative.length; k++) {
+					final double prevValue = (k < prev.length) ? prev[k] : 0;
+					final double nextValue = (k < next.length) ? next[k] : 0;
+					derivative[k] += (nextValue - prevValue) * n;
+				}
+				sumDenominator += n * n;
+			}
+			for (int k = 0; k < derivative.length; k++) {
+				derivative[k] /= 2 * sumDenominator;
+			}
+			result.add(derivative);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.node.featureextractor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.audio.data.feature.FeatureExtractor;
+import org.knime.audio.data.feature.FeatureType;
+
+/**
+ * Checks the slots, the dependencies and the history of the windows of a
+ * compiled {@link FeaturePlan}.
+ *
+ * @author agent
+ */
+public class FeaturePlanTest {
+
+	/**
+	 * The dependencies get their own slots before the slots depending on them,
+	 * the given extractors are used.
+	 */
+	@Test
+	public void testSlots() {
+		final FeatureExtractor centroid = FeatureExtractor.getFeatureExtractor(
+			FeatureType.STRONGEST_FREQUENCY_VIA_SPECTRAL_CENTROID);
+		final FeatureExtractor power = FeatureExtractor.getFeatureExtractor(
+			FeatureType.POWER_SPECTRUM);
+		final FeaturePlan plan = FeaturePlan.compile(new FeatureExtractor[]{centroid, power});
+		assertEquals(3, plan.getNumberOfSlots());
+		assertEquals(2, plan.getNumberOfOutputs());
+		assertSame(centroid, plan.getExtractor(plan.getOutputSlot(0)));
+		assertSame(power, plan.getExtractor(plan.getOutputSlot(1)));
+		for (int slot = 0; slot < plan.getNumberOfSlots(); slot++) {
+			for (int j = 0; j < plan.getNumberOfDependencies(slot); j++) {
+				assertTrue(plan.getDependency(slot, j) < slot);
+				assertEquals(0, plan.getOffset(slot, j));
+			}
+		}
+		final int slot = plan.getOutputSlot(0);
+		assertEquals(2, plan.getNumberOfDependencies(slot));
+		assertEquals(FeatureType.SPECTRAL_CENTROID,
+			plan.getExtractor(plan.getDependency(slot, 0)).getType());
+		assertEquals(plan.getOutputSlot(1), plan.getDependency(slot, 1));
+		assertEquals(0, plan.getMaxLookback());
+	}
+
+	/**
+	 * The spectral flux looks back at the magnitude spectrum of the previous
+	 * window.
+	 */
+	@Test
+	public void testHistory() {
+		final FeaturePlan plan = FeaturePlan.compile(new FeatureExtractor[]{
+			FeatureExtractor.getFeatureExtractor(FeatureType.SPECTRAL_FLUX)});
+		assertEquals(2, plan.getNumberOfSlots());
+		final int flux = plan.getOutputSlot(0);
+		final int spectrum = plan.getDependency(flux, 0);
+		assertEquals(FeatureType.MAGNITUDE_SPECTRUM, plan.getExtractor(spectrum).getType());
+		assertEquals(spectrum, plan.getDependency(flux, 1));
+		assertEquals(0, plan.getOffset(flux, 0));
+		assertEquals(-1, plan.getOffset(flux, 1));
+		assertEquals(1, plan.getHistory(spectrum));
+		assertEquals(0, plan.getHistory(flux));
+		assertEquals(1, plan.getLookback(spectrum));
+		assertEquals(0, plan.getLookback(flux));
+		assertEquals(1, plan.getMaxLookback());
+		assertTrue(plan.extractsBatches(spectrum));
+		assertFalse(plan.extractsBatches(flux));
+	}
+
+	/**
+	 * The fraction of low energy windows looks back at the root mean square of
+	 * the previous 99 windows, which are computed from the time domain
+	 * statistics.
+	 */
+	@Test
+	public void testLookback() {
+		final FeaturePlan plan = FeaturePlan.compile(new FeatureExtractor[]{
+			FeatureExtractor.getFeatureExtractor(FeatureType.FRACTION_OF_LOW_ENERGY_WINDOWS),
+			FeatureExtractor.getFeatureExtractor(FeatureType.SPECTRAL_FLUX)});
+		final int fraction = plan.getOutputSlot(0);
+		final int rms = plan.getDependency(fraction, 0);
+		assertEquals(FeatureType.ROOT_MEAN_SQUARE, plan.getExtractor(rms).getType());
+		assertEquals(100, plan.getNumberOfDependencies(fraction));
+		assertEquals(99, plan.getHistory(rms));
+		assertEquals(99, plan.getLookback(rms));
+		assertEquals(99, plan.getMaxLookback());
+		assertTrue(plan.usesTimeDomainStatistics(rms));
+		assertFalse(plan.extractsBatches(rms));
+	}
+
+}
@@ -0,0 +1,178 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.org; Email: contact@knime.org
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME GMBH herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.audio.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the output length, the gain and the block independence of the
+ * {@link Resampler}.
+ *
+ * @author agent
+ */
+public class ResamplerTest {
+
+    private static final float[][] RATES = {{44100, 16000}, {8000, 44100}, {48000, 44100},
+        {22050, 22050}, {44100, 8000}, {16000, 48000}};
+
+    /**
+     * The ratio of the sample rates is reduced.
+     */
+    @Test
+    public void testFactors() {
+        final Resampler resampler = new Resampler(44100, 16000);
+        assertEquals(160, resampler.getUpsamplingFactor());
+        assertEquals(441, resampler.getDownsamplingFactor());
+        assertEquals(1, new Resampler(8000, 8000).getUpsamplingFactor());
+        assertEquals(1, new Resampler(8000, 8000).getDownsamplingFactor());
+    }
+
+    /**
+     * The resampler produces ceil(n * L / M) output samples for n input
+     * samples, whatever the size of the blocks.
+     */
+    @Test
+    public void testOutputLength() {
+        for (final float[] rates : RATES) {
+            for (final int length : new int[]{0, 1, 7, 1000, 44101}) {
+                final long expected = Resampler.getOutputLength(length, rates[0], rates[1]);
+                final Resampler resampler = new Resampler(rates[0], rates[1]);
+                assertEquals(expected, resampler.getOutputLength(length));
+                assertEquals((long)Math.ceil((double)length * rates[1] / rates[0] - 1e-9), expected);
+                for (final int block : new int[]{1, 17, 4096}) {
+                    assertEquals(rates[0] + " -> " + rates[1] + ", " + length + " samples in blocks of "
+                            + block, expected, resample(resampler, new double[length], block).length);
+                }
+            }
+        }
+    }
+
+    /**
+     * A constant signal keeps its level apart from the edges, since the gain
+     * of each filter phase is 1.
+     */
+    @Test
+    public void testDCGain() {
+        for (final float[] rates : RATES) {
+            final double[] input = new double[20000];
+            Arrays.fill(input, 0.5);
+            final double[] output = resample(new Resampler(rates[0], rates[1]), input, 1024);
+            final int margin = (int)Math.ceil(100 * Math.max(1, rates[1] / rates[0]));
+            for (int i = margin; i < output.length - margin; i++) {
+                assertEquals(rates[0] + " -> " + rates[1] + ", sample " + i, 0.5, output[i], 1e-9);
+            }
+        }
+    }
+
+    /**
+     * A sine below the cutoff frequency is passed through.
+     */
+    @Test
+    public void testPassband() {
+        final double frequency = 440;
+        final double[] input = new double[44100];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = Math.sin(2 * Math.PI * frequency * i / 44100);
+        }
+        final double[] output = resample(new Resampler(44100, 16000), input, 4096);
+        for (int i = 200; i < output.length - 200; i++) {
+            assertEquals("sample " + i, Math.sin(2 * Math.PI * frequency * i / 16000), output[i], 1e-3);
+        }
+    }
+
+    /**
+     * The output doesn't depend on the size of the blocks, and a reset
+     * resampler produces the same output again.
+     */
+    @Test
+    public void testBlocks() {
+        final Random random = new Random(1);
+        final double[] input = new double[5000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = random.nextGaussian();
+        }
+        for (final float[] rates : RATES) {
+            final Resampler resampler = new Resampler(rates[0], rates[1]);
+            final double[] expected = resample(resampler, input, input.length);
+            assertArrayEquals(expected, resample(resampler, input, 1), 0);
+            assertArrayEquals(expected, resample(resampler, input, 333), 0);
+        }
+    }
+
+    /**
+     * The sample rates must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() {
+        new Resampler(0, 16000);
+    }
+
+    private static double[] resample(final Resampler resampler, final double[] input,
+            final int block) {
+        resampler.reset();
+        final double[] output = new double[(int)resampler.getOutputLength(input.length)
+                + resampler.getMaxOutputLength(block)];
+        int count = 0;
+        for (int position = 0; position < input.length; position += block) {
+            count += resampler.process(input, position, Math.min(block, input.length - position),
+                output, count);
+        }
+        count += resampler.flush(output, count);
+        final double[] result = new double[count];
+        System.arraycopy(output, 0, result, 0, count);
+        return result;
+    }
+
+}